@@ -0,0 +1,270 @@
+package de.asbestian.lotsizing.algorithm;
+
+import de.asbestian.lotsizing.algorithm.metrics.Histogram;
+import de.asbestian.lotsizing.algorithm.metrics.Metrics;
+import de.asbestian.lotsizing.algorithm.scc.CyclicCore;
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.graph.vertex.DemandVertex;
+import de.asbestian.lotsizing.graph.vertex.Vertex;
+import de.asbestian.lotsizing.input.Input;
+import de.asbestian.lotsizing.input.Inputs;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base class of solvers which takes care of informing the registered {@link SolverListener}s. The
+ * events are dispatched on a single event thread which only exists while searching and only if
+ * listeners are registered. Hence, the search itself merely hands over immutable event objects.
+ *
+ * @author Sebastian Schenker
+ */
+abstract class AbstractSolver implements Solver {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AbstractSolver.class);
+  private static final Duration DEFAULT_HEARTBEAT_INTERVAL = Duration.ofSeconds(1);
+  private static final Histogram RESIDUAL_GRAPH_NANOS =
+      Metrics.histogram(Metrics.RESIDUAL_GRAPH_NANOS);
+  private final List<SolverListener> listeners;
+  private Duration heartbeatInterval;
+  private ScheduledExecutorService eventExecutor;
+  private volatile Schedule bestSchedule; // of the current search
+  private Path checkpointFile;
+  private long checkpointIntervalNanos;
+  private long nextCheckpointNanos;
+  private String fingerprint; // of the instance of the current search; computed on demand
+  private Map<DemandVertex, Integer> demandIndices; // of the current search; computed on demand
+
+  AbstractSolver() {
+    this.listeners = new CopyOnWriteArrayList<>();
+    this.heartbeatInterval = DEFAULT_HEARTBEAT_INTERVAL;
+    this.eventExecutor = null;
+    this.bestSchedule = null;
+  }
+
+  @Override
+  public void addListener(final SolverListener listener) {
+    listeners.add(Objects.requireNonNull(listener));
+  }
+
+  @Override
+  public void removeListener(final SolverListener listener) {
+    listeners.remove(listener);
+  }
+
+  /** Sets the interval in which {@link SolverListener#onProgress(Progress)} is called. */
+  public void setHeartbeatInterval(final Duration interval) {
+    if (interval.isNegative() || interval.isZero()) {
+      throw new IllegalArgumentException("Heartbeat interval must be positive: " + interval);
+    }
+    this.heartbeatInterval = interval;
+  }
+
+  /** See {@link Resumable#setCheckpoint(Path, Duration)}. */
+  public void setCheckpoint(final Path file, final Duration interval) {
+    if (interval.isNegative() || interval.isZero()) {
+      throw new IllegalArgumentException("Checkpoint interval must be positive: " + interval);
+    }
+    this.checkpointFile = file;
+    this.checkpointIntervalNanos = interval.toNanos();
+  }
+
+  protected boolean isCheckpointEnabled() {
+    return checkpointFile != null;
+  }
+
+  /** Returns true if checkpoints are enabled and the next one is due. */
+  protected boolean isCheckpointDue() {
+    return checkpointFile != null && System.nanoTime() - nextCheckpointNanos >= 0;
+  }
+
+  /**
+   * Writes the given checkpoint if checkpoints are enabled. A failure is logged but does not abort
+   * the search.
+   */
+  protected void writeCheckpoint(final Checkpoint checkpoint) {
+    if (checkpointFile == null) {
+      return;
+    }
+    try {
+      checkpoint.write(checkpointFile);
+    } catch (final IOException e) {
+      LOGGER.warn("Checkpoint cannot be written: {}", e.getMessage());
+    }
+    nextCheckpointNanos = System.nanoTime() + checkpointIntervalNanos;
+  }
+
+  /**
+   * Creates a checkpoint of the current search.
+   *
+   * @param solver Name of the solver
+   * @param currentSchedule Schedule the search currently starts from
+   * @param bestSchedule Best found schedule
+   * @param state Solver specific state
+   */
+  protected Checkpoint createCheckpoint(
+      final String solver,
+      final Input input,
+      final Problem problem,
+      final Schedule currentSchedule,
+      final Schedule bestSchedule,
+      final Termination termination,
+      final byte[] state) {
+    if (fingerprint == null) {
+      fingerprint = Inputs.fingerprint(input);
+    }
+    return new Checkpoint(
+        solver,
+        fingerprint,
+        termination.getElapsedNanos(),
+        termination.getNumIterations(),
+        termination.getNumCycles(),
+        Checkpoint.encode(currentSchedule, getDemandIndices(problem)),
+        Checkpoint.encode(bestSchedule, getDemandIndices(problem)),
+        state);
+  }
+
+  /** Returns the index of each demand vertex of the given problem. */
+  protected Map<DemandVertex, Integer> getDemandIndices(final Problem problem) {
+    if (demandIndices == null) {
+      demandIndices = Checkpoint.indexDemandVertices(problem);
+    }
+    return demandIndices;
+  }
+
+  /**
+   * Checks whether the given checkpoint may be resumed.
+   *
+   * @throws IllegalArgumentException if the checkpoint stems from another solver or instance
+   */
+  protected static void checkCheckpoint(
+      final Checkpoint checkpoint, final String solver, final Input input) {
+    if (!solver.equals(checkpoint.getSolver())) {
+      throw new IllegalArgumentException(
+          "Checkpoint of " + checkpoint.getSolver() + " cannot be resumed by " + solver);
+    }
+    if (!Inputs.fingerprint(input).equals(checkpoint.getFingerprint())) {
+      throw new IllegalArgumentException("Checkpoint stems from another instance");
+    }
+    LOGGER.info(
+        "Resuming {} after {} seconds, {} iterations and {} cycles",
+        solver,
+        checkpoint.getElapsedNanos() / 1e9,
+        checkpoint.getNumIterations(),
+        checkpoint.getNumCycles());
+  }
+
+  /**
+   * Needs to be called at the start of each search, which has to be followed by a call of {@link
+   * #searchFinished(Termination)} in a finally block.
+   */
+  protected void searchStarted(final Schedule initSchedule, final Termination termination) {
+    bestSchedule = initSchedule;
+    nextCheckpointNanos = System.nanoTime() + checkpointIntervalNanos;
+    fingerprint = null;
+    demandIndices = null;
+    if (listeners.isEmpty()) {
+      return;
+    }
+    eventExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "solver-events");
+              thread.setDaemon(true);
+              return thread;
+            });
+    final long interval = heartbeatInterval.toNanos();
+    eventExecutor.scheduleAtFixedRate(
+        () -> {
+          final Progress progress = createProgress(termination);
+          notifyListeners(listener -> listener.onProgress(progress));
+        },
+        interval,
+        interval,
+        TimeUnit.NANOSECONDS);
+    incumbentFound(initSchedule, termination);
+  }
+
+  /** Needs to be called whenever a new best schedule is found. */
+  protected void incumbentFound(final Schedule schedule, final Termination termination) {
+    bestSchedule = schedule;
+    if (eventExecutor == null) {
+      return;
+    }
+    final Incumbent incumbent =
+        new Incumbent(schedule, termination.getElapsedNanos(), termination.getNumIterations());
+    eventExecutor.execute(() -> notifyListeners(listener -> listener.onIncumbent(incumbent)));
+  }
+
+  /**
+   * Needs to be called at the end of each search, even if it fails. The listeners are informed
+   * about the last reported incumbent, i.e., the best schedule found so far, and the event thread
+   * is shut down.
+   */
+  protected void searchFinished(final Termination termination) {
+    final ScheduledExecutorService executor = eventExecutor;
+    if (executor == null) {
+      return;
+    }
+    eventExecutor = null;
+    final Schedule schedule = bestSchedule;
+    final Progress progress = createProgress(termination);
+    executor.execute(() -> notifyListeners(listener -> listener.onFinished(schedule, progress)));
+    executor.shutdown(); // already submitted events are still delivered
+  }
+
+  /**
+   * Computes the residual graph of the given schedule and records the time spent. The residual
+   * graph is restricted to its {@link CyclicCore cyclic core} as only cycles are of interest; thus,
+   * decision vertices without flow whose arcs cannot close a cycle are dropped once instead of
+   * being rediscovered by each strongly connected component computation of the cycle search.
+   */
+  static Graph<Vertex, DefaultEdge> computeResidualGraph(
+      final Problem problem, final Schedule schedule) {
+    final ResidualGraphEvent event = new ResidualGraphEvent();
+    event.begin();
+    final long start = System.nanoTime();
+    final Graph<Vertex, DefaultEdge> resGraph = problem.getResidualGraph(schedule);
+    final Graph<Vertex, DefaultEdge> core = CyclicCore.of(resGraph);
+    RESIDUAL_GRAPH_NANOS.recordSince(start);
+    if (event.shouldCommit()) {
+      event.numVertices = resGraph.vertexSet().size();
+      event.numEdges = resGraph.edgeSet().size();
+      event.numCoreVertices = core.vertexSet().size();
+      event.numCoreEdges = core.edgeSet().size();
+      event.commit();
+    }
+    return core;
+  }
+
+  private Progress createProgress(final Termination termination) {
+    return new Progress(
+        termination.getElapsedNanos(),
+        termination.getNumIterations(),
+        termination.getNumCycles(),
+        bestSchedule.getCost());
+  }
+
+  private void notifyListeners(final Consumer<SolverListener> event) {
+    for (final SolverListener listener : listeners) {
+      try {
+        event.accept(listener);
+      } catch (final RuntimeException e) {
+        LOGGER.warn("Solver listener failed.", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,235 @@
+package de.asbestian.lotsizing.algorithm;
+
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.graph.vertex.DemandVertex;
+import de.asbestian.lotsizing.input.Input;
+import de.asbestian.lotsizing.input.Inputs;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of the state of a {@link Resumable} search. A checkpoint is stored in a compact binary
+ * file (big-endian):
+ *
+ * <pre>
+ *   magic "LSCP", format version (int)
+ *   solver (UTF), fingerprint of the instance (UTF)
+ *   elapsed nanoseconds, iterations, cycles (longs) of the checkpointed search
+ *   number of time slots n (int), current schedule (n ints), best schedule (n ints)
+ *   length of solver state (int), solver state (bytes)
+ * </pre>
+ *
+ * Schedules are given as index of the produced demand vertex (in the order of {@link
+ * Problem#getDemandVertices()}) of each time slot and -1 for idle time slots. Thus, they are
+ * restored exactly, which matters as the residual graph depends on the assignment of items of the
+ * same type. The solver state is specific to the solver.
+ *
+ * @author Sebastian Schenker
+ */
+public class Checkpoint {
+
+  private static final int MAGIC = 0x4c534350; // "LSCP"
+  private static final int VERSION = 1;
+  private final String solver;
+  private final String fingerprint;
+  private final long elapsedNanos;
+  private final long numIterations;
+  private final long numCycles;
+  private final int[] currentSchedule;
+  private final int[] bestSchedule;
+  private final byte[] state;
+
+  Checkpoint(
+      final String solver,
+      final String fingerprint,
+      final long elapsedNanos,
+      final long numIterations,
+      final long numCycles,
+      final int[] currentSchedule,
+      final int[] bestSchedule,
+      final byte[] state) {
+    if (currentSchedule.length != bestSchedule.length) {
+      throw new IllegalArgumentException("Schedules differ in length.");
+    }
+    this.solver = solver;
+    this.fingerprint = fingerprint;
+    this.elapsedNanos = elapsedNanos;
+    this.numIterations = numIterations;
+    this.numCycles = numCycles;
+    this.currentSchedule = currentSchedule;
+    this.bestSchedule = bestSchedule;
+    this.state = state;
+  }
+
+  /** Reads the checkpoint contained in the given file. */
+  public static Checkpoint read(final Path file) throws IOException {
+    try (final DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not a checkpoint: " + file);
+      }
+      final int version = in.readInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported checkpoint version " + version + " of " + file);
+      }
+      final String solver = in.readUTF();
+      final String fingerprint = in.readUTF();
+      final long elapsedNanos = in.readLong();
+      final long numIterations = in.readLong();
+      final long numCycles = in.readLong();
+      final int numTimeSlots = in.readInt();
+      final int[] currentSchedule = readInts(in, numTimeSlots);
+      final int[] bestSchedule = readInts(in, numTimeSlots);
+      final byte[] state = new byte[in.readInt()];
+      in.readFully(state);
+      return new Checkpoint(
+          solver,
+          fingerprint,
+          elapsedNanos,
+          numIterations,
+          numCycles,
+          currentSchedule,
+          bestSchedule,
+          state);
+    }
+  }
+
+  private static int[] readInts(final DataInputStream in, final int length) throws IOException {
+    final int[] values = new int[length];
+    for (int i = 0; i < length; ++i) {
+      values[i] = in.readInt();
+    }
+    return values;
+  }
+
+  /** Writes this checkpoint atomically to the given file, i.e., the file is always complete. */
+  void write(final Path file) throws IOException {
+    final Path dir = file.toAbsolutePath().getParent();
+    final Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+    try {
+      try (final DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(solver);
+        out.writeUTF(fingerprint);
+        out.writeLong(elapsedNanos);
+        out.writeLong(numIterations);
+        out.writeLong(numCycles);
+        out.writeInt(currentSchedule.length);
+        for (final int index : currentSchedule) {
+          out.writeInt(index);
+        }
+        for (final int index : bestSchedule) {
+          out.writeInt(index);
+        }
+        out.writeInt(state.length);
+        out.write(state);
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /** Encodes the given schedule as index of the produced demand vertex of each time slot. */
+  static int[] encode(final Schedule schedule, final Map<DemandVertex, Integer> indices) {
+    final int[] encoded = new int[schedule.getLength()];
+    Arrays.fill(encoded, -1);
+    for (final var entry : schedule.getSlot2Demand().int2ObjectEntrySet()) {
+      encoded[entry.getIntKey()] = indices.get(entry.getValue());
+    }
+    return encoded;
+  }
+
+  /** Maps each demand vertex of the given problem to its index. */
+  static Map<DemandVertex, Integer> indexDemandVertices(final Problem problem) {
+    final List<DemandVertex> demandVertices = problem.getDemandVertices();
+    final Map<DemandVertex, Integer> indices = new HashMap<>();
+    for (int i = 0; i < demandVertices.size(); ++i) {
+      indices.put(demandVertices.get(i), i);
+    }
+    return indices;
+  }
+
+  /**
+   * Decodes the given schedule.
+   *
+   * @throws IllegalArgumentException if the encoded schedule is no feasible schedule of the problem
+   */
+  static Schedule decode(final int[] encoded, final Problem problem, final Input input) {
+    final List<DemandVertex> demandVertices = problem.getDemandVertices();
+    if (encoded.length != input.getNumTimeSlots()) {
+      throw new IllegalArgumentException("Checkpoint does not match number of time slots.");
+    }
+    final Int2ObjectMap<DemandVertex> slot2Demand = new Int2ObjectOpenHashMap<>();
+    final boolean[] produced = new boolean[demandVertices.size()];
+    for (int slot = 0; slot < encoded.length; ++slot) {
+      final int index = encoded[slot];
+      if (index == -1) {
+        continue;
+      }
+      if (index < 0 || index >= produced.length || produced[index]) {
+        throw new IllegalArgumentException("Invalid item " + index + " in time slot " + slot);
+      }
+      final DemandVertex demandVertex = demandVertices.get(index);
+      if (!problem.canProduce(demandVertex, slot)) {
+        throw new IllegalArgumentException("Item cannot be produced in time slot " + slot);
+      }
+      produced[index] = true;
+      slot2Demand.put(slot, demandVertex);
+    }
+    if (slot2Demand.size() != produced.length) {
+      throw new IllegalArgumentException("Checkpoint does not produce all items.");
+    }
+    return new Schedule(input, slot2Demand);
+  }
+
+  /** Returns the name of the checkpointed solver. */
+  public String getSolver() {
+    return solver;
+  }
+
+  /** Returns the fingerprint of the instance; see {@link Inputs#fingerprint(Input)}. */
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
+  /** Returns the time (in nanoseconds) spent by the checkpointed search. */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  public long getNumIterations() {
+    return numIterations;
+  }
+
+  public long getNumCycles() {
+    return numCycles;
+  }
+
+  int[] getCurrentSchedule() {
+    return currentSchedule;
+  }
+
+  int[] getBestSchedule() {
+    return bestSchedule;
+  }
+
+  byte[] getState() {
+    return state;
+  }
+}
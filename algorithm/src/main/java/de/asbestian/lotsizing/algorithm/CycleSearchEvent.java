@@ -0,0 +1,32 @@
+package de.asbestian.lotsizing.algorithm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering the search for an improving cycle.
+ *
+ * @author Sebastian Schenker
+ */
+@Name("de.asbestian.lotsizing.CycleSearch")
+@Label("Cycle Search")
+@Category({"Lot Sizing", "Local Search"})
+@Description("Search for an improving cycle in a sub residual graph")
+class CycleSearchEvent extends Event {
+
+  @Label("Greatest Descent")
+  boolean greatestDescent;
+
+  @Label("Evaluated Cycles")
+  long numCycles;
+
+  @Label("Improvement")
+  boolean improvement;
+
+  @Label("Cost")
+  @Description("Cost of the best schedule after the search")
+  double cost;
+}
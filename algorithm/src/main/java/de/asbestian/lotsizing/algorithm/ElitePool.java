@@ -0,0 +1,86 @@
+package de.asbestian.lotsizing.algorithm;
+
+import de.asbestian.lotsizing.graph.Schedule;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bounded pool of diverse high-quality schedules. Diversity is measured via {@link
+ * Schedule#distance(Schedule)}, i.e., the number of time slots with differing item types. A
+ * schedule which is too similar to a pool member only replaces this member if it is cheaper.
+ * Otherwise, a schedule is added if the pool is not full or if it is cheaper than the most
+ * expensive pool member which is then removed. The pool is thread-safe.
+ *
+ * @author Sebastian Schenker
+ */
+public class ElitePool {
+
+  private final int capacity;
+  private final int minDistance;
+  private final List<Schedule> schedules; // ascending cost order
+
+  /**
+   * Constructor.
+   *
+   * @param capacity Maximum number of schedules in pool
+   * @param minDistance Minimum distance between any two schedules in pool; at least 1
+   */
+  public ElitePool(final int capacity, final int minDistance) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+    if (minDistance < 1) {
+      throw new IllegalArgumentException("Minimum distance must be positive: " + minDistance);
+    }
+    this.capacity = capacity;
+    this.minDistance = minDistance;
+    this.schedules = new ArrayList<>(capacity);
+  }
+
+  /**
+   * Offers the given schedule to the pool.
+   *
+   * @return true if schedule was added to the pool
+   */
+  public synchronized boolean offer(final Schedule schedule) {
+    Schedule closest = null;
+    int closestDistance = Integer.MAX_VALUE;
+    for (final Schedule member : schedules) {
+      final int distance = member.distance(schedule);
+      if (distance < closestDistance) {
+        closestDistance = distance;
+        closest = member;
+      }
+    }
+    if (closestDistance < minDistance) {
+      if (schedule.getCost() >= closest.getCost()) {
+        return false;
+      }
+      schedules.remove(closest);
+    } else if (schedules.size() == capacity) {
+      final Schedule worst = schedules.get(schedules.size() - 1);
+      if (schedule.getCost() >= worst.getCost()) {
+        return false;
+      }
+      schedules.remove(worst);
+    }
+    schedules.add(schedule);
+    schedules.sort(Comparator.comparingDouble(Schedule::getCost));
+    return true;
+  }
+
+  public synchronized Optional<Schedule> getBest() {
+    return schedules.isEmpty() ? Optional.empty() : Optional.of(schedules.get(0));
+  }
+
+  /** Returns the schedules in the pool in ascending cost order. */
+  public synchronized List<Schedule> getSchedules() {
+    return List.copyOf(schedules);
+  }
+
+  public synchronized int size() {
+    return schedules.size();
+  }
+}
@@ -1,15 +1,18 @@
 package de.asbestian.lotsizing.algorithm;
 
 import de.asbestian.lotsizing.algorithm.cycle.CycleFinder;
+import de.asbestian.lotsizing.algorithm.metrics.Counter;
+import de.asbestian.lotsizing.algorithm.metrics.Histogram;
+import de.asbestian.lotsizing.algorithm.metrics.Metrics;
 import de.asbestian.lotsizing.graph.Cycle;
 import de.asbestian.lotsizing.graph.Problem;
 import de.asbestian.lotsizing.graph.Schedule;
 import de.asbestian.lotsizing.graph.vertex.Vertex;
 import de.asbestian.lotsizing.input.Input;
-import java.time.Duration;
-import java.time.Instant;
+import java.nio.ByteBuffer;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.jgrapht.Graph;
@@ -17,12 +20,23 @@ import org.jgrapht.graph.DefaultEdge;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** @author Sebastian Schenker */
+/**
+ * Evaluates the schedules corresponding to all cycles of the residual graph of the initial
+ * schedule. The cycles are enumerated in the order of their start vertex; a checkpoint records
+ * the start vertex of the last evaluated cycle. Hence, a resumed enumeration merely evaluates the
+ * cycles of this start vertex again.
+ *
+ * @author Sebastian Schenker
+ */
 @Singleton
-public class Enumeration implements Solver {
+public class Enumeration extends AbstractSolver implements Resumable {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(Enumeration.class);
+  private static final Counter CYCLES_EVALUATED = Metrics.counter(Metrics.CYCLES_EVALUATED);
+  private static final Counter IMPROVEMENTS = Metrics.counter(Metrics.IMPROVEMENTS);
+  private static final Histogram QUEUE_TAKE_NANOS = Metrics.histogram(Metrics.QUEUE_TAKE_NANOS);
   private static final int QUEUE_CAPACITY = 10;
+  static final String NAME = "enumeration";
   private final Input input;
   private final Problem problem;
   private boolean searchSpaceExhausted;
@@ -39,51 +53,128 @@ public class Enumeration implements Solver {
   }
 
   @Override
-  public Schedule search(final Schedule initSchedule, double timeLimit) {
-    final Instant start = Instant.now();
-    searchSpaceExhausted = false;
-    if (LOGGER.isDebugEnabled()) {
-      LOGGER.debug("Initial schedule: {}", initSchedule);
-      LOGGER.debug(
-          "Cost: {} (changeover cost = {}, inventory cost = {})",
-          initSchedule.getCost(),
-          initSchedule.getChangeOverCost(),
-          initSchedule.getInventoryCost());
+  public Schedule search(final Schedule initSchedule, final Termination termination) {
+    return search(initSchedule, initSchedule, Integer.MIN_VALUE, termination);
+  }
+
+  @Override
+  public Schedule resume(final Checkpoint checkpoint, final Termination termination) {
+    checkCheckpoint(checkpoint, NAME, input);
+    final Schedule initSchedule =
+        Checkpoint.decode(checkpoint.getCurrentSchedule(), problem, input);
+    final Schedule bestSchedule = Checkpoint.decode(checkpoint.getBestSchedule(), problem, input);
+    final ByteBuffer state = ByteBuffer.wrap(checkpoint.getState());
+    if (state.remaining() != Integer.BYTES) {
+      throw new IllegalArgumentException("Invalid enumeration state");
     }
-    final Graph<Vertex, DefaultEdge> resGraph = problem.getResidualGraph(initSchedule);
-    final CycleFinder cycleFinder = new CycleFinder();
-    final BlockingQueue<Cycle> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
-    final Thread computeCycles = new Thread(() -> cycleFinder.computeCycles(resGraph, queue));
-    computeCycles.start();
-    Schedule bestSchedule = initSchedule;
-    int numIterations = 0;
-    while (Duration.between(start, Instant.now()).toSeconds() < timeLimit) {
-      Cycle cycle;
-      try {
-        cycle = queue.take();
-      } catch (final InterruptedException e) {
-        LOGGER.info(e.getMessage());
-        Thread.currentThread().interrupt();
-        return bestSchedule;
-      }
-      if (cycle.isEmpty()) {
-        searchSpaceExhausted = true;
-        break;
+    return search(initSchedule, bestSchedule, state.getInt(), termination);
+  }
+
+  /**
+   * Enumerates the cycles of the residual graph of the given initial schedule.
+   *
+   * @param initSchedule Schedule whose neighbourhood is enumerated
+   * @param knownSchedule Best known schedule of the neighbourhood
+   * @param minStartId Least id of the start vertices of considered cycles
+   * @param termination Criteria determining when the search stops
+   */
+  private Schedule search(
+      final Schedule initSchedule,
+      final Schedule knownSchedule,
+      final int minStartId,
+      final Termination termination) {
+    final EnumerationEvent event = new EnumerationEvent();
+    event.begin();
+    termination.start();
+    searchStarted(knownSchedule, termination);
+    Thread computeCycles = null;
+    try {
+      searchSpaceExhausted = false;
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Initial schedule: {}", initSchedule);
+        LOGGER.debug(
+            "Cost: {} (changeover cost = {}, inventory cost = {})",
+            initSchedule.getCost(),
+            initSchedule.getChangeOverCost(),
+            initSchedule.getInventoryCost());
       }
-      Schedule schedule = initSchedule.compute(cycle, input);
-      if (schedule.getCost() < bestSchedule.getCost()) {
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug("Improvement: {} with overall cost: {}", schedule, schedule.getCost());
+      final Graph<Vertex, DefaultEdge> resGraph = computeResidualGraph(problem, initSchedule);
+      final CycleFinder cycleFinder = new CycleFinder();
+      final BlockingQueue<Cycle> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+      computeCycles = new Thread(() -> cycleFinder.computeCycles(resGraph, queue, minStartId));
+      computeCycles.start();
+      Schedule bestSchedule = knownSchedule;
+      int startId = minStartId;
+      while (!termination.isReached(bestSchedule.getCost())) {
+        if (isCheckpointDue()) {
+          writeCheckpoint(createCheckpoint(initSchedule, bestSchedule, startId, termination));
+        }
+        final Cycle cycle;
+        final long takeStart = System.nanoTime();
+        try {
+          cycle = queue.poll(termination.getWaitNanos(), TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+          LOGGER.info(e.getMessage());
+          Thread.currentThread().interrupt();
+          break;
+        } finally {
+          QUEUE_TAKE_NANOS.recordSince(takeStart);
+        }
+        if (cycle == null) { // no cycle available yet
+          continue;
+        }
+        if (cycle.isEmpty()) {
+          searchSpaceExhausted = true;
+          break;
         }
-        bestSchedule = schedule;
+        startId = cycle.getEdges().get(0).getFirst().getId();
+        termination.incrementCycles();
+        CYCLES_EVALUATED.increment();
+        Schedule schedule = initSchedule.compute(cycle, input);
+        if (schedule.getCost() < bestSchedule.getCost()) {
+          if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Improvement: {} with overall cost: {}", schedule, schedule.getCost());
+          }
+          bestSchedule = schedule;
+          IMPROVEMENTS.increment();
+          incumbentFound(bestSchedule, termination);
+        }
+        termination.incrementIterations();
       }
-      ++numIterations;
-    }
-    if (LOGGER.isDebugEnabled()) {
-      LOGGER.debug("Number of iterations: {}", numIterations);
-      LOGGER.debug("Search space exhausted: {}", searchSpaceExhausted);
-      LOGGER.debug("Time spent: {} seconds.", Duration.between(start, Instant.now()).toSeconds());
+      if (isCheckpointEnabled()) {
+        writeCheckpoint(
+            createCheckpoint(
+                initSchedule,
+                bestSchedule,
+                searchSpaceExhausted ? Integer.MAX_VALUE : startId,
+                termination));
+      }
+      if (event.shouldCommit()) {
+        event.numCycles = termination.getNumCycles();
+        event.exhausted = searchSpaceExhausted;
+        event.cost = bestSchedule.getCost();
+        event.commit();
+      }
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Number of iterations: {}", termination.getNumIterations());
+        LOGGER.debug("Search space exhausted: {}", searchSpaceExhausted);
+        LOGGER.debug("Time spent: {} seconds.", termination.getElapsedNanos() / 1e9);
+      }
+      return bestSchedule;
+    } finally {
+      if (computeCycles != null) {
+        computeCycles.interrupt();
+      }
+      searchFinished(termination);
     }
-    return bestSchedule;
+  }
+
+  private Checkpoint createCheckpoint(
+      final Schedule initSchedule,
+      final Schedule bestSchedule,
+      final int startId,
+      final Termination termination) {
+    final byte[] state = ByteBuffer.allocate(Integer.BYTES).putInt(startId).array();
+    return createCheckpoint(NAME, input, problem, initSchedule, bestSchedule, termination, state);
   }
 }
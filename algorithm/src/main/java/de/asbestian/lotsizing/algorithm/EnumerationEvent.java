@@ -0,0 +1,29 @@
+package de.asbestian.lotsizing.algorithm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering an entire enumeration search.
+ *
+ * @author Sebastian Schenker
+ */
+@Name("de.asbestian.lotsizing.Enumeration")
+@Label("Enumeration")
+@Category({"Lot Sizing", "Enumeration"})
+@Description("Enumeration of the cycles of the residual graph")
+class EnumerationEvent extends Event {
+
+  @Label("Evaluated Cycles")
+  long numCycles;
+
+  @Label("Search Space Exhausted")
+  boolean exhausted;
+
+  @Label("Cost")
+  @Description("Cost of the best found schedule")
+  double cost;
+}
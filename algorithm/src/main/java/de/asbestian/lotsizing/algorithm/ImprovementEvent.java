@@ -0,0 +1,31 @@
+package de.asbestian.lotsizing.algorithm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted whenever the local search finds a better schedule.
+ *
+ * @author Sebastian Schenker
+ */
+@Name("de.asbestian.lotsizing.Improvement")
+@Label("Improvement")
+@Category({"Lot Sizing", "Local Search"})
+@Description("New best schedule found by the local search")
+class ImprovementEvent extends Event {
+
+  @Label("Iteration")
+  long iteration;
+
+  @Label("Cost")
+  double cost;
+
+  @Label("Changeover Cost")
+  double changeOverCost;
+
+  @Label("Inventory Cost")
+  double inventoryCost;
+}
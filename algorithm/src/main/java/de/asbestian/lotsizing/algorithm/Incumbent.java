@@ -0,0 +1,39 @@
+package de.asbestian.lotsizing.algorithm;
+
+import de.asbestian.lotsizing.graph.Schedule;
+
+/**
+ * Best schedule known at some point in time of a search.
+ *
+ * @author Sebastian Schenker
+ */
+public class Incumbent {
+
+  private final Schedule schedule;
+  private final long elapsedNanos;
+  private final long iteration;
+
+  public Incumbent(final Schedule schedule, final long elapsedNanos, final long iteration) {
+    this.schedule = schedule;
+    this.elapsedNanos = elapsedNanos;
+    this.iteration = iteration;
+  }
+
+  public Schedule getSchedule() {
+    return schedule;
+  }
+
+  public double getCost() {
+    return schedule.getCost();
+  }
+
+  /** Returns the time (in nanoseconds) elapsed since the start of the search. */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /** Returns the iteration in which the schedule was found. */
+  public long getIteration() {
+    return iteration;
+  }
+}
@@ -1,18 +1,18 @@
 package de.asbestian.lotsizing.algorithm;
 
 import de.asbestian.lotsizing.algorithm.cycle.CycleFinder;
+import de.asbestian.lotsizing.algorithm.metrics.Counter;
+import de.asbestian.lotsizing.algorithm.metrics.Histogram;
+import de.asbestian.lotsizing.algorithm.metrics.Metrics;
 import de.asbestian.lotsizing.graph.Cycle;
 import de.asbestian.lotsizing.graph.Problem;
 import de.asbestian.lotsizing.graph.Schedule;
 import de.asbestian.lotsizing.graph.vertex.Vertex;
 import de.asbestian.lotsizing.input.Input;
-import java.time.Duration;
-import java.time.Instant;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import org.jgrapht.Graph;
 import org.jgrapht.alg.util.Pair;
 import org.jgrapht.graph.DefaultEdge;
@@ -20,10 +20,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /** @author Sebastian Schenker */
-abstract class LocalSearch implements Solver {
+abstract class LocalSearch extends AbstractSolver {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(LocalSearch.class);
+  private static final Counter CYCLES_EVALUATED = Metrics.counter(Metrics.CYCLES_EVALUATED);
+  private static final Counter IMPROVEMENTS = Metrics.counter(Metrics.IMPROVEMENTS);
+  private static final Histogram QUEUE_TAKE_NANOS = Metrics.histogram(Metrics.QUEUE_TAKE_NANOS);
   private static final int QUEUE_CAPACITY = 100;
+  static final String NAME = "local search";
   protected final Input input;
   protected final Problem problem;
   protected final boolean useGreatestDescent;
@@ -35,45 +39,115 @@ abstract class LocalSearch implements Solver {
   }
 
   @Override
-  public Schedule search(final Schedule initSchedule, double timeLimit) {
-    final Instant start = Instant.now();
-    Schedule currentSchedule = initSchedule;
-    if (LOGGER.isDebugEnabled()) {
-      LOGGER.debug("Initial schedule: {}", currentSchedule);
-      LOGGER.debug(
-          "Cost: {} (changeover cost = {}, inventory cost = {})",
-          currentSchedule.getCost(),
-          currentSchedule.getChangeOverCost(),
-          currentSchedule.getInventoryCost());
-    }
-    Graph<Vertex, DefaultEdge> resGraph = null;
-    boolean newScheduleFound = true;
-    while (Duration.between(start, Instant.now()).toSeconds() <= timeLimit) {
-      if (newScheduleFound) {
-        resGraph = problem.getResidualGraph(currentSchedule);
-      }
-      final Graph<Vertex, DefaultEdge> subResGraph =
-          createSubResidualGraph(newScheduleFound, resGraph, currentSchedule);
-      Pair<Boolean, Schedule> ret = useGreatestDescent ? computeBestImprovementSchedule(subResGraph, currentSchedule) : computeFirstImprovementSchedule(subResGraph, currentSchedule);
-      newScheduleFound = ret.getFirst();
-      currentSchedule = ret.getSecond();
-      if (LOGGER.isTraceEnabled() && newScheduleFound) {
-        LOGGER.trace("Improvement: {}", currentSchedule);
-      }
-      if (LOGGER.isDebugEnabled() && newScheduleFound) {
+  public Schedule search(final Schedule initSchedule, final Termination termination) {
+    termination.start();
+    searchStarted(initSchedule, termination);
+    try {
+      Schedule currentSchedule = initSchedule;
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Initial schedule: {}", currentSchedule);
         LOGGER.debug(
             "Cost: {} (changeover cost = {}, inventory cost = {})",
             currentSchedule.getCost(),
             currentSchedule.getChangeOverCost(),
             currentSchedule.getInventoryCost());
       }
+      Graph<Vertex, DefaultEdge> resGraph = null;
+      boolean newScheduleFound = true;
+      while (!termination.isReached(currentSchedule.getCost())) {
+        if (isCheckpointDue()) {
+          writeCheckpoint(createCheckpoint(currentSchedule, termination, newScheduleFound));
+        }
+        if (newScheduleFound) {
+          resGraph = computeResidualGraph(problem, currentSchedule);
+        }
+        final Graph<Vertex, DefaultEdge> subResGraph =
+            createSubResidualGraph(newScheduleFound, resGraph, currentSchedule);
+        final CycleSearchEvent cycleSearch = new CycleSearchEvent();
+        cycleSearch.begin();
+        final long numCycles = termination.getNumCycles();
+        final Pair<Boolean, Schedule> ret =
+            useGreatestDescent
+                ? computeBestImprovementSchedule(subResGraph, currentSchedule, termination)
+                : computeFirstImprovementSchedule(subResGraph, currentSchedule, termination);
+        newScheduleFound = ret.getFirst();
+        currentSchedule = ret.getSecond();
+        if (cycleSearch.shouldCommit()) {
+          cycleSearch.greatestDescent = useGreatestDescent;
+          cycleSearch.numCycles = termination.getNumCycles() - numCycles;
+          cycleSearch.improvement = newScheduleFound;
+          cycleSearch.cost = currentSchedule.getCost();
+          cycleSearch.commit();
+        }
+        termination.incrementIterations();
+        if (!newScheduleFound
+            && subResGraph == resGraph
+            && !termination.isReached(currentSchedule.getCost())) {
+          LOGGER.debug("Local optimum with respect to all cycles of the residual graph.");
+          break;
+        }
+        if (newScheduleFound) {
+          IMPROVEMENTS.increment();
+          commitImprovementEvent(currentSchedule, termination);
+          incumbentFound(currentSchedule, termination);
+        }
+        if (LOGGER.isTraceEnabled() && newScheduleFound) {
+          LOGGER.trace("Improvement: {}", currentSchedule);
+        }
+        if (LOGGER.isDebugEnabled() && newScheduleFound) {
+          LOGGER.debug(
+              "Cost: {} (changeover cost = {}, inventory cost = {})",
+              currentSchedule.getCost(),
+              currentSchedule.getChangeOverCost(),
+              currentSchedule.getInventoryCost());
+        }
+      }
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Number of iterations: {}", termination.getNumIterations());
+        LOGGER.debug("Time spent: {} seconds.", termination.getElapsedNanos() / 1e9);
+      }
+      if (isCheckpointEnabled()) {
+        writeCheckpoint(createCheckpoint(currentSchedule, termination, newScheduleFound));
+      }
+      return currentSchedule;
+    } finally {
+      searchFinished(termination);
     }
-    if (LOGGER.isDebugEnabled()) {
-      LOGGER.debug("Time spent: {} seconds.", Duration.between(start, Instant.now()).toSeconds());
+  }
+
+  /** Creates a checkpoint at the start of an iteration. */
+  private Checkpoint createCheckpoint(
+      final Schedule schedule, final Termination termination, final boolean newScheduleFound) {
+    return createCheckpoint(
+        NAME,
+        input,
+        problem,
+        schedule,
+        schedule,
+        termination,
+        getState(newScheduleFound));
+  }
+
+  private static void commitImprovementEvent(
+      final Schedule schedule, final Termination termination) {
+    final ImprovementEvent event = new ImprovementEvent();
+    if (event.shouldCommit()) {
+      event.iteration = termination.getNumIterations();
+      event.cost = schedule.getCost();
+      event.changeOverCost = schedule.getChangeOverCost();
+      event.inventoryCost = schedule.getInventoryCost();
+      event.commit();
     }
-    return currentSchedule;
   }
 
+  /**
+   * Returns the state of the neighbourhood selection.
+   *
+   * @param reset Indicates whether the selection is reset in the next iteration as a new schedule
+   *     was found
+   */
+  protected abstract byte[] getState(final boolean reset);
+
   /**
    * Creates a subgraph of the currently considered residual graph.
    *
@@ -86,13 +160,34 @@ abstract class LocalSearch implements Solver {
       final boolean newResGraph, final Graph<Vertex, DefaultEdge> resGraph,
       final Schedule schedule);
 
-  private Pair<Boolean, Schedule> computeBestImprovementSchedule(final Graph<Vertex, DefaultEdge> subResGraph, final Schedule currentSchedule) {
+  /**
+   * Computes the best schedule which results from applying a cycle of the given subgraph.
+   *
+   * @param subResGraph Subgraph of residual graph whose cycles are considered for finding new
+   *     schedules
+   * @param currentSchedule Currently considered schedule
+   * @param termination Termination criteria which are checked for each investigated cycle
+   * @return true if better schedule was found
+   */
+  private Pair<Boolean, Schedule> computeBestImprovementSchedule(
+      final Graph<Vertex, DefaultEdge> subResGraph,
+      final Schedule currentSchedule,
+      final Termination termination) {
     final CycleFinder cycleFinder = new CycleFinder();
     final List<Cycle> cycles = cycleFinder.computeCycles(subResGraph);
-    final Optional<Schedule> bestSchedule = cycles.stream().map(cycle -> currentSchedule.compute(cycle, input))
-        .filter(schedule -> schedule.getCost() < currentSchedule.getCost())
-        .min(Comparator.comparingDouble(Schedule::getCost));
-    return bestSchedule.isEmpty() ? Pair.of(false, currentSchedule) : Pair.of(true, bestSchedule.get());
+    Schedule bestSchedule = currentSchedule;
+    for (final Cycle cycle : cycles) {
+      if (termination.isReached(bestSchedule.getCost())) {
+        break;
+      }
+      termination.incrementCycles();
+      CYCLES_EVALUATED.increment();
+      final Schedule schedule = currentSchedule.compute(cycle, input);
+      if (schedule.getCost() < bestSchedule.getCost()) {
+        bestSchedule = schedule;
+      }
+    }
+    return Pair.of(bestSchedule != currentSchedule, bestSchedule);
   }
 
   /**
@@ -101,34 +196,48 @@ abstract class LocalSearch implements Solver {
    * @param subResGraph Subgraph of residual graph whose cycles are considered for finding new
    *     schedules
    * @param currentSchedule Currently considered schedule
+   * @param termination Termination criteria which are checked for each investigated cycle
    * @return true if better schedule was found
    */
   private Pair<Boolean, Schedule> computeFirstImprovementSchedule(
-      final Graph<Vertex, DefaultEdge> subResGraph, final Schedule currentSchedule) {
+      final Graph<Vertex, DefaultEdge> subResGraph,
+      final Schedule currentSchedule,
+      final Termination termination) {
     final CycleFinder cycleFinder = new CycleFinder();
     final BlockingQueue<Cycle> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
     final Thread computeCycles = new Thread(() -> cycleFinder.computeCycles(subResGraph, queue));
     computeCycles.start();
-    Cycle cycle;
     boolean improvement = false;
     Schedule bestSchedule = currentSchedule;
     long cycleCounter = 0;
-    do {
+    while (!termination.isReached(currentSchedule.getCost())) {
+      final Cycle cycle;
+      final long takeStart = System.nanoTime();
       try {
-        cycle = queue.take();
+        cycle = queue.poll(termination.getWaitNanos(), TimeUnit.NANOSECONDS);
       } catch (final InterruptedException e) {
-        computeCycles.interrupt();
+        Thread.currentThread().interrupt();
+        break;
+      } finally {
+        QUEUE_TAKE_NANOS.recordSince(takeStart);
+      }
+      if (cycle == null) { // no cycle available yet
+        continue;
+      }
+      if (cycle.isEmpty()) {
         break;
       }
       final Schedule schedule = currentSchedule.compute(cycle, input);
+      termination.incrementCycles();
+      CYCLES_EVALUATED.increment();
       ++cycleCounter;
       if (schedule.getCost() < currentSchedule.getCost()) {
-        computeCycles.interrupt();
         bestSchedule = schedule;
         improvement = true;
         break;
       }
-    } while (!cycle.isEmpty());
+    }
+    computeCycles.interrupt();
     if (LOGGER.isTraceEnabled()) {
       LOGGER.trace("Number of investigated cycles: {}", cycleCounter);
     }
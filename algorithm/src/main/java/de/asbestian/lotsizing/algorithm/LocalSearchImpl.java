@@ -7,17 +7,29 @@ import de.asbestian.lotsizing.graph.vertex.DemandVertex;
 import de.asbestian.lotsizing.graph.vertex.Vertex;
 import de.asbestian.lotsizing.input.Input;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntListIterator;
+import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
+import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
-import java.util.stream.IntStream;
 import javax.inject.Inject;
+import javax.inject.Named;
 import org.jgrapht.Graph;
 import org.jgrapht.graph.AsSubgraph;
 import org.jgrapht.graph.DefaultEdge;
@@ -25,41 +37,135 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /** @author Sebastian Schenker */
-public class LocalSearchImpl extends LocalSearch {
+public class LocalSearchImpl extends LocalSearch implements Resumable {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(LocalSearchImpl.class);
   private static final int SEED = 1;
-  private final Random random;
+  private static final double MIN_WINDOW_COST = 1e-6;
+  // checkpoints may stem from untrusted files: the random generator is the only object read
+  private static final ObjectInputFilter STATE_FILTER =
+      ObjectInputFilter.Config.createFilter("java.util.Random;!*");
+  private Random random;
   private final int subResGraphVertexSize;
   private IntList indices;
   private IntListIterator iter;
   private List<DemandVertex> demand;
+  private Object2DoubleMap<DemandVertex> costContributions;
+  private boolean resumed; // neighbourhood selection was restored from a checkpoint
 
-  @Inject
   public LocalSearchImpl(
       final Input input,
       final Problem problem,
       final int subResGraphVertexSize,
       final boolean useGreatestDescent) {
+    this(input, problem, subResGraphVertexSize, useGreatestDescent, SEED);
+  }
+
+  @Inject
+  public LocalSearchImpl(
+      final Input input,
+      final Problem problem,
+      final int subResGraphVertexSize,
+      final boolean useGreatestDescent,
+      @Named("seed") final long seed) {
     super(input, problem, useGreatestDescent);
-    this.random = new Random(SEED);
+    this.random = new Random(seed);
     this.subResGraphVertexSize = subResGraphVertexSize;
-    indices = createShuffledIndices();
+    indices = null;
     demand = null;
+    costContributions = null;
     iter = null;
+    resumed = false;
+  }
+
+  @Override
+  public Schedule resume(final Checkpoint checkpoint, final Termination termination) {
+    checkCheckpoint(checkpoint, NAME, input);
+    final Schedule schedule = Checkpoint.decode(checkpoint.getBestSchedule(), problem, input);
+    try (final ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(checkpoint.getState()))) {
+      in.setObjectInputFilter(STATE_FILTER);
+      random = (Random) in.readObject();
+      if (in.readBoolean()) {
+        final List<DemandVertex> demandVertices = problem.getDemandVertices();
+        final int size = in.readInt();
+        if (size != demandVertices.size()) {
+          throw new IllegalArgumentException("Number of items differs");
+        }
+        demand = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+          demand.add(demandVertices.get(in.readInt()));
+        }
+        indices = new IntArrayList(readInts(in));
+        iter = indices.listIterator(in.readInt());
+        costContributions = computeCostContributions(schedule);
+        resumed = true;
+      }
+    } catch (final IOException | ClassNotFoundException | RuntimeException e) {
+      throw new IllegalArgumentException("Invalid local search state: " + e.getMessage(), e);
+    }
+    return search(schedule, termination);
+  }
+
+  private static int[] readInts(final ObjectInputStream in) throws IOException {
+    final int[] values = new int[in.readInt()];
+    for (int i = 0; i < values.length; ++i) {
+      values[i] = in.readInt();
+    }
+    return values;
+  }
+
+  @Override
+  protected byte[] getState(final boolean reset) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(random);
+      final boolean hasSelection = !reset && demand != null;
+      out.writeBoolean(hasSelection);
+      if (hasSelection) {
+        final Map<DemandVertex, Integer> demandIndices = getDemandIndices(problem);
+        out.writeInt(demand.size());
+        for (final DemandVertex vertex : demand) {
+          out.writeInt(demandIndices.get(vertex));
+        }
+        out.writeInt(indices.size());
+        for (int i = 0; i < indices.size(); ++i) {
+          out.writeInt(indices.getInt(i));
+        }
+        out.writeInt(iter.nextIndex());
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e); // not thrown by in-memory streams
+    }
+    return bytes.toByteArray();
   }
 
   @Override
   protected Graph<Vertex, DefaultEdge> createSubResidualGraph(
       final boolean newResGraph, Graph<Vertex, DefaultEdge> resGraph, final Schedule schedule) {
-    if (subResGraphVertexSize >= input.getNumProducedItems()) {
-      return resGraph;
-    } else if (newResGraph || Objects.isNull(demand)) {
-      demand = schedule.getNonIdleProduction();
-      iter = indices.iterator();
+    final SubResidualGraphEvent event = new SubResidualGraphEvent();
+    event.begin();
+    final Graph<Vertex, DefaultEdge> subResGraph;
+    if (subResGraphVertexSize >= problem.getDemandVertices().size()) {
+      subResGraph = resGraph;
+    } else {
+      if ((newResGraph && !resumed) || Objects.isNull(demand)) {
+        demand = schedule.getNonIdleProduction();
+        costContributions = computeCostContributions(schedule);
+        indices = createCostGuidedIndices();
+        iter = indices.iterator();
+      }
+      final Set<Vertex> subResGraphVertices = computeVerticesInSubResGraph();
+      subResGraph = new AsSubgraph<>(resGraph, subResGraphVertices);
+    }
+    resumed = false;
+    if (event.shouldCommit()) {
+      event.neighbourhoodSize = subResGraphVertexSize;
+      event.numVertices = subResGraph.vertexSet().size();
+      event.numEdges = subResGraph.edgeSet().size();
+      event.commit();
     }
-    final Set<Vertex> subResGraphVertices = computeVerticesInSubResGraph();
-    return new AsSubgraph<>(resGraph, subResGraphVertices);
+    return subResGraph;
   }
 
   private Set<Vertex> computeVerticesInSubResGraph() {
@@ -68,6 +174,7 @@ public class LocalSearchImpl extends LocalSearch {
         LOGGER.debug("Shuffling.");
       }
       shuffleDemand();
+      indices = createCostGuidedIndices();
       iter = indices.iterator();
     }
     int index = iter.nextInt();
@@ -75,9 +182,7 @@ public class LocalSearchImpl extends LocalSearch {
         demand.subList(index, index + subResGraphVertexSize);
     final Set<Vertex> verticesInSubResGraph = new HashSet<>(demandVerticesInSubResGraph);
     for (final DemandVertex demandVertex : demandVerticesInSubResGraph) {
-      for (int slot = 0; slot <= demandVertex.getTimeSlot(); ++slot) {
-        final DecisionVertex decisionVertex =
-            problem.getDecisionVertex(demandVertex.getType(), slot);
+      for (final DecisionVertex decisionVertex : problem.getDecisionVertices(demandVertex)) {
         verticesInSubResGraph.add(decisionVertex);
         verticesInSubResGraph.add(problem.getTimeSlotVertex(decisionVertex.getTimeSlot()));
       }
@@ -90,16 +195,40 @@ public class LocalSearchImpl extends LocalSearch {
     int begin = 0, end;
     do {
       end = Math.min(begin + subResGraphVertexSize, demand.size());
-      Collections.shuffle(demand.subList(begin, end));
+      Collections.shuffle(demand.subList(begin, end), random);
       begin += subResGraphVertexSize;
     } while (begin < demand.size());
   }
 
-  private IntList createShuffledIndices() {
-    final IntList indices =
-        IntStream.range(0, input.getNumProducedItems() - subResGraphVertexSize)
-            .collect(IntArrayList::new, IntArrayList::add, IntArrayList::addAll);
-    Collections.shuffle(indices, random);
-    return indices;
+  private Object2DoubleMap<DemandVertex> computeCostContributions(final Schedule schedule) {
+    final double[] contributions = schedule.getCostContributions(input);
+    final List<DemandVertex> production = schedule.getNonIdleProduction();
+    final Object2DoubleMap<DemandVertex> vertex2Cost = new Object2DoubleOpenHashMap<>();
+    for (int i = 0; i < contributions.length; ++i) {
+      vertex2Cost.put(production.get(i), contributions[i]);
+    }
+    return vertex2Cost;
+  }
+
+  /**
+   * Orders the start indices of the demand windows via weighted random sampling without replacement
+   * (Efraimidis and Spirakis). The weight of a window is given by the cost contributions of its
+   * demand vertices. Hence, windows covering the expensive parts of the schedule tend to be
+   * considered first whereas cheap windows are still considered eventually.
+   */
+  private IntList createCostGuidedIndices() {
+    final int numWindows = demand.size() - subResGraphVertexSize + 1;
+    final int[] windows = new int[numWindows];
+    final double[] keys = new double[numWindows];
+    for (int index = 0; index < numWindows; ++index) {
+      double windowCost = 0.;
+      for (final DemandVertex vertex : demand.subList(index, index + subResGraphVertexSize)) {
+        windowCost += costContributions.getDouble(vertex);
+      }
+      windows[index] = index;
+      keys[index] = Math.log(random.nextDouble()) / Math.max(windowCost, MIN_WINDOW_COST);
+    }
+    IntArrays.quickSort(windows, (i, j) -> Double.compare(keys[j], keys[i]));
+    return IntArrayList.wrap(windows);
   }
 }
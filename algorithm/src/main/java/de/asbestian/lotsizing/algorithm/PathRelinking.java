@@ -0,0 +1,117 @@
+package de.asbestian.lotsizing.algorithm;
+
+import de.asbestian.lotsizing.graph.Cycle;
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.graph.vertex.Vertex;
+import de.asbestian.lotsizing.input.Input;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jgrapht.alg.util.Pair;
+
+/**
+ * Path relinking between two schedules. The edges used by exactly one of the two schedules form a
+ * circulation in the residual graph of the initiating schedule: edges only used by the guiding
+ * schedule in forward direction and edges only used by the initiating schedule in backward
+ * direction. This circulation is decomposed into edge-disjoint simple cycles. Applying all cycles
+ * to the initiating schedule yields the guiding schedule whereas applying a subset of the cycles
+ * yields an intermediate (feasible) schedule. The path greedily applies the cycle which results in
+ * the cheapest intermediate schedule.
+ *
+ * @author Sebastian Schenker
+ */
+public class PathRelinking {
+
+  private final Input input;
+  private final Problem problem;
+
+  public PathRelinking(final Input input, final Problem problem) {
+    this.input = input;
+    this.problem = problem;
+  }
+
+  /**
+   * Computes the best intermediate schedule on the path from the initiating to the guiding
+   * schedule. Each evaluated intermediate schedule is counted as evaluated cycle.
+   *
+   * @param initiating Schedule where the path starts
+   * @param guiding Schedule where the path ends
+   * @param termination Termination criteria checked for each evaluated intermediate schedule
+   * @return Cheapest intermediate schedule; the initiating schedule if there is none
+   */
+  public Schedule relink(
+      final Schedule initiating, final Schedule guiding, final Termination termination) {
+    final List<Cycle> cycles = computeDifferenceCycles(initiating, guiding);
+    Schedule current = initiating;
+    Schedule best = initiating;
+    // the last cycle leads to the guiding schedule, hence is not considered
+    while (cycles.size() > 1) {
+      int bestIndex = -1;
+      Schedule bestNeighbour = null;
+      for (int i = 0; i < cycles.size(); ++i) {
+        if (termination.isReached(best.getCost())) {
+          return best;
+        }
+        termination.incrementCycles();
+        final Schedule neighbour = current.compute(cycles.get(i), input);
+        if (bestNeighbour == null || neighbour.getCost() < bestNeighbour.getCost()) {
+          bestNeighbour = neighbour;
+          bestIndex = i;
+        }
+      }
+      cycles.remove(bestIndex);
+      current = bestNeighbour;
+      if (current.getCost() < best.getCost()) {
+        best = current;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Decomposes the symmetric difference of the edges used by the given schedules into
+   * edge-disjoint simple cycles of the residual graph of the initiating schedule.
+   */
+  List<Cycle> computeDifferenceCycles(final Schedule initiating, final Schedule guiding) {
+    final Set<Pair<Vertex, Vertex>> initiatingEdges = problem.getUsedGraphEdges(initiating);
+    final Set<Pair<Vertex, Vertex>> guidingEdges = problem.getUsedGraphEdges(guiding);
+    final Map<Vertex, Deque<Vertex>> successors = new LinkedHashMap<>();
+    for (final Pair<Vertex, Vertex> edge : guidingEdges) {
+      if (!initiatingEdges.contains(edge)) {
+        successors.computeIfAbsent(edge.getFirst(), v -> new ArrayDeque<>()).add(edge.getSecond());
+      }
+    }
+    for (final Pair<Vertex, Vertex> edge : initiatingEdges) {
+      if (!guidingEdges.contains(edge)) {
+        successors.computeIfAbsent(edge.getSecond(), v -> new ArrayDeque<>()).add(edge.getFirst());
+      }
+    }
+    final List<Cycle> cycles = new ArrayList<>();
+    for (final Vertex start : successors.keySet()) {
+      final List<Vertex> walk = new ArrayList<>();
+      final Map<Vertex, Integer> position = new HashMap<>();
+      Vertex vertex = start;
+      Deque<Vertex> outgoing;
+      while ((outgoing = successors.get(vertex)) != null && !outgoing.isEmpty()) {
+        position.put(vertex, walk.size());
+        walk.add(vertex);
+        vertex = outgoing.poll();
+        final Integer index = position.get(vertex);
+        if (index != null) { // closed a simple cycle
+          final List<Vertex> cycle = walk.subList(index, walk.size());
+          cycles.add(new Cycle(new ArrayList<>(cycle)));
+          cycle.forEach(position::remove);
+          cycle.clear();
+        }
+      }
+      assert walk.isEmpty() : "Symmetric difference is not a circulation.";
+    }
+    return cycles;
+  }
+}
@@ -0,0 +1,15 @@
+package de.asbestian.lotsizing.algorithm;
+
+import dagger.Binds;
+import dagger.Module;
+import dagger.multibindings.IntoMap;
+import dagger.multibindings.StringKey;
+
+/** @author Sebastian Schenker */
+@Module
+public abstract class PathRelinkingModule {
+  @Binds
+  @IntoMap
+  @StringKey("relink")
+  abstract Solver getSolver(PathRelinkingSearch pathRelinkingSearch);
+}
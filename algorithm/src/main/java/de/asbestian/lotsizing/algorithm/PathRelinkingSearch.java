@@ -0,0 +1,176 @@
+package de.asbestian.lotsizing.algorithm;
+
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.input.Input;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.inject.Inject;
+import javax.inject.Named;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Combines parallel local searches with path relinking. The search consists of three phases:
+ *
+ * <ol>
+ *   <li>Several local searches with different seeds run in parallel. Each of their incumbents is
+ *       offered to an {@link ElitePool}.
+ *   <li>Path relinking is applied to all pairs of pool schedules (in both directions) as long as
+ *       it yields new pool members.
+ *   <li>The remaining budget is spent on a local search starting from the best found schedule.
+ * </ol>
+ *
+ * @author Sebastian Schenker
+ */
+public class PathRelinkingSearch extends AbstractSolver {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PathRelinkingSearch.class);
+  private static final int POOL_CAPACITY = 10;
+  private static final double PARALLEL_PHASE_FRACTION = 0.6;
+  private static final double RELINKING_PHASE_FRACTION = 0.5;
+  private static final long MIN_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private final Input input;
+  private final Problem problem;
+  private final int subResGraphVertexSize;
+  private final boolean useGreatestDescent;
+  private final int numThreads;
+  private final long seed;
+
+  @Inject
+  public PathRelinkingSearch(
+      final Input input,
+      final Problem problem,
+      final int subResGraphVertexSize,
+      final boolean useGreatestDescent,
+      @Named("numThreads") final int numThreads,
+      @Named("seed") final long seed) {
+    this.input = input;
+    this.problem = problem;
+    this.subResGraphVertexSize = subResGraphVertexSize;
+    this.useGreatestDescent = useGreatestDescent;
+    this.numThreads = Math.max(1, numThreads);
+    this.seed = seed;
+  }
+
+  @Override
+  public Schedule search(final Schedule initSchedule, final Termination termination) {
+    termination.start();
+    searchStarted(initSchedule, termination);
+    try {
+      final ElitePool pool =
+          new ElitePool(POOL_CAPACITY, Math.max(2, problem.getDemandVertices().size() / 20));
+      pool.offer(initSchedule);
+      Schedule bestSchedule = searchInParallel(initSchedule, pool, termination);
+      if (!termination.isReached(bestSchedule.getCost())) {
+        final Termination budget = termination.fork(RELINKING_PHASE_FRACTION);
+        bestSchedule = relink(bestSchedule, pool, budget, termination);
+        termination.addCounters(budget);
+      }
+      if (!termination.isReached(bestSchedule.getCost())) {
+        final Termination remaining = termination.fork(1.);
+        final Schedule schedule =
+            new LocalSearchImpl(input, problem, subResGraphVertexSize, useGreatestDescent, seed)
+                .search(bestSchedule, remaining);
+        termination.addCounters(remaining);
+        bestSchedule = updateIncumbent(bestSchedule, schedule, termination);
+      }
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Number of pool schedules: {}", pool.size());
+        LOGGER.debug("Time spent: {} seconds.", termination.getElapsedNanos() / 1e9);
+      }
+      return bestSchedule;
+    } finally {
+      searchFinished(termination);
+    }
+  }
+
+  private Schedule searchInParallel(
+      final Schedule initSchedule, final ElitePool pool, final Termination termination) {
+    final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    final List<Termination> terminations =
+        termination.fork(PARALLEL_PHASE_FRACTION).split(numThreads);
+    final List<Future<Schedule>> futures = new ArrayList<>(numThreads);
+    for (int i = 0; i < numThreads; ++i) {
+      final Termination localTermination = terminations.get(i);
+      final LocalSearchImpl localSearch =
+          new LocalSearchImpl(input, problem, subResGraphVertexSize, useGreatestDescent, seed + i);
+      localSearch.addListener(
+          new SolverListener() {
+            @Override
+            public void onIncumbent(final Incumbent incumbent) {
+              pool.offer(incumbent.getSchedule());
+            }
+          });
+      futures.add(executor.submit(() -> localSearch.search(initSchedule, localTermination)));
+    }
+    executor.shutdown();
+    Schedule bestSchedule = initSchedule;
+    boolean interrupted = false;
+    for (final Future<Schedule> future : futures) {
+      Schedule result = null;
+      while (result == null) {
+        bestSchedule = updateIncumbent(bestSchedule, pool.getBest().orElseThrow(), termination);
+        try {
+          final long timeout = Math.max(termination.getWaitNanos(), MIN_WAIT_NANOS);
+          result = future.get(timeout, TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+          // local search still running
+        } catch (final InterruptedException e) {
+          interrupted = true;
+          terminations.forEach(Termination::cancel);
+        } catch (final ExecutionException e) {
+          terminations.forEach(Termination::cancel);
+          throw new IllegalStateException("Local search failed.", e.getCause());
+        }
+      }
+      pool.offer(result);
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    terminations.forEach(termination::addCounters);
+    return updateIncumbent(bestSchedule, pool.getBest().orElseThrow(), termination);
+  }
+
+  private Schedule relink(
+      final Schedule initSchedule,
+      final ElitePool pool,
+      final Termination budget,
+      final Termination termination) {
+    final PathRelinking pathRelinking = new PathRelinking(input, problem);
+    Schedule bestSchedule = initSchedule;
+    boolean poolChanged = true;
+    while (poolChanged && !budget.isReached(bestSchedule.getCost())) {
+      poolChanged = false;
+      final List<Schedule> schedules = pool.getSchedules();
+      for (final Schedule initiating : schedules) {
+        for (final Schedule guiding : schedules) {
+          if (initiating == guiding || budget.isReached(bestSchedule.getCost())) {
+            continue;
+          }
+          final Schedule schedule = pathRelinking.relink(initiating, guiding, budget);
+          budget.incrementIterations();
+          poolChanged |= pool.offer(schedule);
+          bestSchedule = updateIncumbent(bestSchedule, schedule, termination);
+        }
+      }
+    }
+    return bestSchedule;
+  }
+
+  private Schedule updateIncumbent(
+      final Schedule incumbent, final Schedule candidate, final Termination termination) {
+    if (candidate.getCost() < incumbent.getCost()) {
+      incumbentFound(candidate, termination);
+      return candidate;
+    }
+    return incumbent;
+  }
+}
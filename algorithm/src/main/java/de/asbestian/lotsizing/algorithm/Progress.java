@@ -0,0 +1,49 @@
+package de.asbestian.lotsizing.algorithm;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the throughput counters of a search.
+ *
+ * @author Sebastian Schenker
+ */
+public class Progress {
+
+  private final long elapsedNanos;
+  private final long numIterations;
+  private final long numCycles;
+  private final double bestCost;
+
+  public Progress(
+      final long elapsedNanos,
+      final long numIterations,
+      final long numCycles,
+      final double bestCost) {
+    this.elapsedNanos = elapsedNanos;
+    this.numIterations = numIterations;
+    this.numCycles = numCycles;
+    this.bestCost = bestCost;
+  }
+
+  /** Returns the time (in nanoseconds) elapsed since the start of the search. */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  public long getNumIterations() {
+    return numIterations;
+  }
+
+  /** Returns the number of cycles whose corresponding schedule was evaluated. */
+  public long getNumCycles() {
+    return numCycles;
+  }
+
+  public double getBestCost() {
+    return bestCost;
+  }
+
+  public double getCyclesPerSecond() {
+    return elapsedNanos > 0 ? numCycles * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0.;
+  }
+}
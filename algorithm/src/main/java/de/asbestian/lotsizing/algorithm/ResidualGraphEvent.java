@@ -0,0 +1,31 @@
+package de.asbestian.lotsizing.algorithm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering the construction of a residual graph.
+ *
+ * @author Sebastian Schenker
+ */
+@Name("de.asbestian.lotsizing.ResidualGraph")
+@Label("Residual Graph")
+@Category({"Lot Sizing", "Search"})
+@Description("Construction of the residual graph of a schedule")
+class ResidualGraphEvent extends Event {
+
+  @Label("Vertices")
+  int numVertices;
+
+  @Label("Edges")
+  int numEdges;
+
+  @Label("Cyclic Core Vertices")
+  int numCoreVertices;
+
+  @Label("Cyclic Core Edges")
+  int numCoreEdges;
+}
@@ -0,0 +1,31 @@
+package de.asbestian.lotsizing.algorithm;
+
+import de.asbestian.lotsizing.graph.Schedule;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Solver whose search can be checkpointed periodically and resumed from a checkpoint, e.g., after
+ * the process was killed.
+ *
+ * @author Sebastian Schenker
+ */
+public interface Resumable extends Solver {
+
+  /**
+   * Enables checkpoints of subsequent searches. A checkpoint is written to the given file in the
+   * given interval and once the search has finished.
+   */
+  void setCheckpoint(final Path file, final Duration interval);
+
+  /**
+   * Resumes the search from the given checkpoint. The termination criteria refer to the resumed
+   * part of the search only.
+   *
+   * @param checkpoint Checkpoint of a search of this solver on the same instance
+   * @param termination Criteria determining when the search stops
+   * @return Best found schedule
+   * @throws IllegalArgumentException if the checkpoint stems from another solver or instance
+   */
+  Schedule resume(final Checkpoint checkpoint, final Termination termination);
+}
@@ -0,0 +1,283 @@
+package de.asbestian.lotsizing.algorithm;
+
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.graph.vertex.DemandVertex;
+import de.asbestian.lotsizing.input.Input;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Named;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rolling horizon decomposition. Overlapping windows of consecutive time slots are optimised one
+ * after another. The items which the current schedule produces within a window define an
+ * independent subproblem: its due dates are clamped to the window and, if necessary, moved forward
+ * such that each type has at most one due date per time slot (which keeps the current production
+ * feasible). Each subproblem is solved via local search on its own (small) {@link Problem}. As the
+ * changeover costs at the window boundaries are fixed by the neighbouring production, a window
+ * result is only accepted if it improves the overall schedule. Finally, the remaining budget is
+ * spent on a polishing pass whose windows are shifted by half a step, i.e., whose windows contain
+ * the boundaries of the first pass.
+ *
+ * <p>Neither pass uses the {@link Problem} of the entire time horizon. Hence, apart from the given
+ * schedule, the memory needed by this solver is bounded by the window size. To benefit from this,
+ * the initial schedule can be computed via {@link #computeOptimalInventoryCostSchedule()}, which
+ * does not need the {@link Problem} of the entire time horizon either.
+ *
+ * @author Sebastian Schenker
+ */
+public class RollingHorizon extends AbstractSolver {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RollingHorizon.class);
+  private static final double WINDOW_PHASE_FRACTION = 0.8;
+  private final Input input;
+  private final int subResGraphVertexSize;
+  private final boolean useGreatestDescent;
+  private final int windowSize;
+  private final int windowOverlap;
+  private final long seed;
+
+  @Inject
+  public RollingHorizon(
+      final Input input,
+      final int subResGraphVertexSize,
+      final boolean useGreatestDescent,
+      @Named("windowSize") final int windowSize,
+      @Named("windowOverlap") final int windowOverlap,
+      @Named("seed") final long seed) {
+    if (windowSize < 1 || windowOverlap < 0 || windowOverlap >= windowSize) {
+      throw new IllegalArgumentException(
+          "Invalid window size " + windowSize + " and overlap " + windowOverlap);
+    }
+    this.input = input;
+    this.subResGraphVertexSize = subResGraphVertexSize;
+    this.useGreatestDescent = useGreatestDescent;
+    this.windowSize = windowSize;
+    this.windowOverlap = windowOverlap;
+    this.seed = seed;
+  }
+
+  @Override
+  public Schedule search(final Schedule initSchedule, final Termination termination) {
+    termination.start();
+    searchStarted(initSchedule, termination);
+    try {
+      final int step = windowSize - windowOverlap;
+      final Termination windowPhase = termination.fork(WINDOW_PHASE_FRACTION);
+      Schedule bestSchedule = sweep(initSchedule, 0, windowPhase, termination);
+      termination.addCounters(windowPhase);
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Cost after window phase: {}", bestSchedule.getCost());
+      }
+      if (!termination.isReached(bestSchedule.getCost())) {
+        final Termination polishing = termination.fork(1.);
+        bestSchedule = sweep(bestSchedule, step / 2, polishing, termination);
+        termination.addCounters(polishing);
+      }
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Time spent: {} seconds.", termination.getElapsedNanos() / 1e9);
+      }
+      return bestSchedule;
+    } finally {
+      searchFinished(termination);
+    }
+  }
+
+  /**
+   * Computes a schedule of optimal inventory cost by a single backward sweep over the time slots:
+   * each time slot produces one of the pending items, i.e., of the items due in this or a later
+   * time slot, if there is any. An item of the type produced in the subsequent time slot is
+   * preferred; otherwise, the pending item of latest due date is produced. The demand vertices are
+   * numbered as in the {@link Problem} of the entire time horizon.
+   *
+   * @return Schedule of optimal inventory cost
+   * @throws IllegalArgumentException if the instance is infeasible
+   */
+  public Schedule computeOptimalInventoryCostSchedule() {
+    final int numTypes = input.getNumTypes();
+    final int[] firstIds = new int[numTypes];
+    for (int type = 1; type < numTypes; ++type) {
+      firstIds[type] = firstIds[type - 1] + input.getOverallDemandPerType(type - 1);
+    }
+    // due dates of the pending items of each type; the latest one comes first
+    final IntArrayFIFOQueue[] pending = new IntArrayFIFOQueue[numTypes];
+    final int[] numProduced = new int[numTypes];
+    for (int type = 0; type < numTypes; ++type) {
+      pending[type] = new IntArrayFIFOQueue();
+    }
+    final Int2ObjectMap<DemandVertex> slot2Demand = new Int2ObjectOpenHashMap<>();
+    int subsequentType = -1;
+    for (int slot = input.getNumTimeSlots() - 1; slot >= 0; --slot) {
+      int producedType = -1;
+      for (int type = 0; type < numTypes; ++type) {
+        if (input.getDemand(type, slot) == 1) {
+          pending[type].enqueue(slot);
+        }
+        if (!pending[type].isEmpty()
+            && (producedType == -1
+                || type == subsequentType
+                || producedType != subsequentType
+                    && pending[type].firstInt() > pending[producedType].firstInt())) {
+          producedType = type;
+        }
+      }
+      if (producedType != -1) {
+        final int dueDate = pending[producedType].dequeueInt();
+        // items are produced backwards, i.e., the k-th produced item is the k-th last one
+        final int index = input.getOverallDemandPerType(producedType) - ++numProduced[producedType];
+        // id 0 belongs to the super sink
+        final int id = 1 + firstIds[producedType] + index;
+        slot2Demand.put(slot, new DemandVertex(id, producedType, dueDate));
+      }
+      subsequentType = producedType;
+    }
+    for (final IntArrayFIFOQueue typePending : pending) {
+      if (!typePending.isEmpty()) {
+        throw new IllegalArgumentException("Instance is infeasible");
+      }
+    }
+    return new Schedule(input, slot2Demand);
+  }
+
+  /**
+   * Optimises the windows beginning at the given offset one after another.
+   *
+   * @param schedule Currently considered schedule
+   * @param offset First time slot of the first window
+   * @param phase Termination criteria of this pass
+   * @param termination Termination criteria of the entire search
+   * @return Best found schedule
+   */
+  private Schedule sweep(
+      final Schedule schedule,
+      final int offset,
+      final Termination phase,
+      final Termination termination) {
+    final IntArrayList begins = computeWindowBegins(offset);
+    Schedule bestSchedule = schedule;
+    for (int window = 0; window < begins.size(); ++window) {
+      if (phase.isReached(bestSchedule.getCost())) {
+        break;
+      }
+      final int begin = begins.getInt(window);
+      final int end = Math.min(begin + windowSize, input.getNumTimeSlots());
+      final Termination budget = phase.fork(1. / (begins.size() - window));
+      final Schedule windowSchedule = optimiseWindow(bestSchedule, begin, end, budget);
+      phase.addCounters(budget);
+      phase.incrementIterations();
+      if (windowSchedule.getCost() < bestSchedule.getCost()) {
+        bestSchedule = windowSchedule;
+        incumbentFound(bestSchedule, termination);
+      }
+    }
+    LOGGER.debug("Number of windows: {}", begins.size());
+    return bestSchedule;
+  }
+
+  // The last window ends with the time horizon.
+  private IntArrayList computeWindowBegins(final int offset) {
+    final int step = windowSize - windowOverlap;
+    final int lastBegin = Math.max(0, input.getNumTimeSlots() - windowSize);
+    final IntArrayList begins = new IntArrayList();
+    int begin = Math.min(offset, lastBegin);
+    begins.add(begin);
+    while (begin < lastBegin) {
+      begin = Math.min(begin + step, lastBegin);
+      begins.add(begin);
+    }
+    return begins;
+  }
+
+  /**
+   * Optimises the production within the given window.
+   *
+   * @param schedule Currently considered schedule
+   * @param begin First time slot of window
+   * @param end Time slot after the last time slot of window
+   * @param budget Termination criteria of the subproblem search
+   * @return Schedule whose production within the window is replaced by the optimised one
+   */
+  private Schedule optimiseWindow(
+      final Schedule schedule, final int begin, final int end, final Termination budget) {
+    // production within the window grouped by type; each sorted by due date
+    final List<List<DemandVertex>> lots = new ArrayList<>(input.getNumTypes());
+    for (int type = 0; type < input.getNumTypes(); ++type) {
+      lots.add(new ArrayList<>());
+    }
+    final Int2ObjectMap<DemandVertex> production = new Int2ObjectOpenHashMap<>();
+    for (final var entry : schedule.getSlot2Demand().int2ObjectEntrySet()) {
+      if (begin <= entry.getIntKey() && entry.getIntKey() < end) {
+        lots.get(entry.getValue().getType()).add(entry.getValue());
+      } else {
+        production.put(entry.getIntKey(), entry.getValue());
+      }
+    }
+    if (schedule.getSlot2Demand().size() - production.size() < 2) {
+      return schedule;
+    }
+    final List<int[]> dueDates = new ArrayList<>(input.getNumTypes());
+    for (final List<DemandVertex> typeLots : lots) {
+      typeLots.sort(Comparator.comparingInt(DemandVertex::getTimeSlot));
+      final int[] typeDueDates = new int[typeLots.size()];
+      for (int i = typeDueDates.length - 1; i >= 0; --i) {
+        final int clamped = Math.min(typeLots.get(i).getTimeSlot(), end - 1) - begin;
+        typeDueDates[i] =
+            i == typeDueDates.length - 1 ? clamped : Math.min(clamped, typeDueDates[i + 1] - 1);
+      }
+      dueDates.add(typeDueDates);
+    }
+    final WindowInput windowInput = new WindowInput(input, end - begin, dueDates);
+    final Problem windowProblem = new Problem(windowInput);
+    final List<List<DemandVertex>> windowLots = new ArrayList<>(input.getNumTypes());
+    for (int type = 0; type < input.getNumTypes(); ++type) {
+      windowLots.add(new ArrayList<>());
+    }
+    windowProblem.getDemandVertices().forEach(v -> windowLots.get(v.getType()).add(v));
+    final Schedule windowSchedule =
+        new Schedule(windowInput, assign(schedule.getSlot2Demand(), begin, end, windowLots));
+    final Schedule optimised =
+        new LocalSearchImpl(
+                windowInput, windowProblem, subResGraphVertexSize, useGreatestDescent, seed)
+            .search(windowSchedule, budget);
+    production.putAll(assign(optimised.getSlot2Demand(), -begin, end - begin, lots));
+    return new Schedule(input, production);
+  }
+
+  /**
+   * Assigns the production time slots within [offset, end) of each type in ascending order to the
+   * given demand vertices of this type (which are sorted by due date). This assignment is feasible
+   * whenever there is any feasible assignment.
+   *
+   * @return Maps each production time slot shifted by -offset to its assigned demand vertex
+   */
+  private static Int2ObjectMap<DemandVertex> assign(
+      final Int2ObjectMap<DemandVertex> slot2Demand,
+      final int offset,
+      final int end,
+      final List<List<DemandVertex>> demandVertices) {
+    final int[] numAssigned = new int[demandVertices.size()];
+    final Int2ObjectMap<DemandVertex> assignment = new Int2ObjectOpenHashMap<>();
+    final IntArrayList slots = new IntArrayList();
+    for (final int slot : slot2Demand.keySet()) {
+      if (offset <= slot && slot < end) {
+        slots.add(slot);
+      }
+    }
+    slots.sort(null);
+    for (final int slot : slots) {
+      final int type = slot2Demand.get(slot).getType();
+      final DemandVertex vertex = demandVertices.get(type).get(numAssigned[type]++);
+      assert slot - offset <= vertex.getTimeSlot();
+      assignment.put(slot - offset, vertex);
+    }
+    return assignment;
+  }
+}
@@ -5,5 +5,22 @@ import de.asbestian.lotsizing.graph.Schedule;
 /** @author Sebastian Schenker */
 public interface Solver {
 
-  Schedule search(final Schedule initSchedule, double timeLimit);
+  /**
+   * Searches for an improved schedule.
+   *
+   * @param initSchedule Schedule the search starts from
+   * @param termination Criteria determining when the search stops
+   * @return Best found schedule
+   */
+  Schedule search(final Schedule initSchedule, final Termination termination);
+
+  /** Searches for an improved schedule within the given time limit (in seconds). */
+  default Schedule search(final Schedule initSchedule, final double timeLimit) {
+    return search(initSchedule, Termination.ofSeconds(timeLimit));
+  }
+
+  /** Registers a listener which is informed about the progress of subsequent searches. */
+  void addListener(final SolverListener listener);
+
+  void removeListener(final SolverListener listener);
 }
@@ -0,0 +1,22 @@
+package de.asbestian.lotsizing.algorithm;
+
+import de.asbestian.lotsizing.graph.Schedule;
+
+/**
+ * Listener which is informed about the progress of a search. The methods are called
+ * asynchronously on a dedicated event thread of the solver, i.e., a listener never blocks the
+ * search. Events of a single search are delivered in order.
+ *
+ * @author Sebastian Schenker
+ */
+public interface SolverListener {
+
+  /** Called for the initial schedule and for every subsequently found improved schedule. */
+  default void onIncumbent(final Incumbent incumbent) {}
+
+  /** Called periodically while searching. */
+  default void onProgress(final Progress progress) {}
+
+  /** Called once the search has terminated. */
+  default void onFinished(final Schedule bestSchedule, final Progress progress) {}
+}
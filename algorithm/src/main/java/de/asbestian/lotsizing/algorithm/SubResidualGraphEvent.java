@@ -0,0 +1,29 @@
+package de.asbestian.lotsizing.algorithm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering the creation of a sub residual graph.
+ *
+ * @author Sebastian Schenker
+ */
+@Name("de.asbestian.lotsizing.SubResidualGraph")
+@Label("Sub Residual Graph")
+@Category({"Lot Sizing", "Local Search"})
+@Description("Creation of the subgraph of the residual graph searched for cycles")
+class SubResidualGraphEvent extends Event {
+
+  @Label("Neighbourhood Size")
+  @Description("Number of demand vertices spanning the subgraph")
+  int neighbourhoodSize;
+
+  @Label("Vertices")
+  int numVertices;
+
+  @Label("Edges")
+  int numEdges;
+}
@@ -0,0 +1,259 @@
+package de.asbestian.lotsizing.algorithm;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Termination criteria of a search. A search terminates as soon as one of the following holds:
+ *
+ * <ul>
+ *   <li>the time limit is reached (measured via the monotonic {@link System#nanoTime()} clock),
+ *   <li>the maximum number of iterations is reached,
+ *   <li>the maximum number of evaluated cycles is reached,
+ *   <li>the cost of the best found schedule is at most the target cost,
+ *   <li>the search is cancelled via {@link #cancel()} or the searching thread is interrupted.
+ * </ul>
+ *
+ * <p>The counters are reset whenever a search {@link #start() starts}. Apart from {@link
+ * #cancel()} and the getters, the methods are meant to be called from the searching thread only.
+ *
+ * @author Sebastian Schenker
+ */
+public class Termination {
+
+  private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+  private final long timeLimitNanos;
+  private final long maxIterations;
+  private final long maxCycles;
+  private final double targetCost;
+  private final Termination parent;
+  private volatile boolean cancelled;
+  private volatile long startNanos;
+  private long deadlineNanos;
+  private volatile long numIterations; // single writer; read by progress reporting
+  private volatile long numCycles; // single writer; read by progress reporting
+
+  private Termination(final Builder builder) {
+    this(
+        builder.timeLimitNanos,
+        builder.maxIterations,
+        builder.maxCycles,
+        builder.targetCost,
+        null);
+  }
+
+  private Termination(
+      final long timeLimitNanos,
+      final long maxIterations,
+      final long maxCycles,
+      final double targetCost,
+      final Termination parent) {
+    this.timeLimitNanos = timeLimitNanos;
+    this.maxIterations = maxIterations;
+    this.maxCycles = maxCycles;
+    this.targetCost = targetCost;
+    this.parent = parent;
+    this.cancelled = false;
+    start();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Returns termination criterion which is only based on the given time limit (in seconds). */
+  public static Termination ofSeconds(final double timeLimit) {
+    return builder().timeLimit(timeLimit).build();
+  }
+
+  /** Starts the clock and resets the counters. */
+  public void start() {
+    numIterations = 0;
+    numCycles = 0;
+    startNanos = System.nanoTime();
+    final long deadline = startNanos + timeLimitNanos;
+    deadlineNanos = deadline < startNanos ? Long.MAX_VALUE : deadline; // overflow => no limit
+  }
+
+  /**
+   * Checks whether the search should terminate.
+   *
+   * @param bestCost Cost of the best schedule found so far
+   * @return true if one of the termination criteria is met
+   */
+  public boolean isReached(final double bestCost) {
+    return isCancelled()
+        || numIterations >= maxIterations
+        || numCycles >= maxCycles
+        || bestCost <= targetCost
+        || isTimeLimitReached()
+        || Thread.currentThread().isInterrupted();
+  }
+
+  public boolean isTimeLimitReached() {
+    return deadlineNanos != Long.MAX_VALUE && System.nanoTime() - deadlineNanos >= 0;
+  }
+
+  /** Requests the search to terminate. May be called from any thread. */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return cancelled || (parent != null && parent.isCancelled());
+  }
+
+  /**
+   * Creates termination criteria for a subordinate search, e.g., a search running in parallel or
+   * a phase of a composite search. The subordinate search is granted the given fraction of the
+   * remaining time, iterations and cycles, shares the target cost and is cancelled together with
+   * this search.
+   *
+   * @param fraction Fraction of the remaining budget; in (0, 1]
+   * @return Termination criteria of the subordinate search
+   */
+  public Termination fork(final double fraction) {
+    if (fraction <= 0 || fraction > 1) {
+      throw new IllegalArgumentException("Fraction must be in (0, 1]: " + fraction);
+    }
+    final long remainingNanos = getRemainingNanos();
+    return new Termination(
+        remainingNanos == Long.MAX_VALUE ? Long.MAX_VALUE : (long) (fraction * remainingNanos),
+        share(maxIterations, numIterations, fraction),
+        share(maxCycles, numCycles, fraction),
+        targetCost,
+        this);
+  }
+
+  /**
+   * Creates termination criteria for the given number of subordinate searches running in
+   * parallel. Each of them is granted the whole remaining time, but merely its share of the
+   * remaining iterations and cycles, such that their total does not exceed the ones of this search.
+   *
+   * @param numSearches Number of parallel searches; positive
+   * @return Termination criteria of the subordinate searches
+   */
+  public List<Termination> split(final int numSearches) {
+    if (numSearches <= 0) {
+      throw new IllegalArgumentException("Number of searches must be positive: " + numSearches);
+    }
+    final long remainingNanos = getRemainingNanos();
+    final List<Termination> terminations = new ArrayList<>(numSearches);
+    for (int i = 0; i < numSearches; ++i) {
+      terminations.add(
+          new Termination(
+              remainingNanos,
+              split(maxIterations, numIterations, numSearches, i),
+              split(maxCycles, numCycles, numSearches, i),
+              targetCost,
+              this));
+    }
+    return terminations;
+  }
+
+  // Share of the i-th of n searches; the remainder is spread over the first searches.
+  private static long split(final long max, final long used, final int n, final int i) {
+    if (max == Long.MAX_VALUE) {
+      return Long.MAX_VALUE;
+    }
+    final long remaining = Math.max(0, max - used);
+    return remaining / n + (i < remaining % n ? 1 : 0);
+  }
+
+  /** Adds the counters of the given (finished) subordinate search to the counters of this one. */
+  public void addCounters(final Termination other) {
+    numIterations += other.numIterations;
+    numCycles += other.numCycles;
+  }
+
+  private static long share(final long max, final long used, final double fraction) {
+    return max == Long.MAX_VALUE ? Long.MAX_VALUE : (long) Math.ceil(fraction * (max - used));
+  }
+
+  public void incrementIterations() {
+    ++numIterations;
+  }
+
+  public void incrementCycles() {
+    ++numCycles;
+  }
+
+  public long getNumIterations() {
+    return numIterations;
+  }
+
+  public long getNumCycles() {
+    return numCycles;
+  }
+
+  public long getElapsedNanos() {
+    return System.nanoTime() - startNanos;
+  }
+
+  /** Returns the remaining time until the time limit is reached; zero if already reached. */
+  public long getRemainingNanos() {
+    if (deadlineNanos == Long.MAX_VALUE) {
+      return Long.MAX_VALUE;
+    }
+    return Math.max(0, deadlineNanos - System.nanoTime());
+  }
+
+  /**
+   * Returns how long a search may block while waiting for further work, such that the time limit
+   * and a cancellation are still noticed in time.
+   */
+  public long getWaitNanos() {
+    return Math.min(getRemainingNanos(), MAX_WAIT_NANOS);
+  }
+
+  public static class Builder {
+
+    private long timeLimitNanos = Long.MAX_VALUE;
+    private long maxIterations = Long.MAX_VALUE;
+    private long maxCycles = Long.MAX_VALUE;
+    private double targetCost = Double.NEGATIVE_INFINITY;
+
+    private Builder() {}
+
+    /** Sets the time limit (in seconds). */
+    public Builder timeLimit(final double seconds) {
+      if (seconds < 0) {
+        throw new IllegalArgumentException("Time limit must be non-negative: " + seconds);
+      }
+      final double nanos = seconds * TimeUnit.SECONDS.toNanos(1);
+      this.timeLimitNanos = nanos >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) nanos;
+      return this;
+    }
+
+    public Builder timeLimit(final Duration duration) {
+      if (duration.isNegative()) {
+        throw new IllegalArgumentException("Time limit must be non-negative: " + duration);
+      }
+      this.timeLimitNanos = duration.toNanos();
+      return this;
+    }
+
+    public Builder maxIterations(final long maxIterations) {
+      this.maxIterations = maxIterations;
+      return this;
+    }
+
+    /** Sets the maximum number of cycles whose corresponding schedule is evaluated. */
+    public Builder maxCycles(final long maxCycles) {
+      this.maxCycles = maxCycles;
+      return this;
+    }
+
+    /** The search terminates as soon as a schedule with cost at most the given one is found. */
+    public Builder targetCost(final double targetCost) {
+      this.targetCost = targetCost;
+      return this;
+    }
+
+    public Termination build() {
+      return new Termination(this);
+    }
+  }
+}
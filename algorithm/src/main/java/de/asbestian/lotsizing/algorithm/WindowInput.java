@@ -0,0 +1,92 @@
+package de.asbestian.lotsizing.algorithm;
+
+import de.asbestian.lotsizing.input.Input;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntLists;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Input of a subproblem which is restricted to a window of consecutive time slots of an original
+ * input. Time slots are given relative to the window start; costs are those of the original input.
+ *
+ * @author Sebastian Schenker
+ */
+class WindowInput implements Input {
+
+  private final Input input;
+  private final int numTimeSlots;
+  private final List<List<Integer>> demand;
+  private final List<IntList> dueDates;
+  private final int[] overallDemandPerType;
+
+  /**
+   * Constructor.
+   *
+   * @param input Original input
+   * @param numTimeSlots Number of time slots in window
+   * @param dueDates Ascending relative due dates of each type; each is at most once given per type
+   */
+  WindowInput(final Input input, final int numTimeSlots, final List<int[]> dueDates) {
+    this.input = input;
+    this.numTimeSlots = numTimeSlots;
+    this.demand = new ArrayList<>(input.getNumTypes());
+    this.dueDates = new ArrayList<>(input.getNumTypes());
+    this.overallDemandPerType = new int[input.getNumTypes()];
+    for (int type = 0; type < input.getNumTypes(); ++type) {
+      final List<Integer> typeDemand = new ArrayList<>(Collections.nCopies(numTimeSlots, 0));
+      for (final int dueDate : dueDates.get(type)) {
+        typeDemand.set(dueDate, 1);
+      }
+      overallDemandPerType[type] = dueDates.get(type).length;
+      demand.add(Collections.unmodifiableList(typeDemand));
+      this.dueDates.add(IntLists.unmodifiable(IntArrayList.wrap(dueDates.get(type))));
+    }
+  }
+
+  @Override
+  public int getNumTimeSlots() {
+    return numTimeSlots;
+  }
+
+  @Override
+  public int getNumTypes() {
+    return input.getNumTypes();
+  }
+
+  @Override
+  public int getInventoryCost() {
+    return input.getInventoryCost();
+  }
+
+  @Override
+  public int getOverallDemandPerType(final int type) {
+    return overallDemandPerType[type];
+  }
+
+  @Override
+  public int getNumProducedItems() {
+    int sum = 0;
+    for (final int typeDemand : overallDemandPerType) {
+      sum += typeDemand;
+    }
+    return sum;
+  }
+
+  @Override
+  public List<Integer> getDemand(final int type) {
+    return demand.get(type);
+  }
+
+  @Override
+  public IntList getDueDates(final int type) {
+    return dueDates.get(type);
+  }
+
+  @Override
+  public int getChangeOverCost(final int predType, final int succType) {
+    return input.getChangeOverCost(predType, succType);
+  }
+}
@@ -1,5 +1,8 @@
 package de.asbestian.lotsizing.algorithm.cycle;
 
+import de.asbestian.lotsizing.algorithm.metrics.Counter;
+import de.asbestian.lotsizing.algorithm.metrics.Histogram;
+import de.asbestian.lotsizing.algorithm.metrics.Metrics;
 import de.asbestian.lotsizing.algorithm.scc.Tarjan;
 import de.asbestian.lotsizing.graph.Cycle;
 import de.asbestian.lotsizing.graph.vertex.Vertex;
@@ -31,6 +34,10 @@ import org.slf4j.LoggerFactory;
 public class CycleFinder {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CycleFinder.class);
+  private static final Counter CYCLES_PRODUCED = Metrics.counter(Metrics.CYCLES_PRODUCED);
+  private static final Histogram CYCLE_LENGTH = Metrics.histogram(Metrics.CYCLE_LENGTH);
+  private static final Histogram SCC_NANOS = Metrics.histogram(Metrics.SCC_NANOS);
+  private static final Histogram QUEUE_PUT_NANOS = Metrics.histogram(Metrics.QUEUE_PUT_NANOS);
   private final Set<Vertex> blocked;
   private final Map<Vertex, Set<Vertex>> blockedMap;
   private final ArrayDeque<Vertex> stack;
@@ -60,7 +67,9 @@ public class CycleFinder {
     final Iterator<Vertex> iter = graph.vertexSet().iterator();
     do {
       int idThreshold = iter.next().getId();
+      final long sccStart = System.nanoTime();
       final Collection<Set<Vertex>> stronglyConnectedComponents = tarjan.computeSCCs(idThreshold);
+      SCC_NANOS.recordSince(sccStart);
       if (stronglyConnectedComponents.isEmpty()) {
         return cycles;
       }
@@ -95,6 +104,8 @@ public class CycleFinder {
         final List<Vertex> vertices = new ArrayList<>(stack.size());
         stack.descendingIterator().forEachRemaining(vertices::add);
         foundCycle = true;
+        CYCLES_PRODUCED.increment();
+        CYCLE_LENGTH.record(vertices.size());
         cycles.add(new Cycle(vertices));
       } else if (!blocked.contains(target)) {
         final boolean gotCycle = findCyclesInSCC(startIndex, target, scc, cycles);
@@ -120,6 +131,38 @@ public class CycleFinder {
    */
   public void computeCycles(
       final Graph<Vertex, DefaultEdge> graph, final BlockingQueue<Cycle> queue) {
+    computeCycles(graph, queue, Integer.MIN_VALUE);
+  }
+
+  /**
+   * Computes the simple directed cycles via Johnson's algorithm whose start vertex, i.e., whose
+   * vertex with least id, has an id of at least the given one. Hence, an enumeration can be
+   * resumed from the start vertex of the last considered cycle. However the enumeration ends
+   * (completely, interrupted or exceptionally), an empty cycle is put into the queue as end
+   * marker afterwards; if the thread is interrupted, merely if the queue has space left.
+   *
+   * @param graph Directed graph for which to compute cycles
+   * @param queue Data structure carrying found cycles
+   * @param minStartId Least id of considered start vertices
+   */
+  public void computeCycles(
+      final Graph<Vertex, DefaultEdge> graph,
+      final BlockingQueue<Cycle> queue,
+      final int minStartId) {
+    try {
+      enumerateCycles(graph, queue, minStartId);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      putEndMarker(queue);
+    }
+  }
+
+  private void enumerateCycles(
+      final Graph<Vertex, DefaultEdge> graph,
+      final BlockingQueue<Cycle> queue,
+      final int minStartId)
+      throws InterruptedException {
     this.graph = graph;
     this.tarjan = new Tarjan(graph);
     if (graph.vertexSet().isEmpty()) {
@@ -129,7 +172,12 @@ public class CycleFinder {
     final Iterator<Vertex> iter = graph.vertexSet().iterator();
     do {
       int idThreshold = iter.next().getId();
+      if (idThreshold < minStartId) {
+        continue;
+      }
+      final long sccStart = System.nanoTime();
       final Collection<Set<Vertex>> stronglyConnectedComponents = tarjan.computeSCCs(idThreshold);
+      SCC_NANOS.recordSince(sccStart);
       if (stronglyConnectedComponents.isEmpty()) {
         return;
       }
@@ -142,15 +190,18 @@ public class CycleFinder {
         blocked.remove(target);
         getBlockedVertices(target);
       }
-      try {
-        findCyclesInSCC(leastVertex.getId(), leastVertex, leastSCC, queue);
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-        return;
-      }
+      findCyclesInSCC(leastVertex.getId(), leastVertex, leastSCC, queue);
     } while (iter.hasNext());
+  }
+
+  private static void putEndMarker(final BlockingQueue<Cycle> queue) {
+    final Cycle endMarker = new Cycle(Collections.emptyList());
+    if (Thread.currentThread().isInterrupted()) {
+      queue.offer(endMarker); // put would fail immediately
+      return;
+    }
     try {
-      queue.put(new Cycle(Collections.emptyList()));
+      queue.put(endMarker);
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
     }
@@ -201,7 +252,11 @@ public class CycleFinder {
         final List<Vertex> vertices = new ArrayList<>(stack.size());
         stack.descendingIterator().forEachRemaining(vertices::add);
         foundCycle = true;
+        CYCLES_PRODUCED.increment();
+        CYCLE_LENGTH.record(vertices.size());
+        final long putStart = System.nanoTime();
         queue.put(new Cycle(vertices));
+        QUEUE_PUT_NANOS.recordSince(putStart);
       } else if (!blocked.contains(target)) {
         final boolean gotCycle = findCyclesInSCC(startIndex, target, scc, queue);
         foundCycle = foundCycle || gotCycle;
@@ -0,0 +1,31 @@
+package de.asbestian.lotsizing.algorithm.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free monotonic counter. Cheap to increment from several threads.
+ *
+ * @author Sebastian Schenker
+ */
+public class Counter {
+
+  private final LongAdder count = new LongAdder();
+
+  Counter() {}
+
+  public void increment() {
+    count.increment();
+  }
+
+  public void add(final long value) {
+    count.add(value);
+  }
+
+  public long get() {
+    return count.sum();
+  }
+
+  void reset() {
+    count.reset();
+  }
+}
@@ -0,0 +1,97 @@
+package de.asbestian.lotsizing.algorithm.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values with logarithmic buckets: bucket 0 counts the value
+ * 0 and bucket i > 0 counts the values in [2^(i-1), 2^i). Hence, quantiles are only known up to a
+ * factor of two, which suffices to see where time goes. Timers are histograms of nanoseconds, cf.
+ * {@link #recordSince(long)}.
+ *
+ * @author Sebastian Schenker
+ */
+public class Histogram {
+
+  private static final int NUM_BUCKETS = Long.SIZE; // values are non-negative
+  private final LongAdder[] buckets;
+  private final LongAdder count;
+  private final LongAdder sum;
+  private final LongAccumulator max;
+
+  Histogram() {
+    buckets = new LongAdder[NUM_BUCKETS];
+    for (int i = 0; i < NUM_BUCKETS; ++i) {
+      buckets[i] = new LongAdder();
+    }
+    count = new LongAdder();
+    sum = new LongAdder();
+    max = new LongAccumulator(Math::max, 0);
+  }
+
+  /** Records the given value; negative values are recorded as 0. */
+  public void record(final long value) {
+    final long v = Math.max(0, value);
+    buckets[Long.SIZE - Long.numberOfLeadingZeros(v)].increment();
+    count.increment();
+    sum.add(v);
+    max.accumulate(v);
+  }
+
+  /** Records the nanoseconds elapsed since the given {@link System#nanoTime()} value. */
+  public void recordSince(final long startNanos) {
+    record(System.nanoTime() - startNanos);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getSum() {
+    return sum.sum();
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  public double getMean() {
+    final long n = getCount();
+    return n > 0 ? getSum() / (double) n : 0.;
+  }
+
+  /**
+   * Returns an upper bound of the given quantile, i.e., the upper limit of the bucket containing
+   * the quantile, capped by the maximum recorded value.
+   *
+   * @param quantile Quantile in [0, 1]
+   */
+  public long getQuantile(final double quantile) {
+    if (quantile < 0 || quantile > 1) {
+      throw new IllegalArgumentException("Quantile must be in [0, 1]: " + quantile);
+    }
+    final long n = getCount();
+    if (n == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(quantile * n));
+    long cumulative = 0;
+    for (int i = 0; i < NUM_BUCKETS; ++i) {
+      cumulative += buckets[i].sum();
+      if (cumulative >= rank) {
+        final long upper = i == 0 ? 0 : (1L << i) - 1; // bucket 63: Long.MAX_VALUE
+        return Math.min(upper, getMax());
+      }
+    }
+    return getMax();
+  }
+
+  void reset() {
+    for (final LongAdder bucket : buckets) {
+      bucket.reset();
+    }
+    count.reset();
+    sum.reset();
+    max.reset();
+  }
+}
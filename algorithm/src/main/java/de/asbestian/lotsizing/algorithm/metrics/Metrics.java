@@ -0,0 +1,130 @@
+package de.asbestian.lotsizing.algorithm.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide registry of the solver metrics. Similar to loggers, metrics are looked up by name
+ * once and kept in static fields of the instrumented class. All metrics are lock-free, such that
+ * instrumenting hot paths is cheap. The metrics can be exported via JMX (see {@link
+ * #registerMBean()}) and as JSON snapshot (see {@link #toJson()}).
+ *
+ * @author Sebastian Schenker
+ */
+public final class Metrics {
+
+  /** Number of cycles computed by the cycle finder. */
+  public static final String CYCLES_PRODUCED = "cycles.produced";
+  /** Number of cycles whose corresponding schedule was evaluated. */
+  public static final String CYCLES_EVALUATED = "cycles.evaluated";
+  /** Number of vertices of the computed cycles. */
+  public static final String CYCLE_LENGTH = "cycles.length";
+  /** Number of improving schedules found by the searches. */
+  public static final String IMPROVEMENTS = "improvements";
+  /** Nanoseconds spent building residual graphs. */
+  public static final String RESIDUAL_GRAPH_NANOS = "residualGraph.nanos";
+  /** Nanoseconds spent computing strongly connected components. */
+  public static final String SCC_NANOS = "scc.nanos";
+  /** Nanoseconds the cycle producer waited for space in the queue. */
+  public static final String QUEUE_PUT_NANOS = "queue.put.nanos";
+  /** Nanoseconds the cycle consumer waited for cycles in the queue. */
+  public static final String QUEUE_TAKE_NANOS = "queue.take.nanos";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(Metrics.class);
+  private static final String OBJECT_NAME = "de.asbestian.lotsizing:type=Metrics";
+  private static final ConcurrentNavigableMap<String, Counter> COUNTERS =
+      new ConcurrentSkipListMap<>();
+  private static final ConcurrentNavigableMap<String, Histogram> HISTOGRAMS =
+      new ConcurrentSkipListMap<>();
+
+  private Metrics() {}
+
+  /** Returns the counter with the given name; creates it if necessary. */
+  public static Counter counter(final String name) {
+    return COUNTERS.computeIfAbsent(name, n -> new Counter());
+  }
+
+  /** Returns the histogram with the given name; creates it if necessary. */
+  public static Histogram histogram(final String name) {
+    return HISTOGRAMS.computeIfAbsent(name, n -> new Histogram());
+  }
+
+  static Map<String, Counter> getCounters() {
+    return Collections.unmodifiableMap(COUNTERS);
+  }
+
+  static Map<String, Histogram> getHistograms() {
+    return Collections.unmodifiableMap(HISTOGRAMS);
+  }
+
+  /** Resets all metrics to zero. */
+  public static void reset() {
+    COUNTERS.values().forEach(Counter::reset);
+    HISTOGRAMS.values().forEach(Histogram::reset);
+  }
+
+  /**
+   * Registers the metrics at the platform MBean server (object name {@value #OBJECT_NAME}). Each
+   * counter is exposed as attribute of the same name; each histogram as attributes {@code
+   * <name>.count}, {@code <name>.mean}, {@code <name>.p50}, {@code <name>.p99} and {@code
+   * <name>.max}. Registering more than once has no effect.
+   */
+  public static synchronized void registerMBean() {
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      final ObjectName name = new ObjectName(OBJECT_NAME);
+      if (!server.isRegistered(name)) {
+        server.registerMBean(new MetricsMBean(), name);
+      }
+    } catch (final JMException e) {
+      LOGGER.warn("Metrics cannot be registered via JMX.", e);
+    }
+  }
+
+  /** Returns a snapshot of all metrics in JSON format. */
+  public static String toJson() {
+    final StringBuilder builder = new StringBuilder("{\n  \"counters\": {");
+    String separator = "\n";
+    for (final Map.Entry<String, Counter> entry : COUNTERS.entrySet()) {
+      builder
+          .append(separator)
+          .append("    \"")
+          .append(entry.getKey())
+          .append("\": ")
+          .append(entry.getValue().get());
+      separator = ",\n";
+    }
+    builder.append("\n  },\n  \"histograms\": {");
+    separator = "\n";
+    for (final Map.Entry<String, Histogram> entry : HISTOGRAMS.entrySet()) {
+      final Histogram histogram = entry.getValue();
+      builder
+          .append(separator)
+          .append("    \"")
+          .append(entry.getKey())
+          .append("\": {\"count\": ")
+          .append(histogram.getCount())
+          .append(", \"sum\": ")
+          .append(histogram.getSum())
+          .append(", \"mean\": ")
+          .append(histogram.getMean())
+          .append(", \"p50\": ")
+          .append(histogram.getQuantile(0.5))
+          .append(", \"p99\": ")
+          .append(histogram.getQuantile(0.99))
+          .append(", \"max\": ")
+          .append(histogram.getMax())
+          .append('}');
+      separator = ",\n";
+    }
+    return builder.append("\n  }\n}").toString();
+  }
+}
@@ -0,0 +1,107 @@
+package de.asbestian.lotsizing.algorithm.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ReflectionException;
+
+/**
+ * Read-only view of the registered metrics via JMX. The attributes are created dynamically, as
+ * metrics may be registered at any time.
+ *
+ * @author Sebastian Schenker
+ */
+class MetricsMBean implements DynamicMBean {
+
+  private static final Map<String, ToLongFunction<Histogram>> LONG_STATISTICS =
+      Map.of(
+          "count", Histogram::getCount,
+          "p50", h -> h.getQuantile(0.5),
+          "p99", h -> h.getQuantile(0.99),
+          "max", Histogram::getMax);
+  private static final Map<String, ToDoubleFunction<Histogram>> DOUBLE_STATISTICS =
+      Map.of("mean", Histogram::getMean);
+
+  @Override
+  public Object getAttribute(final String attribute) throws AttributeNotFoundException {
+    final Counter counter = Metrics.getCounters().get(attribute);
+    if (counter != null) {
+      return counter.get();
+    }
+    final int dot = attribute.lastIndexOf('.');
+    if (dot > 0) {
+      final Histogram histogram = Metrics.getHistograms().get(attribute.substring(0, dot));
+      final String statistic = attribute.substring(dot + 1);
+      if (histogram != null && LONG_STATISTICS.containsKey(statistic)) {
+        return LONG_STATISTICS.get(statistic).applyAsLong(histogram);
+      }
+      if (histogram != null && DOUBLE_STATISTICS.containsKey(statistic)) {
+        return DOUBLE_STATISTICS.get(statistic).applyAsDouble(histogram);
+      }
+    }
+    throw new AttributeNotFoundException(attribute);
+  }
+
+  @Override
+  public AttributeList getAttributes(final String[] attributes) {
+    final AttributeList list = new AttributeList();
+    for (final String attribute : attributes) {
+      try {
+        list.add(new Attribute(attribute, getAttribute(attribute)));
+      } catch (final AttributeNotFoundException e) {
+        // omitted as specified by DynamicMBean
+      }
+    }
+    return list;
+  }
+
+  @Override
+  public void setAttribute(final Attribute attribute) throws AttributeNotFoundException {
+    throw new AttributeNotFoundException(attribute.getName() + " is read-only");
+  }
+
+  @Override
+  public AttributeList setAttributes(final AttributeList attributes) {
+    return new AttributeList(); // lists the attributes which were set, i.e., none
+  }
+
+  @Override
+  public Object invoke(final String actionName, final Object[] params, final String[] signature)
+      throws ReflectionException {
+    throw new ReflectionException(new NoSuchMethodException(actionName));
+  }
+
+  @Override
+  public MBeanInfo getMBeanInfo() {
+    final List<MBeanAttributeInfo> attributes = new ArrayList<>();
+    for (final String name : Metrics.getCounters().keySet()) {
+      attributes.add(createInfo(name, Long.class));
+    }
+    for (final String name : Metrics.getHistograms().keySet()) {
+      LONG_STATISTICS.keySet().forEach(s -> attributes.add(createInfo(name + '.' + s, Long.class)));
+      DOUBLE_STATISTICS
+          .keySet()
+          .forEach(s -> attributes.add(createInfo(name + '.' + s, Double.class)));
+    }
+    return new MBeanInfo(
+        Metrics.class.getName(),
+        "Solver metrics",
+        attributes.toArray(new MBeanAttributeInfo[0]),
+        null,
+        new MBeanOperationInfo[0],
+        null);
+  }
+
+  private static MBeanAttributeInfo createInfo(final String name, final Class<?> type) {
+    return new MBeanAttributeInfo(name, type.getName(), name, true, false, false);
+  }
+}
@@ -0,0 +1,61 @@
+package de.asbestian.lotsizing.algorithm.scc;
+
+import de.asbestian.lotsizing.graph.vertex.Vertex;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.util.Collection;
+import java.util.Set;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleDirectedGraph;
+
+/**
+ * Restricts a directed graph to the vertices and edges which lie on directed cycles. As each
+ * cycle is contained in a strongly connected component, these are exactly the vertices of
+ * non-trivial components (i.e., components consisting of at least two vertices; self-loops do not
+ * occur in simple graphs) and the edges within them. Edges between components are dropped.
+ *
+ * <p>The restricted graph contains the very vertices of the given graph, i.e., vertex ids and thus
+ * cycles are valid in both graphs. Vertices and edges are added in the order of the given graph;
+ * hence, cycle enumerations via {@link de.asbestian.lotsizing.algorithm.cycle.CycleFinder} yield
+ * the same cycles in the same order on both graphs.
+ *
+ * @author Sebastian Schenker
+ */
+public final class CyclicCore {
+
+  private CyclicCore() {}
+
+  /** Restricts the given graph to its non-trivial strongly connected components. */
+  public static Graph<Vertex, DefaultEdge> of(final Graph<Vertex, DefaultEdge> graph) {
+    final Collection<Set<Vertex>> components = new Tarjan(graph).computeSCCs(Integer.MIN_VALUE);
+    final Graph<Vertex, DefaultEdge> core = new SimpleDirectedGraph<>(DefaultEdge.class);
+    if (components.size() == graph.vertexSet().size()) {
+      return core; // acyclic
+    }
+    final Object2IntOpenHashMap<Vertex> component = new Object2IntOpenHashMap<>();
+    int index = 0;
+    for (final Set<Vertex> vertices : components) {
+      if (vertices.size() > 1) {
+        for (final Vertex vertex : vertices) {
+          component.put(vertex, index);
+        }
+      }
+      ++index;
+    }
+    for (final Vertex vertex : graph.vertexSet()) {
+      if (component.containsKey(vertex)) {
+        core.addVertex(vertex);
+      }
+    }
+    for (final DefaultEdge edge : graph.edgeSet()) {
+      final Vertex source = graph.getEdgeSource(edge);
+      final Vertex target = graph.getEdgeTarget(edge);
+      if (component.containsKey(source)
+          && component.containsKey(target)
+          && component.getInt(source) == component.getInt(target)) {
+        core.addEdge(source, target);
+      }
+    }
+    return core;
+  }
+}
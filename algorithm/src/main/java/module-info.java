@@ -2,10 +2,12 @@ module algorithm {
   exports de.asbestian.lotsizing.algorithm;
   exports de.asbestian.lotsizing.algorithm.scc;
   exports de.asbestian.lotsizing.algorithm.cycle;
+  exports de.asbestian.lotsizing.algorithm.metrics;
 
   opens de.asbestian.lotsizing.algorithm;
   opens de.asbestian.lotsizing.algorithm.scc;
   opens de.asbestian.lotsizing.algorithm.cycle;
+  opens de.asbestian.lotsizing.algorithm.metrics;
 
   requires input;
   requires graph;
@@ -15,4 +17,6 @@ module algorithm {
   requires com.google.common;
   requires javax.inject;
   requires dagger;
+  requires java.management;
+  requires jdk.jfr;
 }
@@ -0,0 +1,118 @@
+package de.asbestian.lotsizing.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.input.FileInput;
+import de.asbestian.lotsizing.input.Input;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** @author Sebastian Schenker */
+class CheckpointTest {
+
+  private static final String INSTANCE = "src/test/resources/Instance-15timeslots_5types.txt";
+
+  @TempDir Path dir;
+
+  private static Termination maxIterations(final long maxIterations) {
+    return Termination.builder().maxIterations(maxIterations).build();
+  }
+
+  @Test
+  void resumedLocalSearchEqualsUninterruptedSearch() throws IOException {
+    final Input input = new FileInput(INSTANCE);
+    final Problem problem = new Problem(input);
+    final Schedule initSchedule = problem.computeOptimalInventoryCostSchedule();
+    final Path file = dir.resolve("search.ckpt");
+    final Schedule expected =
+        new LocalSearchImpl(input, problem, 2, false, 3).search(initSchedule, maxIterations(12));
+
+    final LocalSearchImpl interrupted = new LocalSearchImpl(input, problem, 2, false, 3);
+    interrupted.setCheckpoint(file, Duration.ofHours(1));
+    interrupted.search(initSchedule, maxIterations(5));
+    final Checkpoint checkpoint = Checkpoint.read(file);
+    final Schedule resumed =
+        new LocalSearchImpl(input, problem, 2, false, 3).resume(checkpoint, maxIterations(7));
+
+    assertEquals(5, checkpoint.getNumIterations());
+    assertEquals(expected, resumed);
+  }
+
+  @Test
+  void resumedEnumerationIsExhaustive() throws IOException {
+    final Input input = new FileInput(INSTANCE);
+    final Problem problem = new Problem(input);
+    final Schedule initSchedule = problem.computeOptimalInventoryCostSchedule();
+    final Path file = dir.resolve("enumeration.ckpt");
+    final Enumeration complete = new Enumeration(input, problem);
+    final Schedule expected = complete.search(initSchedule, Termination.builder().build());
+    assertTrue(complete.isSearchSpaceExhausted());
+
+    final Enumeration interrupted = new Enumeration(input, problem);
+    interrupted.setCheckpoint(file, Duration.ofHours(1));
+    interrupted.search(initSchedule, Termination.builder().maxCycles(5).build());
+    final Enumeration resumed = new Enumeration(input, problem);
+    final Schedule schedule = resumed.resume(Checkpoint.read(file), Termination.builder().build());
+
+    assertTrue(resumed.isSearchSpaceExhausted());
+    assertEquals(expected.getCost(), schedule.getCost());
+  }
+
+  @Test
+  void resume_otherSolver() throws IOException {
+    final Input input = new FileInput(INSTANCE);
+    final Problem problem = new Problem(input);
+    final Path file = dir.resolve("enumeration.ckpt");
+    final Enumeration enumeration = new Enumeration(input, problem);
+    enumeration.setCheckpoint(file, Duration.ofHours(1));
+    enumeration.search(problem.computeOptimalInventoryCostSchedule(), maxIterations(1));
+    final Checkpoint checkpoint = Checkpoint.read(file);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new LocalSearchImpl(input, problem, 2, false).resume(checkpoint, maxIterations(1)));
+  }
+
+  @Test
+  void resume_unexpectedObjectRejected() throws IOException {
+    final Input input = new FileInput(INSTANCE);
+    final Problem problem = new Problem(input);
+    final Path file = dir.resolve("search.ckpt");
+    final LocalSearchImpl localSearch = new LocalSearchImpl(input, problem, 2, false);
+    localSearch.setCheckpoint(file, Duration.ofHours(1));
+    localSearch.search(problem.computeOptimalInventoryCostSchedule(), maxIterations(1));
+    final Checkpoint checkpoint = Checkpoint.read(file);
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(new ArrayList<>(List.of(1)));
+    }
+    final Checkpoint tampered =
+        new Checkpoint(
+            checkpoint.getSolver(),
+            checkpoint.getFingerprint(),
+            checkpoint.getElapsedNanos(),
+            checkpoint.getNumIterations(),
+            checkpoint.getNumCycles(),
+            checkpoint.getCurrentSchedule(),
+            checkpoint.getBestSchedule(),
+            bytes.toByteArray());
+
+    final IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new LocalSearchImpl(input, problem, 2, false).resume(tampered, maxIterations(1)));
+    assertTrue(e.getCause() instanceof InvalidClassException);
+  }
+}
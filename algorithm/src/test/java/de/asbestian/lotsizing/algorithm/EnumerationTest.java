@@ -0,0 +1,34 @@
+package de.asbestian.lotsizing.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.input.FileInput;
+import de.asbestian.lotsizing.input.Input;
+import org.junit.jupiter.api.Test;
+
+/** @author Sebastian Schenker */
+class EnumerationTest {
+
+  private static double computeOptimalCost(final Input input, final Problem problem) {
+    final Enumeration enumeration = new Enumeration(input, problem);
+    final Schedule initSchedule = problem.computeOptimalInventoryCostSchedule();
+    final Schedule schedule = enumeration.search(initSchedule, Termination.builder().build());
+    assertTrue(enumeration.isSearchSpaceExhausted());
+    return schedule.getCost();
+  }
+
+  @Test
+  void derivedMaxEarliness_mayExcludeOptimalSchedules() {
+    final Input input = new FileInput("src/test/resources/Instance-6timeslots_2types.txt");
+
+    // producing the item of type 1 in time slot 0 saves a change over but holds it 3 time slots
+    final Problem problem = new Problem(input, Problem.DERIVED_EARLINESS);
+
+    assertEquals(2, problem.getMaxEarliness());
+    assertEquals(10., computeOptimalCost(input, new Problem(input)));
+    assertEquals(13., computeOptimalCost(input, problem));
+  }
+}
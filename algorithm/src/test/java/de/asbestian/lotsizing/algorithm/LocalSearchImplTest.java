@@ -0,0 +1,42 @@
+package de.asbestian.lotsizing.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.input.FileInput;
+import de.asbestian.lotsizing.input.Input;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+
+/** @author Sebastian Schenker */
+class LocalSearchImplTest {
+
+  @Test
+  void search_continuesAfterAddingAndRemovingDemand() {
+    final String path = "src/test/resources/Instance-15timeslots_5types.txt";
+    assert Files.exists(Paths.get(path));
+    final Input input = new FileInput(path);
+    final Problem problem = new Problem(input);
+    final LocalSearchImpl localSearch = new LocalSearchImpl(input, problem, 4, false, 1);
+    final Schedule schedule =
+        localSearch.search(problem.computeOptimalInventoryCostSchedule(), 0.2);
+
+    Schedule patched = problem.addDemand(schedule, 2, 14);
+    patched = problem.addDemand(patched, 0, 5);
+    patched = problem.removeDemand(patched, problem.getDemandVertices().get(0));
+    final Schedule continued = localSearch.search(patched, 0.2);
+
+    final int numItems = input.getNumProducedItems() + 1;
+    assertEquals(numItems, problem.getDemandVertices().size());
+    assertTrue(continued.getCost() <= patched.getCost());
+    assertEquals(numItems, continued.getNonIdleProduction().size());
+    assertEquals(3 * numItems, problem.getUsedGraphEdges(continued).size());
+    continued
+        .getSlot2Demand()
+        .int2ObjectEntrySet()
+        .forEach(entry -> assertTrue(entry.getIntKey() <= entry.getValue().getTimeSlot()));
+  }
+}
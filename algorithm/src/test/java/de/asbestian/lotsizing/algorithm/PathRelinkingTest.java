@@ -0,0 +1,84 @@
+package de.asbestian.lotsizing.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.asbestian.lotsizing.graph.Cycle;
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.input.FileInput;
+import de.asbestian.lotsizing.input.Input;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** @author Sebastian Schenker */
+class PathRelinkingTest {
+
+  private Input input;
+  private Problem problem;
+  private Schedule initiating;
+  private Schedule guiding;
+
+  @BeforeEach
+  void setUp() {
+    final String path = "src/test/resources/Instance-15timeslots_5types.txt";
+    assert Files.exists(Paths.get(path));
+    input = new FileInput(path);
+    problem = new Problem(input);
+    initiating = problem.computeOptimalInventoryCostSchedule();
+    final Termination termination = Termination.builder().maxIterations(100).build();
+    guiding = new LocalSearchImpl(input, problem, 4, false).search(initiating, termination);
+  }
+
+  @Test
+  void computeDifferenceCycles_allCyclesLeadToGuidingSchedule() {
+    final PathRelinking pathRelinking = new PathRelinking(input, problem);
+
+    final List<Cycle> cycles = pathRelinking.computeDifferenceCycles(initiating, guiding);
+
+    assertNotEquals(initiating, guiding);
+    assertFalse(cycles.isEmpty());
+    Schedule schedule = initiating;
+    for (final Cycle cycle : cycles) {
+      schedule = schedule.compute(cycle, input);
+    }
+    assertEquals(guiding, schedule);
+  }
+
+  @Test
+  void relink_notWorseThanInitiatingSchedule() {
+    final PathRelinking pathRelinking = new PathRelinking(input, problem);
+
+    final Schedule schedule =
+        pathRelinking.relink(guiding, initiating, Termination.builder().build());
+
+    assertTrue(schedule.getCost() <= guiding.getCost());
+  }
+
+  @Test
+  void elitePool_keepsDiverseSchedulesInCostOrder() {
+    final ElitePool pool = new ElitePool(2, 1);
+
+    assertTrue(pool.offer(initiating));
+    assertFalse(pool.offer(initiating));
+    assertTrue(pool.offer(guiding));
+
+    assertEquals(List.of(guiding, initiating), pool.getSchedules());
+    assertEquals(guiding, pool.getBest().orElseThrow());
+  }
+
+  @Test
+  void search_parallelSearchesShareIterations() {
+    final PathRelinkingSearch search = new PathRelinkingSearch(input, problem, 4, false, 4, 0);
+    final Termination termination = Termination.builder().maxIterations(10).build();
+
+    search.search(initiating, termination);
+
+    assertTrue(termination.getNumIterations() <= 10);
+  }
+}
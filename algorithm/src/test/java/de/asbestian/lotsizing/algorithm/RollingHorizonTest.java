@@ -0,0 +1,51 @@
+package de.asbestian.lotsizing.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.input.FileInput;
+import de.asbestian.lotsizing.input.Input;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+
+/** @author Sebastian Schenker */
+class RollingHorizonTest {
+
+  @Test
+  void search_feasibleAndNotWorseThanInitialSchedule() {
+    final String path = "src/test/resources/Instance-15timeslots_5types.txt";
+    assert Files.exists(Paths.get(path));
+    final Input input = new FileInput(path);
+    final Problem problem = new Problem(input);
+    final Schedule initSchedule = problem.computeOptimalInventoryCostSchedule();
+    final RollingHorizon rollingHorizon = new RollingHorizon(input, 4, false, 6, 2, 1);
+
+    final Schedule schedule = rollingHorizon.search(initSchedule, 0.5);
+
+    assertTrue(schedule.getCost() <= initSchedule.getCost());
+    assertEquals(input.getNumProducedItems(), schedule.getNonIdleProduction().size());
+    assertEquals(3 * input.getNumProducedItems(), problem.getUsedGraphEdges(schedule).size());
+    schedule
+        .getSlot2Demand()
+        .int2ObjectEntrySet()
+        .forEach(entry -> assertTrue(entry.getIntKey() <= entry.getValue().getTimeSlot()));
+  }
+
+  @Test
+  void computeOptimalInventoryCostSchedule_matchesScheduleOfEntireProblem() {
+    final Input input = new FileInput("src/test/resources/Instance-15timeslots_5types.txt");
+    final Problem problem = new Problem(input);
+    final RollingHorizon rollingHorizon = new RollingHorizon(input, 4, false, 6, 2, 1);
+
+    final Schedule schedule = rollingHorizon.computeOptimalInventoryCostSchedule();
+
+    assertEquals(
+        problem.computeOptimalInventoryCostSchedule().getInventoryCost(),
+        schedule.getInventoryCost());
+    assertEquals(input.getNumProducedItems(), schedule.getNonIdleProduction().size());
+    assertEquals(3 * input.getNumProducedItems(), problem.getUsedGraphEdges(schedule).size());
+  }
+}
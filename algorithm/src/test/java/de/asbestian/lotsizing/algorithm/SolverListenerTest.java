@@ -0,0 +1,101 @@
+package de.asbestian.lotsizing.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.graph.vertex.Vertex;
+import de.asbestian.lotsizing.input.FileInput;
+import de.asbestian.lotsizing.input.Input;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Test;
+
+/** @author Sebastian Schenker */
+class SolverListenerTest {
+
+  @Test
+  void enumeration_incumbentsAreDelivered() throws InterruptedException {
+    final String path = "src/test/resources/Instance-5timeslots_2types.txt";
+    assert Files.exists(Paths.get(path));
+    final Input input = new FileInput(path);
+    final Problem problem = new Problem(input);
+    final Schedule initSchedule = problem.computeRandomSchedule();
+    final List<Incumbent> incumbents = new CopyOnWriteArrayList<>();
+    final CountDownLatch finished = new CountDownLatch(1);
+    final Enumeration enumeration = new Enumeration(input, problem);
+    enumeration.addListener(
+        new SolverListener() {
+          @Override
+          public void onIncumbent(final Incumbent incumbent) {
+            incumbents.add(incumbent);
+          }
+
+          @Override
+          public void onFinished(final Schedule bestSchedule, final Progress progress) {
+            finished.countDown();
+          }
+        });
+
+    final Schedule schedule = enumeration.search(initSchedule, 10.);
+
+    assertTrue(finished.await(10, TimeUnit.SECONDS));
+    assertTrue(enumeration.isSearchSpaceExhausted());
+    assertFalse(incumbents.isEmpty());
+    assertEquals(initSchedule, incumbents.get(0).getSchedule());
+    assertEquals(schedule, incumbents.get(incumbents.size() - 1).getSchedule());
+    for (int i = 1; i < incumbents.size(); ++i) {
+      assertTrue(incumbents.get(i).getCost() < incumbents.get(i - 1).getCost());
+    }
+  }
+
+  @Test
+  void failingSearch_finishesAndStopsEventThread() throws InterruptedException {
+    final String path = "src/test/resources/Instance-5timeslots_2types.txt";
+    assert Files.exists(Paths.get(path));
+    final Input input = new FileInput(path);
+    final Problem problem =
+        new Problem(input) {
+          @Override
+          public Graph<Vertex, DefaultEdge> getResidualGraph(final Schedule schedule) {
+            throw new IllegalStateException("broken problem");
+          }
+        };
+    final Schedule initSchedule = problem.computeRandomSchedule();
+    final List<Schedule> finishedSchedules = new CopyOnWriteArrayList<>();
+    final CountDownLatch finished = new CountDownLatch(1);
+    final Enumeration enumeration = new Enumeration(input, problem);
+    enumeration.addListener(
+        new SolverListener() {
+          @Override
+          public void onFinished(final Schedule bestSchedule, final Progress progress) {
+            finishedSchedules.add(bestSchedule);
+            finished.countDown();
+          }
+        });
+
+    assertThrows(IllegalStateException.class, () -> enumeration.search(initSchedule, 10.));
+
+    assertTrue(finished.await(10, TimeUnit.SECONDS));
+    assertEquals(List.of(initSchedule), finishedSchedules);
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (isEventThreadAlive() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertFalse(isEventThreadAlive());
+  }
+
+  private static boolean isEventThreadAlive() {
+    return Thread.getAllStackTraces().keySet().stream()
+        .anyMatch(thread -> thread.getName().equals("solver-events") && thread.isAlive());
+  }
+}
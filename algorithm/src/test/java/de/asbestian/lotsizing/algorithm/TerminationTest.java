@@ -0,0 +1,99 @@
+package de.asbestian.lotsizing.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** @author Sebastian Schenker */
+class TerminationTest {
+
+  @Test
+  void noCriteria_neverReached() {
+    final Termination termination = Termination.builder().build();
+
+    assertFalse(termination.isReached(Double.MAX_VALUE));
+    assertTrue(termination.getRemainingNanos() > 0);
+  }
+
+  @Test
+  void subSecondTimeLimit_reached() throws InterruptedException {
+    final Termination termination = Termination.builder().timeLimit(Duration.ofMillis(50)).build();
+    termination.start();
+
+    assertFalse(termination.isReached(0.));
+    Thread.sleep(60);
+    assertTrue(termination.isReached(0.));
+    assertTrue(termination.isTimeLimitReached());
+  }
+
+  @Test
+  void maxIterations_reached() {
+    final Termination termination = Termination.builder().maxIterations(2).build();
+    termination.start();
+
+    termination.incrementIterations();
+    assertFalse(termination.isReached(0.));
+    termination.incrementIterations();
+    assertTrue(termination.isReached(0.));
+  }
+
+  @Test
+  void maxCycles_reached() {
+    final Termination termination = Termination.builder().maxCycles(1).build();
+    termination.start();
+
+    assertFalse(termination.isReached(0.));
+    termination.incrementCycles();
+    assertTrue(termination.isReached(0.));
+  }
+
+  @Test
+  void targetCost_reached() {
+    final Termination termination = Termination.builder().targetCost(10.).build();
+    termination.start();
+
+    assertFalse(termination.isReached(10.5));
+    assertTrue(termination.isReached(10.));
+  }
+
+  @Test
+  void cancel_reached() {
+    final Termination termination = Termination.builder().build();
+    termination.start();
+
+    termination.cancel();
+    assertTrue(termination.isReached(0.));
+  }
+
+  @Test
+  void start_resetsCounters() {
+    final Termination termination = Termination.builder().maxIterations(1).build();
+    termination.incrementIterations();
+    assertTrue(termination.isReached(0.));
+
+    termination.start();
+    assertFalse(termination.isReached(0.));
+  }
+
+  @Test
+  void split_sharesIterations() {
+    final Termination termination = Termination.builder().maxIterations(10).build();
+    termination.incrementIterations();
+
+    final List<Termination> terminations = termination.split(4);
+
+    for (final Termination subordinate : terminations) {
+      for (int i = 0; i < 2; ++i) {
+        assertFalse(subordinate.isReached(0.));
+        subordinate.incrementIterations();
+      }
+    }
+    assertFalse(terminations.get(0).isReached(0.));
+    assertTrue(terminations.get(3).isReached(0.));
+    termination.cancel();
+    assertTrue(terminations.get(0).isReached(0.));
+  }
+}
@@ -1,10 +1,14 @@
 package de.asbestian.lotsizing.algorithm.cycle;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import de.asbestian.lotsizing.graph.Cycle;
 import de.asbestian.lotsizing.graph.vertex.Vertex;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingDeque;
 import org.jgrapht.Graph;
@@ -75,4 +79,91 @@ class CycleFinderTest {
 
     assertEquals(3, cycles.size());
   }
+
+  @Test
+  void computeCycles_acyclicRemainder_endMarker() {
+    final Graph<Vertex, DefaultEdge> graph = new SimpleDirectedGraph<>(DefaultEdge.class);
+    final Vertex one = new Vertex(1);
+    final Vertex two = new Vertex(2);
+    final Vertex three = new Vertex(3);
+    graph.addVertex(one);
+    graph.addVertex(two);
+    graph.addVertex(three);
+    graph.addEdge(one, two);
+    graph.addEdge(two, one);
+    graph.addEdge(two, three); // no cycle starts at two or three
+
+    final CycleFinder cycleFinder = new CycleFinder();
+    final BlockingQueue<Cycle> queue = new LinkedBlockingDeque<>(5);
+    cycleFinder.computeCycles(graph, queue);
+
+    assertEquals(2, queue.size());
+    assertFalse(queue.poll().isEmpty());
+    assertTrue(queue.poll().isEmpty());
+  }
+
+  @Test
+  void computeCycles_noStartVertexLeft_endMarker() {
+    final Graph<Vertex, DefaultEdge> graph = new SimpleDirectedGraph<>(DefaultEdge.class);
+    final Vertex one = new Vertex(1);
+    final Vertex two = new Vertex(2);
+    graph.addVertex(one);
+    graph.addVertex(two);
+    graph.addEdge(one, two);
+    graph.addEdge(two, one);
+
+    final CycleFinder cycleFinder = new CycleFinder();
+    final BlockingQueue<Cycle> queue = new LinkedBlockingDeque<>(5);
+    cycleFinder.computeCycles(graph, queue, 3); // e.g., resuming an exhausted enumeration
+
+    assertEquals(1, queue.size());
+    assertTrue(queue.poll().isEmpty());
+  }
+
+  @Test
+  void computeCycles_failingConsumer_endMarker() {
+    final Graph<Vertex, DefaultEdge> graph = new SimpleDirectedGraph<>(DefaultEdge.class);
+    final Vertex one = new Vertex(1);
+    final Vertex two = new Vertex(2);
+    graph.addVertex(one);
+    graph.addVertex(two);
+    graph.addEdge(one, two);
+    graph.addEdge(two, one);
+    final BlockingQueue<Cycle> queue =
+        new LinkedBlockingDeque<>(5) {
+          @Override
+          public void put(final Cycle cycle) throws InterruptedException {
+            if (!cycle.isEmpty()) {
+              throw new IllegalStateException("Queue is closed");
+            }
+            super.put(cycle);
+          }
+        };
+
+    final CycleFinder cycleFinder = new CycleFinder();
+    assertThrows(IllegalStateException.class, () -> cycleFinder.computeCycles(graph, queue));
+
+    assertEquals(1, queue.size());
+    assertTrue(queue.poll().isEmpty());
+  }
+
+  @Test
+  void computeCycles_interrupted_endMarker() {
+    final Graph<Vertex, DefaultEdge> graph = new SimpleDirectedGraph<>(DefaultEdge.class);
+    final Vertex one = new Vertex(1);
+    final Vertex two = new Vertex(2);
+    graph.addVertex(one);
+    graph.addVertex(two);
+    graph.addEdge(one, two);
+    graph.addEdge(two, one);
+
+    final CycleFinder cycleFinder = new CycleFinder();
+    final BlockingQueue<Cycle> queue = new ArrayBlockingQueue<>(5); // put is interruptible
+    Thread.currentThread().interrupt();
+    cycleFinder.computeCycles(graph, queue);
+
+    assertTrue(Thread.interrupted());
+    assertEquals(1, queue.size());
+    assertTrue(queue.poll().isEmpty());
+  }
 }
@@ -0,0 +1,97 @@
+package de.asbestian.lotsizing.algorithm.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import org.junit.jupiter.api.Test;
+
+/** @author Sebastian Schenker */
+class MetricsTest {
+
+  @Test
+  void counter_sameNameYieldsSameCounter() {
+    final Counter counter = Metrics.counter("test.counter");
+    counter.increment();
+    counter.add(2);
+
+    assertSame(counter, Metrics.counter("test.counter"));
+    assertEquals(3, Metrics.counter("test.counter").get());
+  }
+
+  @Test
+  void histogram_quantilesAreBucketUpperBounds() {
+    final Histogram histogram = new Histogram();
+    for (int value = 0; value < 100; ++value) {
+      histogram.record(value);
+    }
+
+    assertEquals(100, histogram.getCount());
+    assertEquals(4950, histogram.getSum());
+    assertEquals(49.5, histogram.getMean());
+    assertEquals(99, histogram.getMax());
+    assertEquals(0, histogram.getQuantile(0.));
+    assertEquals(63, histogram.getQuantile(0.5)); // bucket [32, 64)
+    assertEquals(99, histogram.getQuantile(0.99)); // bucket [64, 128) capped by maximum
+  }
+
+  @Test
+  void histogram_emptyAndNegativeValues() {
+    final Histogram histogram = new Histogram();
+    assertEquals(0, histogram.getQuantile(0.5));
+    histogram.record(-5);
+    assertEquals(1, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+  }
+
+  @Test
+  void toJson_containsAllMetrics() {
+    Metrics.counter("test.json.counter").increment();
+    Metrics.histogram("test.json.histogram").record(5);
+
+    final String json = Metrics.toJson();
+
+    assertTrue(json.contains("\"test.json.counter\": 1"));
+    assertTrue(json.contains("\"test.json.histogram\": {\"count\": 1, \"sum\": 5"));
+  }
+
+  @Test
+  void registerMBean_exposesMetricsAsAttributes() throws Exception {
+    Metrics.counter("test.jmx.counter").add(7);
+    Metrics.histogram("test.jmx.histogram").record(3);
+
+    Metrics.registerMBean();
+    Metrics.registerMBean();
+
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    final ObjectName name = new ObjectName("de.asbestian.lotsizing:type=Metrics");
+    assertEquals(7L, server.getAttribute(name, "test.jmx.counter"));
+    assertEquals(1L, server.getAttribute(name, "test.jmx.histogram.count"));
+    assertEquals(3L, server.getAttribute(name, "test.jmx.histogram.max"));
+  }
+
+  @Test
+  void registerMBean_rejectsWritesAndOperations() throws Exception {
+    Metrics.counter("test.jmx.readOnly").add(1);
+    Metrics.registerMBean();
+
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    final ObjectName name = new ObjectName("de.asbestian.lotsizing:type=Metrics");
+    assertThrows(
+        AttributeNotFoundException.class,
+        () -> server.setAttribute(name, new Attribute("test.jmx.readOnly", 2L)));
+    final AttributeList attributes = new AttributeList();
+    attributes.add(new Attribute("test.jmx.readOnly", 2L));
+    assertTrue(server.setAttributes(name, attributes).isEmpty());
+    assertThrows(ReflectionException.class, () -> server.invoke(name, "reset", null, null));
+    assertEquals(1L, server.getAttribute(name, "test.jmx.readOnly"));
+  }
+}
@@ -0,0 +1,100 @@
+package de.asbestian.lotsizing.algorithm.scc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.asbestian.lotsizing.algorithm.Enumeration;
+import de.asbestian.lotsizing.algorithm.Termination;
+import de.asbestian.lotsizing.algorithm.cycle.CycleFinder;
+import de.asbestian.lotsizing.graph.Cycle;
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.graph.vertex.Vertex;
+import de.asbestian.lotsizing.input.FileInput;
+import de.asbestian.lotsizing.input.Input;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleDirectedGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/** @author Sebastian Schenker */
+class CyclicCoreTest {
+
+  @Test
+  void directedAcyclicGraph_emptyCore() {
+    final Graph<Vertex, DefaultEdge> graph = new SimpleDirectedGraph<>(DefaultEdge.class);
+    final Vertex u = new Vertex(0);
+    final Vertex v = new Vertex(1);
+    graph.addVertex(u);
+    graph.addVertex(v);
+    graph.addEdge(u, v);
+
+    assertTrue(CyclicCore.of(graph).vertexSet().isEmpty());
+  }
+
+  @Test
+  void cyclicGraph_edgesBetweenComponentsDropped() {
+    final Graph<Vertex, DefaultEdge> graph = new SimpleDirectedGraph<>(DefaultEdge.class);
+    final Vertex one = new Vertex(1);
+    final Vertex two = new Vertex(2);
+    final Vertex three = new Vertex(3);
+    final Vertex four = new Vertex(4);
+    final Vertex five = new Vertex(5);
+    final Vertex six = new Vertex(6);
+    List.of(one, two, three, four, five, six).forEach(graph::addVertex);
+    graph.addEdge(one, two);
+    graph.addEdge(two, one);
+    graph.addEdge(two, three); // three is a trivial component
+    graph.addEdge(three, four);
+    graph.addEdge(four, five);
+    graph.addEdge(five, four);
+    graph.addEdge(six, five);
+
+    final Graph<Vertex, DefaultEdge> core = CyclicCore.of(graph);
+
+    assertEquals(Set.of(one, two, four, five), core.vertexSet());
+    assertEquals(4, core.edgeSet().size());
+    assertTrue(core.containsEdge(one, two));
+    assertTrue(core.containsEdge(five, four));
+  }
+
+  @Test
+  void residualGraph_sameCycles() {
+    final Problem problem =
+        new Problem(new FileInput("src/test/resources/Instance-15timeslots_5types.txt"));
+    final Graph<Vertex, DefaultEdge> resGraph =
+        problem.getResidualGraph(problem.computeOptimalInventoryCostSchedule());
+
+    final Graph<Vertex, DefaultEdge> core = CyclicCore.of(resGraph);
+
+    assertTrue(core.vertexSet().size() < resGraph.vertexSet().size());
+    assertEquals(computeCycleEdges(resGraph), computeCycleEdges(core));
+  }
+
+  @Test
+  @Timeout(value = 10, unit = TimeUnit.SECONDS)
+  void acyclicResidualGraph_enumerationExhausted() {
+    final Input input = new FileInput("src/test/resources/Instance-1timeslots_1types.txt");
+    final Problem problem = new Problem(input);
+    final Schedule initSchedule = problem.computeOptimalInventoryCostSchedule();
+    final Enumeration enumeration = new Enumeration(input, problem);
+
+    final Schedule schedule = enumeration.search(initSchedule, Termination.builder().build());
+
+    assertTrue(CyclicCore.of(problem.getResidualGraph(initSchedule)).vertexSet().isEmpty());
+    assertTrue(enumeration.isSearchSpaceExhausted());
+    assertEquals(initSchedule.getCost(), schedule.getCost());
+  }
+
+  private static List<List<Pair<Vertex, Vertex>>> computeCycleEdges(
+      final Graph<Vertex, DefaultEdge> graph) {
+    return new CycleFinder()
+        .computeCycles(graph).stream().map(Cycle::getEdges).collect(Collectors.toList());
+  }
+}
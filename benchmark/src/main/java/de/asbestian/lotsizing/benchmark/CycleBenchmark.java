@@ -0,0 +1,76 @@
+package de.asbestian.lotsizing.benchmark;
+
+import de.asbestian.lotsizing.algorithm.cycle.CycleFinder;
+import de.asbestian.lotsizing.graph.Cycle;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the local search hot path: enumerating the cycles of a sub residual graph (as
+ * list and via a queue filled by a producer thread, respectively) and computing the schedules
+ * corresponding to these cycles.
+ *
+ * @author Sebastian Schenker
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CycleBenchmark {
+
+  private static final int QUEUE_CAPACITY = 100;
+
+  @State(Scope.Benchmark)
+  public static class CycleState {
+
+    List<Cycle> cycles;
+
+    @Setup(Level.Trial)
+    public void setUp(final InstanceState state) {
+      cycles = new CycleFinder().computeCycles(state.subResGraph);
+    }
+  }
+
+  @Benchmark
+  public List<Cycle> cyclesAsList(final InstanceState state) {
+    return new CycleFinder().computeCycles(state.subResGraph);
+  }
+
+  @Benchmark
+  public void cyclesViaQueue(final InstanceState state, final Blackhole blackhole)
+      throws InterruptedException {
+    final CycleFinder cycleFinder = new CycleFinder();
+    final BlockingQueue<Cycle> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    final Thread producer =
+        new Thread(() -> cycleFinder.computeCycles(state.subResGraph, queue));
+    producer.start();
+    Cycle cycle;
+    while (!(cycle = queue.take()).isEmpty()) {
+      blackhole.consume(cycle);
+    }
+    producer.join();
+  }
+
+  @Benchmark
+  public void computeSchedules(
+      final InstanceState state, final CycleState cycleState, final Blackhole blackhole) {
+    for (final Cycle cycle : cycleState.cycles) {
+      blackhole.consume(state.schedule.compute(cycle, state.input));
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package de.asbestian.lotsizing.benchmark;
+
+import de.asbestian.lotsizing.algorithm.scc.Tarjan;
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.graph.vertex.Vertex;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the graph construction: the problem graph, the residual graph of a schedule, its
+ * strongly connected components and the optimal inventory cost schedule.
+ *
+ * @author Sebastian Schenker
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphBenchmark {
+
+  @Benchmark
+  public Problem constructProblem(final InstanceState state) {
+    return new Problem(state.input);
+  }
+
+  @Benchmark
+  public Graph<Vertex, DefaultEdge> residualGraph(final InstanceState state) {
+    return state.problem.getResidualGraph(state.schedule);
+  }
+
+  @Benchmark
+  public Collection<Set<Vertex>> stronglyConnectedComponents(final InstanceState state) {
+    return new Tarjan(state.resGraph).computeSCCs(Integer.MIN_VALUE);
+  }
+
+  @Benchmark
+  public Schedule optimalInventoryCostSchedule(final InstanceState state) {
+    return state.problem.computeOptimalInventoryCostSchedule();
+  }
+}
@@ -0,0 +1,110 @@
+package de.asbestian.lotsizing.benchmark;
+
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.graph.vertex.DecisionVertex;
+import de.asbestian.lotsizing.graph.vertex.DemandVertex;
+import de.asbestian.lotsizing.graph.vertex.Vertex;
+import de.asbestian.lotsizing.input.Input;
+import de.asbestian.lotsizing.input.Inputs;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.AsSubgraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Problem instance shared by the benchmarks. Instance files are resolved against the directory
+ * given by the system property {@value #INSTANCE_DIR_PROPERTY} (default: {@code instances}, i.e.,
+ * the benchmarks are meant to be run from the repository root).
+ *
+ * @author Sebastian Schenker
+ */
+@State(Scope.Benchmark)
+public class InstanceState {
+
+  static final String INSTANCE_DIR_PROPERTY = "lotsizing.instances";
+
+  @Param({
+    "5timeslots_2types.txt",
+    "15timeslots_5types.txt",
+    "15timeslots_6types.txt",
+    "15timeslots_8types.txt",
+    "15timeslots_10types.txt",
+    "30timeslots_10types-optcost_1471.txt",
+    "150timeslots_15types.txt",
+    "psp/pigment15a.psp",
+    "psp/pigment15b.psp",
+    "psp/pigment15c.psp",
+    "psp/pigment15d.psp",
+    "psp/pigment15e.psp",
+    "psp/pigment20a.psp",
+    "psp/pigment20b.psp",
+    "psp/pigment20c.psp",
+    "psp/pigment30a.psp",
+    "psp/pigment30b.psp",
+    "psp/pigment30c.psp",
+    "psp/PSP_100_1.psp",
+    "psp/PSP_100_2.psp",
+    "psp/PSP_100_3.psp",
+    "psp/PSP_100_4.psp",
+    "psp/PSP_150_1.psp",
+    "psp/PSP_150_2.psp",
+    "psp/PSP_150_3.psp",
+    "psp/PSP_150_4.psp",
+    "psp/PSP_200_1.psp",
+    "psp/PSP_200_2.psp",
+    "psp/PSP_200_3.psp",
+    "psp/PSP_200_4.psp"
+  })
+  public String instance;
+
+  /** Number of demand vertices spanning the sub residual graph, cf. local search neighbourhood. */
+  @Param({"4"})
+  public int neighbourhoodSize;
+
+  Input input;
+  Problem problem;
+  Schedule schedule;
+  Graph<Vertex, DefaultEdge> resGraph;
+  Graph<Vertex, DefaultEdge> subResGraph;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final Path dir = Path.of(System.getProperty(INSTANCE_DIR_PROPERTY, "instances"));
+    input = Inputs.read(dir.resolve(instance).toString());
+    problem = new Problem(input);
+    schedule = problem.computeOptimalInventoryCostSchedule();
+    resGraph = problem.getResidualGraph(schedule);
+    subResGraph =
+        new AsSubgraph<>(resGraph, computeVerticesInSubResGraph(problem, neighbourhoodSize));
+  }
+
+  /**
+   * Computes the vertices of a sub residual graph as considered by the local search: the demand
+   * vertices of a window in the middle of the demand, the decision and time slot vertices they may
+   * be assigned to, and the super sink.
+   */
+  static Set<Vertex> computeVerticesInSubResGraph(
+      final Problem problem, final int neighbourhoodSize) {
+    final List<DemandVertex> demand = problem.getDemandVertices();
+    final int size = Math.min(neighbourhoodSize, demand.size());
+    final int begin = (demand.size() - size) / 2;
+    final Set<Vertex> vertices = new HashSet<>(demand.subList(begin, begin + size));
+    for (final DemandVertex demandVertex : demand.subList(begin, begin + size)) {
+      for (final DecisionVertex decisionVertex : problem.getDecisionVertices(demandVertex)) {
+        vertices.add(decisionVertex);
+        vertices.add(problem.getTimeSlotVertex(decisionVertex.getTimeSlot()));
+      }
+    }
+    vertices.add(problem.getSuperSink());
+    return vertices;
+  }
+}
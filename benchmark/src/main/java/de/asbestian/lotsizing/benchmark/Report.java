@@ -0,0 +1,186 @@
+package de.asbestian.lotsizing.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the results of a time-to-target benchmark as CSV and JSON files and compares them against
+ * the results of a baseline benchmark.
+ *
+ * @author Sebastian Schenker
+ */
+class Report {
+
+  private static final String COMPARISON_CSV_HEADER =
+      "instance,solver,successRate,baselineSuccessRate,medianTimeToTarget,"
+          + "baselineMedianTimeToTarget,meanGap,baselineMeanGap,meanCyclesPerSecond,"
+          + "baselineMeanCyclesPerSecond";
+  private final List<RunResult> runs;
+  private final List<Summary> summaries;
+
+  Report(final List<RunResult> runs) {
+    this.runs = List.copyOf(runs);
+    this.summaries = Summary.of(runs);
+  }
+
+  List<Summary> getSummaries() {
+    return summaries;
+  }
+
+  /** Reads the runs of a CSV file previously written via {@link #write(Path)}. */
+  static List<RunResult> readRuns(final Path csvFile) {
+    try {
+      return Files.readAllLines(csvFile).stream()
+          .skip(1)
+          .filter(line -> !line.isBlank())
+          .map(RunResult::fromCsv)
+          .collect(Collectors.toList());
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Writes the runs to {@code <prefix>.csv}, the summaries to {@code <prefix>-summary.csv} and
+   * both to {@code <prefix>.json}.
+   */
+  void write(final Path prefix) {
+    writeCsv(withSuffix(prefix, ".csv"), RunResult.CSV_HEADER, runs, RunResult::toCsv);
+    writeCsv(withSuffix(prefix, "-summary.csv"), Summary.CSV_HEADER, summaries, Summary::toCsv);
+    writeLines(withSuffix(prefix, ".json"), List.of(toJson()));
+  }
+
+  /**
+   * Writes the summaries of this report next to the summaries of the given baseline to {@code
+   * <prefix>-comparison.csv}. Only instance and solver combinations present in both are compared.
+   *
+   * @return Summaries which are worse than the baseline with respect to success rate or median
+   *     time to target
+   */
+  List<Summary> compare(final Report baseline, final Path prefix) {
+    final Map<List<String>, Summary> baselineSummaries =
+        baseline.summaries.stream()
+            .collect(Collectors.toMap(s -> List.of(s.getInstance(), s.getSolver()), s -> s));
+    final List<String> lines = new ArrayList<>();
+    final List<Summary> regressions = new ArrayList<>();
+    for (final Summary summary : summaries) {
+      final Summary other =
+          baselineSummaries.get(List.of(summary.getInstance(), summary.getSolver()));
+      if (other == null) {
+        continue;
+      }
+      lines.add(
+          String.join(
+              ",",
+              summary.getInstance(),
+              summary.getSolver(),
+              String.valueOf(summary.getSuccessRate()),
+              String.valueOf(other.getSuccessRate()),
+              String.valueOf(summary.getMedianTimeToTarget()),
+              String.valueOf(other.getMedianTimeToTarget()),
+              String.valueOf(summary.getMeanGap()),
+              String.valueOf(other.getMeanGap()),
+              String.valueOf(summary.getMeanCyclesPerSecond()),
+              String.valueOf(other.getMeanCyclesPerSecond())));
+      if (summary.getSuccessRate() < other.getSuccessRate()
+          || summary.getMedianTimeToTarget() > other.getMedianTimeToTarget()) {
+        regressions.add(summary);
+      }
+    }
+    writeCsv(withSuffix(prefix, "-comparison.csv"), COMPARISON_CSV_HEADER, lines, line -> line);
+    return regressions;
+  }
+
+  String toJson() {
+    final StringBuilder builder = new StringBuilder("{\n  \"runs\": [");
+    for (int i = 0; i < runs.size(); ++i) {
+      final RunResult run = runs.get(i);
+      builder
+          .append(i == 0 ? "\n" : ",\n")
+          .append("    {\"instance\": ")
+          .append(quote(run.getInstance()))
+          .append(", \"solver\": ")
+          .append(quote(run.getSolver()))
+          .append(", \"seed\": ")
+          .append(run.getSeed())
+          .append(", \"optimalCost\": ")
+          .append(number(run.getOptimalCost()))
+          .append(", \"lowerBound\": ")
+          .append(number(run.getLowerBound()))
+          .append(", \"cost\": ")
+          .append(number(run.getCost()))
+          .append(", \"gap\": ")
+          .append(number(run.getGap()))
+          .append(", \"timeToTarget\": ")
+          .append(number(run.getTimeToTarget()))
+          .append(", \"elapsed\": ")
+          .append(number(run.getElapsed()))
+          .append(", \"cycles\": ")
+          .append(run.getNumCycles())
+          .append(", \"cyclesPerSecond\": ")
+          .append(number(run.getCyclesPerSecond()))
+          .append('}');
+    }
+    builder.append("\n  ],\n  \"summaries\": [");
+    for (int i = 0; i < summaries.size(); ++i) {
+      final Summary summary = summaries.get(i);
+      builder
+          .append(i == 0 ? "\n" : ",\n")
+          .append("    {\"instance\": ")
+          .append(quote(summary.getInstance()))
+          .append(", \"solver\": ")
+          .append(quote(summary.getSolver()))
+          .append(", \"runs\": ")
+          .append(summary.getNumRuns())
+          .append(", \"successRate\": ")
+          .append(number(summary.getSuccessRate()))
+          .append(", \"medianTimeToTarget\": ")
+          .append(number(summary.getMedianTimeToTarget()))
+          .append(", \"meanGap\": ")
+          .append(number(summary.getMeanGap()))
+          .append(", \"meanCyclesPerSecond\": ")
+          .append(number(summary.getMeanCyclesPerSecond()))
+          .append('}');
+    }
+    return builder.append("\n  ]\n}").toString();
+  }
+
+  private static String quote(final String value) {
+    return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+  }
+
+  /** JSON has no representation of infinite values or NaN; these are written as null. */
+  private static String number(final double value) {
+    return Double.isFinite(value) ? String.valueOf(value) : "null";
+  }
+
+  private static Path withSuffix(final Path prefix, final String suffix) {
+    return prefix.resolveSibling(prefix.getFileName() + suffix);
+  }
+
+  private static <T> void writeCsv(
+      final Path file,
+      final String header,
+      final List<T> elements,
+      final Function<T, String> toCsv) {
+    final List<String> lines = new ArrayList<>(elements.size() + 1);
+    lines.add(header);
+    elements.stream().map(toCsv).forEachOrdered(lines::add);
+    writeLines(file, lines);
+  }
+
+  private static void writeLines(final Path file, final List<String> lines) {
+    try {
+      Files.write(file, lines);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
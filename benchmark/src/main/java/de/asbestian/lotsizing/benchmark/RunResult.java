@@ -0,0 +1,147 @@
+package de.asbestian.lotsizing.benchmark;
+
+import java.util.Locale;
+
+/**
+ * Outcome of a single solver run on a single instance.
+ *
+ * @author Sebastian Schenker
+ */
+public class RunResult {
+
+  static final String CSV_HEADER =
+      "instance,solver,seed,optimalCost,lowerBound,cost,gap,timeToTarget,elapsed,cycles,"
+          + "cyclesPerSecond";
+  private final String instance;
+  private final String solver;
+  private final long seed;
+  private final double optimalCost;
+  private final double lowerBound;
+  private final double cost;
+  private final double timeToTarget;
+  private final double elapsed;
+  private final long numCycles;
+
+  /**
+   * Constructor.
+   *
+   * @param instance Name of the instance
+   * @param solver Name of the solver
+   * @param seed Seed of the run
+   * @param optimalCost Known optimal cost; NaN if unknown
+   * @param lowerBound Known lower bound on the optimal cost (the optimal cost if known); NaN if
+   *     unknown
+   * @param cost Cost of the best found schedule
+   * @param timeToTarget Seconds until a schedule with optimal cost was found; infinite if none
+   * @param elapsed Seconds spent by the run
+   * @param numCycles Number of evaluated cycles
+   */
+  public RunResult(
+      final String instance,
+      final String solver,
+      final long seed,
+      final double optimalCost,
+      final double lowerBound,
+      final double cost,
+      final double timeToTarget,
+      final double elapsed,
+      final long numCycles) {
+    this.instance = instance;
+    this.solver = solver;
+    this.seed = seed;
+    this.optimalCost = optimalCost;
+    this.lowerBound = lowerBound;
+    this.cost = cost;
+    this.timeToTarget = timeToTarget;
+    this.elapsed = elapsed;
+    this.numCycles = numCycles;
+  }
+
+  /** Parses a line in the format given by {@link #toCsv()}. */
+  static RunResult fromCsv(final String line) {
+    final String[] values = line.split(",");
+    if (values.length != CSV_HEADER.split(",").length) {
+      throw new IllegalArgumentException("Malformed result line: " + line);
+    }
+    return new RunResult(
+        values[0],
+        values[1],
+        Long.parseLong(values[2]),
+        Double.parseDouble(values[3]),
+        Double.parseDouble(values[4]),
+        Double.parseDouble(values[5]),
+        Double.parseDouble(values[7]),
+        Double.parseDouble(values[8]),
+        Long.parseLong(values[9]));
+  }
+
+  String toCsv() {
+    return String.format(
+        Locale.ROOT,
+        "%s,%s,%d,%s,%s,%s,%s,%s,%s,%d,%s",
+        instance,
+        solver,
+        seed,
+        optimalCost,
+        lowerBound,
+        cost,
+        getGap(),
+        timeToTarget,
+        elapsed,
+        numCycles,
+        getCyclesPerSecond());
+  }
+
+  public String getInstance() {
+    return instance;
+  }
+
+  public String getSolver() {
+    return solver;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public double getOptimalCost() {
+    return optimalCost;
+  }
+
+  public double getLowerBound() {
+    return lowerBound;
+  }
+
+  public double getCost() {
+    return cost;
+  }
+
+  /**
+   * Returns the gap between the found cost and the lower bound on the optimal cost relative to the
+   * latter (absolute if the lower bound is zero); NaN if no lower bound is known. If the optimal
+   * cost is known, this is the gap to the optimal cost.
+   */
+  public double getGap() {
+    return lowerBound > 0 ? (cost - lowerBound) / lowerBound : cost - lowerBound;
+  }
+
+  public double getTimeToTarget() {
+    return timeToTarget;
+  }
+
+  public boolean isTargetReached() {
+    return timeToTarget < Double.POSITIVE_INFINITY;
+  }
+
+  public double getElapsed() {
+    return elapsed;
+  }
+
+  public long getNumCycles() {
+    return numCycles;
+  }
+
+  public double getCyclesPerSecond() {
+    return elapsed > 0 ? numCycles / elapsed : 0.;
+  }
+}
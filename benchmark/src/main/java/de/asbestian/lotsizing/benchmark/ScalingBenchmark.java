@@ -0,0 +1,120 @@
+package de.asbestian.lotsizing.benchmark;
+
+import de.asbestian.lotsizing.algorithm.LocalSearchImpl;
+import de.asbestian.lotsizing.algorithm.Termination;
+import de.asbestian.lotsizing.algorithm.cycle.CycleFinder;
+import de.asbestian.lotsizing.algorithm.scc.Tarjan;
+import de.asbestian.lotsizing.graph.Cycle;
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.graph.vertex.Vertex;
+import de.asbestian.lotsizing.input.Input;
+import de.asbestian.lotsizing.input.InstanceGenerator;
+import de.asbestian.lotsizing.input.InstanceGenerator.ChangeOverStructure;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.AsSubgraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the graph construction, the cycle computation and the local search on generated
+ * instances of increasing size. Larger sizes can be given via e.g. {@code -p
+ * numTimeSlots=10000 -p numTypes=200} (and a correspondingly large heap).
+ *
+ * @author Sebastian Schenker
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScalingBenchmark {
+
+  private static final int NUM_CYCLES = 1000;
+
+  @State(Scope.Benchmark)
+  public static class GeneratedInstanceState {
+
+    @Param({"250", "500", "1000", "2000"})
+    public int numTimeSlots;
+
+    @Param({"10", "50"})
+    public int numTypes;
+
+    @Param({"0.9"})
+    public double density;
+
+    @Param({"RANDOM"})
+    public ChangeOverStructure changeOverStructure;
+
+    /** Number of demand vertices spanning the sub residual graph, cf. local search neighbourhood. */
+    @Param({"4"})
+    public int neighbourhoodSize;
+
+    Input input;
+    Problem problem;
+    Schedule schedule;
+    Graph<Vertex, DefaultEdge> resGraph;
+    Graph<Vertex, DefaultEdge> subResGraph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      input =
+          InstanceGenerator.builder()
+              .numTimeSlots(numTimeSlots)
+              .numTypes(numTypes)
+              .density(density)
+              .changeOverStructure(changeOverStructure)
+              .build()
+              .generate();
+      problem = new Problem(input);
+      schedule = problem.computeOptimalInventoryCostSchedule();
+      resGraph = problem.getResidualGraph(schedule);
+      subResGraph =
+          new AsSubgraph<>(
+              resGraph, InstanceState.computeVerticesInSubResGraph(problem, neighbourhoodSize));
+    }
+  }
+
+  @Benchmark
+  public Problem constructProblem(final GeneratedInstanceState state) {
+    return new Problem(state.input);
+  }
+
+  @Benchmark
+  public Graph<Vertex, DefaultEdge> residualGraph(final GeneratedInstanceState state) {
+    return state.problem.getResidualGraph(state.schedule);
+  }
+
+  @Benchmark
+  public Collection<Set<Vertex>> stronglyConnectedComponents(final GeneratedInstanceState state) {
+    return new Tarjan(state.resGraph).computeSCCs(Integer.MIN_VALUE);
+  }
+
+  @Benchmark
+  public List<Cycle> cycles(final GeneratedInstanceState state) {
+    return new CycleFinder().computeCycles(state.subResGraph);
+  }
+
+  /** Local search which evaluates a fixed number of cycles. */
+  @Benchmark
+  public Schedule localSearch(final GeneratedInstanceState state) {
+    return new LocalSearchImpl(state.input, state.problem, state.neighbourhoodSize, false, 1)
+        .search(state.schedule, Termination.builder().maxCycles(NUM_CYCLES).build());
+  }
+}
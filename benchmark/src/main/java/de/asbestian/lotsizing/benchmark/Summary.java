@@ -0,0 +1,100 @@
+package de.asbestian.lotsizing.benchmark;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregates the runs of a solver on an instance. Runs which do not reach the optimal cost are
+ * regarded as having an infinite time to target, i.e., the median time to target is finite iff
+ * more than half of the runs reach the optimal cost.
+ *
+ * @author Sebastian Schenker
+ */
+public class Summary {
+
+  static final String CSV_HEADER =
+      "instance,solver,runs,successRate,medianTimeToTarget,meanGap,meanCyclesPerSecond";
+  private final String instance;
+  private final String solver;
+  private final int numRuns;
+  private final double successRate;
+  private final double medianTimeToTarget;
+  private final double meanGap;
+  private final double meanCyclesPerSecond;
+
+  private Summary(final String instance, final String solver, final List<RunResult> runs) {
+    this.instance = instance;
+    this.solver = solver;
+    this.numRuns = runs.size();
+    this.successRate = runs.stream().filter(RunResult::isTargetReached).count() / (double) numRuns;
+    this.medianTimeToTarget =
+        median(runs.stream().mapToDouble(RunResult::getTimeToTarget).toArray());
+    this.meanGap = runs.stream().mapToDouble(RunResult::getGap).average().orElse(Double.NaN);
+    this.meanCyclesPerSecond =
+        runs.stream().mapToDouble(RunResult::getCyclesPerSecond).average().orElse(0.);
+  }
+
+  /** Summarises the given runs per instance and solver, keeping the order of first occurrence. */
+  static List<Summary> of(final Collection<RunResult> runs) {
+    final Map<List<String>, List<RunResult>> groups =
+        runs.stream()
+            .collect(
+                Collectors.groupingBy(
+                    run -> List.of(run.getInstance(), run.getSolver()),
+                    LinkedHashMap::new,
+                    Collectors.toList()));
+    return groups.entrySet().stream()
+        .map(e -> new Summary(e.getKey().get(0), e.getKey().get(1), e.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  private static double median(final double[] values) {
+    Arrays.sort(values);
+    final int mid = values.length / 2;
+    return values.length % 2 == 1 ? values[mid] : 0.5 * (values[mid - 1] + values[mid]);
+  }
+
+  String toCsv() {
+    return String.join(
+        ",",
+        instance,
+        solver,
+        String.valueOf(numRuns),
+        String.valueOf(successRate),
+        String.valueOf(medianTimeToTarget),
+        String.valueOf(meanGap),
+        String.valueOf(meanCyclesPerSecond));
+  }
+
+  public String getInstance() {
+    return instance;
+  }
+
+  public String getSolver() {
+    return solver;
+  }
+
+  public int getNumRuns() {
+    return numRuns;
+  }
+
+  public double getSuccessRate() {
+    return successRate;
+  }
+
+  public double getMedianTimeToTarget() {
+    return medianTimeToTarget;
+  }
+
+  public double getMeanGap() {
+    return meanGap;
+  }
+
+  public double getMeanCyclesPerSecond() {
+    return meanCyclesPerSecond;
+  }
+}
@@ -0,0 +1,305 @@
+package de.asbestian.lotsizing.benchmark;
+
+import de.asbestian.lotsizing.algorithm.Incumbent;
+import de.asbestian.lotsizing.algorithm.Progress;
+import de.asbestian.lotsizing.algorithm.Solver;
+import de.asbestian.lotsizing.algorithm.SolverListener;
+import de.asbestian.lotsizing.algorithm.Termination;
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.input.Input;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+/**
+ * End-to-end benchmark which solves each instance with each solver over several seeds. Each run
+ * starts from the optimal inventory cost schedule and stops as soon as the known optimal cost of
+ * the instance is reached or the time limit is hit. Instances for which merely bounds on the
+ * optimal cost are known have no target; their runs use the whole time limit and report the gap
+ * to the lower bound. The runs are written as CSV and JSON report and, optionally, compared
+ * against the runs of a baseline report.
+ *
+ * @author Sebastian Schenker
+ */
+@Command(
+    name = "time-to-target",
+    mixinStandardHelpOptions = true,
+    version = "1.0",
+    description = "Measures the time needed by the solvers to reach the known optimal cost.")
+public class TimeToTarget implements Callable<Integer> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TimeToTarget.class);
+
+  @Option(
+      names = {"-s", "--solvers"},
+      split = ",",
+      description = "Solvers to benchmark. Default is to benchmark all registered solvers.")
+  List<String> solverNames;
+
+  @Option(
+      names = {"--seeds"},
+      description = "Number of seeds per instance and solver. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "3")
+  int numSeeds;
+
+  @Option(
+      names = {"-t", "--timeLimit"},
+      description = "Time limit (in seconds) of each run. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "60")
+  double timeLimit;
+
+  @Option(
+      names = {"-n", "--neighbourhood"},
+      description =
+          "Size of initial demand vertex neighbourhood used in local search procedure. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "4")
+  int neighbourhoodSize;
+
+  @Option(
+      names = {"-g", "--greatestDescent"},
+      description = "Use greatest descent improvement. Default is to first descent improvement.",
+      defaultValue = "false")
+  boolean greatestDescent;
+
+  @Option(
+      names = {"--threads"},
+      description =
+          "Number of threads used by parallel solvers. Zero means number of available processors. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "0")
+  int numThreads;
+
+  @Option(
+      names = {"--window"},
+      description =
+          "Number of time slots per window of the rolling horizon solver. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "50")
+  int windowSize;
+
+  @Option(
+      names = {"--overlap"},
+      description =
+          "Number of time slots shared by consecutive windows of the rolling horizon solver. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "10")
+  int windowOverlap;
+
+  @Option(
+      names = {"--all"},
+      description = "Also run instances without known optimal cost.",
+      defaultValue = "false")
+  boolean allInstances;
+
+  @Option(
+      names = {"-o", "--output"},
+      description =
+          "Prefix of the report files <prefix>.csv, <prefix>-summary.csv and <prefix>.json. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "time-to-target")
+  Path output;
+
+  @Option(
+      names = {"-b", "--baseline"},
+      description = "Runs (<prefix>.csv) of a previous benchmark to compare against.")
+  Path baseline;
+
+  @Parameters(
+      paramLabel = "path",
+      arity = "1..*",
+      description = "Instance files or directories containing instance files.")
+  List<Path> paths;
+
+  public static void main(String... args) {
+    final int exitCode = new CommandLine(new TimeToTarget()).execute(args);
+    System.exit(exitCode);
+  }
+
+  @Override
+  public Integer call() throws IOException {
+    if (baseline != null && !Files.exists(baseline)) {
+      System.err.println("Given baseline cannot be found.");
+      return 1;
+    }
+    final List<RunResult> runs = new ArrayList<>();
+    for (final Path file : collectInstances()) {
+      final BenchmarkComponent component = createComponent(file, 0);
+      final Input input;
+      try {
+        input = component.input();
+      } catch (final RuntimeException e) {
+        LOGGER.warn("Skipping {} as it is no valid instance: {}", file, e.getMessage());
+        continue;
+      }
+      final OptionalInt optimalCost = input.getOptimalCost();
+      final OptionalInt lowerBound = input.getLowerBound();
+      if (optimalCost.isEmpty() && !allInstances) {
+        if (lowerBound.isPresent()) {
+          LOGGER.info(
+              "Skipping {} as merely bounds [{}, {}] on its optimal cost are known.",
+              file,
+              lowerBound.getAsInt(),
+              input.getUpperBound().orElse(Integer.MAX_VALUE));
+        } else {
+          LOGGER.info("Skipping {} as its optimal cost is unknown.", file);
+        }
+        continue;
+      }
+      final List<String> solvers =
+          solverNames != null
+              ? solverNames
+              : new ArrayList<>(new TreeSet<>(component.solvers().keySet()));
+      for (final String solverName : solvers) {
+        for (long seed = 1; seed <= numSeeds; ++seed) {
+          final RunResult run = solve(file, solverName, seed, optimalCost, lowerBound);
+          if (optimalCost.isPresent()) {
+            LOGGER.info(
+                "{} {} seed {}: cost {}, time to target {} seconds",
+                run.getInstance(),
+                run.getSolver(),
+                run.getSeed(),
+                run.getCost(),
+                run.getTimeToTarget());
+          } else {
+            LOGGER.info(
+                "{} {} seed {}: cost {}, no known optimum, gap to lower bound {}",
+                run.getInstance(),
+                run.getSolver(),
+                run.getSeed(),
+                run.getCost(),
+                run.getGap());
+          }
+          runs.add(run);
+        }
+      }
+    }
+    final Report report = new Report(runs);
+    report.write(output);
+    if (baseline != null) {
+      final List<Summary> regressions =
+          report.compare(new Report(Report.readRuns(baseline)), output);
+      regressions.forEach(
+          summary ->
+              LOGGER.warn(
+                  "{} {} is worse than baseline: success rate {}, median time to target {}",
+                  summary.getInstance(),
+                  summary.getSolver(),
+                  summary.getSuccessRate(),
+                  summary.getMedianTimeToTarget()));
+      return regressions.isEmpty() ? 0 : 2;
+    }
+    return 0;
+  }
+
+  private List<Path> collectInstances() throws IOException {
+    final List<Path> files = new ArrayList<>();
+    for (final Path path : paths) {
+      if (Files.isDirectory(path)) {
+        try (final Stream<Path> stream = Files.list(path)) {
+          stream.filter(Files::isRegularFile).sorted().forEachOrdered(files::add);
+        }
+      } else {
+        files.add(path);
+      }
+    }
+    return files.stream().distinct().collect(Collectors.toList());
+  }
+
+  private BenchmarkComponent createComponent(final Path file, final long seed) {
+    return DaggerBenchmarkComponent.builder()
+        .fileName(file.toString())
+        .resGraphVertexSize(neighbourhoodSize)
+        .greatestDescent(greatestDescent)
+        .numThreads(numThreads > 0 ? numThreads : Runtime.getRuntime().availableProcessors())
+        .windowSize(windowSize)
+        .windowOverlap(windowOverlap)
+        .seed(seed)
+        .maxEarliness(Problem.UNBOUNDED_EARLINESS)
+        .compressIdle(false)
+        .build();
+  }
+
+  private RunResult solve(
+      final Path file,
+      final String solverName,
+      final long seed,
+      final OptionalInt optimalCost,
+      final OptionalInt lowerBound) {
+    final BenchmarkComponent component = createComponent(file, seed);
+    final var provider = component.solvers().get(solverName);
+    if (provider == null) {
+      throw new IllegalArgumentException("Unknown solver: " + solverName);
+    }
+    final Solver solver = provider.get();
+    final TargetListener listener =
+        new TargetListener(optimalCost.isPresent() ? optimalCost.getAsInt() : Double.NaN);
+    solver.addListener(listener);
+    final Termination.Builder termination = Termination.builder().timeLimit(timeLimit);
+    optimalCost.ifPresent(termination::targetCost);
+    final Schedule initSchedule = component.problem().computeOptimalInventoryCostSchedule();
+    final Schedule schedule = solver.search(initSchedule, termination.build());
+    final Progress progress;
+    try {
+      progress = listener.awaitFinished();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for solver events.", e);
+    }
+    return new RunResult(
+        file.toString(),
+        solverName,
+        seed,
+        listener.targetCost,
+        lowerBound.isPresent() ? lowerBound.getAsInt() : Double.NaN,
+        schedule.getCost(),
+        listener.timeToTarget,
+        progress.getElapsedNanos() / 1e9,
+        progress.getNumCycles());
+  }
+
+  /**
+   * Records when the target cost is reached for the first time and the final progress. As solver
+   * events are delivered asynchronously, the results must only be read after {@link
+   * #awaitFinished()} returned.
+   */
+  private static class TargetListener implements SolverListener {
+
+    private final double targetCost;
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile double timeToTarget = Double.POSITIVE_INFINITY;
+    private volatile Progress progress;
+
+    TargetListener(final double targetCost) {
+      this.targetCost = targetCost;
+    }
+
+    @Override
+    public void onIncumbent(final Incumbent incumbent) {
+      if (incumbent.getCost() <= targetCost && timeToTarget == Double.POSITIVE_INFINITY) {
+        timeToTarget = incumbent.getElapsedNanos() / 1e9;
+      }
+    }
+
+    @Override
+    public void onFinished(final Schedule best, final Progress progress) {
+      this.progress = progress;
+      finished.countDown();
+    }
+
+    Progress awaitFinished() throws InterruptedException {
+      finished.await();
+      return progress;
+    }
+  }
+}
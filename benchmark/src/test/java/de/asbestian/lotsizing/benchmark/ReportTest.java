@@ -0,0 +1,80 @@
+package de.asbestian.lotsizing.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** @author Sebastian Schenker */
+class ReportTest {
+
+  private static final double INF = Double.POSITIVE_INFINITY;
+
+  private static List<RunResult> createRuns(final double... timesToTarget) {
+    final RunResult[] runs = new RunResult[timesToTarget.length];
+    for (int i = 0; i < runs.length; ++i) {
+      final double cost = timesToTarget[i] < INF ? 100 : 110;
+      runs[i] =
+          new RunResult("instance", "lns", i + 1, 100, 100, cost, timesToTarget[i], 2., 1000);
+    }
+    return List.of(runs);
+  }
+
+  @Test
+  void summary_unsuccessfulRunsHaveInfiniteTimeToTarget() {
+    final List<Summary> summaries = Summary.of(createRuns(1., INF, 3.));
+
+    assertEquals(1, summaries.size());
+    final Summary summary = summaries.get(0);
+    assertEquals(3, summary.getNumRuns());
+    assertEquals(2. / 3, summary.getSuccessRate(), 1e-9);
+    assertEquals(3., summary.getMedianTimeToTarget());
+    assertEquals(0.1 / 3, summary.getMeanGap(), 1e-9);
+    assertEquals(500., summary.getMeanCyclesPerSecond(), 1e-9);
+    assertEquals(INF, Summary.of(createRuns(1., INF, INF)).get(0).getMedianTimeToTarget());
+  }
+
+  @Test
+  void gapIsTakenAgainstLowerBoundIfOptimalCostIsUnknown() {
+    final RunResult bounded =
+        new RunResult("instance", "lns", 1, Double.NaN, 80, 100, INF, 2., 1000);
+    final RunResult unknown =
+        new RunResult("instance", "lns", 1, Double.NaN, Double.NaN, 100, INF, 2., 1000);
+
+    assertEquals(0.25, bounded.getGap(), 1e-9);
+    assertTrue(Double.isNaN(unknown.getGap()));
+    assertTrue(new Report(List.of(unknown)).toJson().contains("\"optimalCost\": null"));
+  }
+
+  @Test
+  void writtenRunsCanBeReadAgain(@TempDir final Path dir) throws IOException {
+    final List<RunResult> runs = createRuns(1.5, INF);
+    final Path prefix = dir.resolve("report");
+
+    new Report(runs).write(prefix);
+    final List<RunResult> read = Report.readRuns(dir.resolve("report.csv"));
+
+    assertEquals(runs.size(), read.size());
+    for (int i = 0; i < runs.size(); ++i) {
+      assertEquals(runs.get(i).toCsv(), read.get(i).toCsv());
+    }
+    assertTrue(Files.exists(dir.resolve("report-summary.csv")));
+    assertTrue(Files.readString(dir.resolve("report.json")).contains("\"timeToTarget\": null"));
+  }
+
+  @Test
+  void compare_detectsRegression(@TempDir final Path dir) {
+    final Report baseline = new Report(createRuns(1., 2., 3.));
+    final Report faster = new Report(createRuns(0.5, 1., 1.5));
+    final Report slower = new Report(createRuns(1., INF, INF));
+
+    assertTrue(faster.compare(baseline, dir.resolve("faster")).isEmpty());
+    assertEquals(1, slower.compare(baseline, dir.resolve("slower")).size());
+    assertTrue(Files.exists(dir.resolve("slower-comparison.csv")));
+  }
+}
@@ -0,0 +1,26 @@
+package de.asbestian.lotsizing.graph;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering the computation of an initial schedule.
+ *
+ * @author Sebastian Schenker
+ */
+@Name("de.asbestian.lotsizing.InitialSchedule")
+@Label("Initial Schedule")
+@Category({"Lot Sizing", "Problem"})
+@Description("Computation of an initial schedule via a flow algorithm")
+class InitialScheduleEvent extends Event {
+
+  @Label("Kind")
+  @Description("Optimal inventory cost or random schedule")
+  String kind;
+
+  @Label("Cost")
+  double cost;
+}
@@ -8,22 +8,36 @@ import de.asbestian.lotsizing.graph.vertex.Vertex;
 import de.asbestian.lotsizing.graph.vertex.Vertex.Type;
 import de.asbestian.lotsizing.input.Input;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectRBTreeMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectSortedMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntLists;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleBiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
 import org.jgrapht.alg.flow.PushRelabelMFImpl;
 import org.jgrapht.alg.flow.mincost.CapacityScalingMinimumCostFlow;
 import org.jgrapht.alg.flow.mincost.MinimumCostFlowProblem;
@@ -65,36 +79,124 @@ public class Problem {
     }
   }
 
+  /** Maximum earliness which does not restrict the production time slots. */
+  public static final int UNBOUNDED_EARLINESS = Integer.MAX_VALUE;
+
+  /** Maximum earliness which is derived from the costs; see {@link #deriveMaxEarliness}. */
+  public static final int DERIVED_EARLINESS = -1;
+
   private static final Logger LOGGER = LoggerFactory.getLogger(Problem.class);
   private final Input input;
+  private final int maxEarliness;
+  private final boolean compressIdle;
+  private boolean[] retainedSlots;
   private final IdSupplier idSupplier;
   private final SimpleDirectedGraph<Vertex, DefaultEdge> graph;
   private final SuperSink superSink;
-  private final DemandVertex[] demandVertices;
+  private final List<DemandVertex> demandVertices; // ordered by type and due date
+  private final Map<DemandVertex, Integer> windowStarts; // earliest slot of each item
   private final Map<Pair<Integer, Integer>, DecisionVertex> decisionVertices; // Pair<Type, Slot>
   private final TimeSlotVertex[] timeSlotVertices;
 
-  @Inject
   public Problem(final Input input) {
+    this(input, UNBOUNDED_EARLINESS);
+  }
+
+  /**
+   * Constructs the problem in which each item is produced at most the given number of time slots
+   * before its due date, i.e., edges between demand vertices and decision vertices of earlier time
+   * slots are omitted. This shrinks the graph and, thus, the residual graphs and the number of
+   * their cycles considerably on long time horizons. If the instance is infeasible with respect to
+   * the maximum earliness, the time windows of some items are widened such that it is feasible.
+   *
+   * @param maxEarliness Maximum number of time slots an item is produced before its due date;
+   *     {@link #UNBOUNDED_EARLINESS} or {@link #DERIVED_EARLINESS}
+   */
+  public Problem(final Input input, final int maxEarliness) {
+    this(input, maxEarliness, false);
+  }
+
+  /**
+   * Constructs the problem with respect to the given maximum earliness (see {@link #Problem(Input,
+   * int)}) whose idle periods are possibly compressed.
+   *
+   * <p>Idle periods are compressed by omitting the decision and time slot vertices of time slots
+   * which are not needed by some optimal schedule: consider the time slots between two
+   * consecutive due dates a and b. Items produced in these time slots are due at b or later.
+   * Hence, moving them (in their order) to the latest of these time slots keeps the change over
+   * cost and does not increase the inventory cost. Thus, merely the latest n time slots before b
+   * are retained, where n is the number of items due at b or later. Time slots after the last
+   * due date are omitted as well. Time slots keep their numbers, i.e., schedules refer to the
+   * original time axis and their costs are not affected.
+   *
+   * @param compressIdle Whether to compress idle periods
+   */
+  @Inject
+  public Problem(
+      final Input input,
+      @Named("maxEarliness") final int maxEarliness,
+      @Named("compressIdle") final boolean compressIdle) {
+    if (maxEarliness < 0 && maxEarliness != DERIVED_EARLINESS) {
+      throw new IllegalArgumentException("Maximum earliness must be non-negative: " + maxEarliness);
+    }
+    final ProblemConstructionEvent event = new ProblemConstructionEvent();
+    event.begin();
     this.input = input;
+    this.maxEarliness =
+        maxEarliness == DERIVED_EARLINESS ? deriveMaxEarliness(input) : maxEarliness;
+    this.compressIdle = compressIdle;
     this.idSupplier = new IdSupplier();
     this.graph = new SimpleDirectedGraph<>(DefaultEdge.class);
     this.superSink = new SuperSink(idSupplier.get());
     this.graph.addVertex(this.superSink);
-    this.demandVertices = new DemandVertex[input.getNumProducedItems()];
+    this.demandVertices = new ArrayList<>(input.getNumProducedItems());
+    this.windowStarts = new HashMap<>();
     this.decisionVertices = new HashMap<>();
     this.timeSlotVertices = new TimeSlotVertex[input.getNumTimeSlots()];
     addVertices();
     addEdges();
+    if (event.shouldCommit()) {
+      event.numTimeSlots = input.getNumTimeSlots();
+      event.numTypes = input.getNumTypes();
+      event.numVertices = graph.vertexSet().size();
+      event.numEdges = graph.edgeSet().size();
+      event.commit();
+    }
+  }
+
+  /**
+   * Derives a maximum earliness from the costs of the given input: holding an item for one time
+   * slot costs the inventory cost whereas producing it early merely saves change overs, i.e., at
+   * most the two change overs around its production time slot. Hence, holding an item for more
+   * than twice the greatest change over cost divided by the inventory cost is hardly ever
+   * worthwhile. Note that this is a heuristic bound which is not safe: it may exclude all optimal
+   * schedules, e.g., if holding an item longer saves a change over for several items of a lot.
+   */
+  public static int deriveMaxEarliness(final Input input) {
+    if (input.getInventoryCost() <= 0) {
+      return UNBOUNDED_EARLINESS;
+    }
+    int maxChangeOverCost = 0;
+    for (int pred = 0; pred < input.getNumTypes(); ++pred) {
+      for (int succ = 0; succ < input.getNumTypes(); ++succ) {
+        maxChangeOverCost = Math.max(maxChangeOverCost, input.getChangeOverCost(pred, succ));
+      }
+    }
+    return 2 * maxChangeOverCost / input.getInventoryCost();
+  }
+
+  /** Returns the maximum number of time slots an item is produced before its due date. */
+  public int getMaxEarliness() {
+    return maxEarliness;
   }
 
   public int getNumberOfEdges() {
     return graph.edgeSet().size();
   }
 
-  /** Returns list of demand vertices in ascending Id order */
+  /** Returns list of demand vertices ordered by type and due date. */
   public List<DemandVertex> getDemandVertices() {
-    return Arrays.asList(demandVertices);
+    return Collections.unmodifiableList(demandVertices);
   }
 
   /** Returns list of decision vertices in ascending Id order */
@@ -108,13 +210,30 @@ public class Problem {
     return decisionVertices.get(Pair.of(machineType, timeSlot));
   }
 
+  /**
+   * Returns the decision vertices of the time slots in which the item of the given demand vertex
+   * may be produced, in ascending order of time slots.
+   */
+  public List<DecisionVertex> getDecisionVertices(final DemandVertex demandVertex) {
+    return graph.outgoingEdgesOf(demandVertex).stream()
+        .map(edge -> (DecisionVertex) graph.getEdgeTarget(edge))
+        .sorted(Comparator.comparingInt(DecisionVertex::getTimeSlot))
+        .collect(Collectors.toList());
+  }
+
+  /** Checks whether the item of the given demand vertex may be produced in the given time slot. */
+  public boolean canProduce(final DemandVertex demandVertex, final int timeSlot) {
+    final DecisionVertex decisionVertex = getDecisionVertex(demandVertex.getType(), timeSlot);
+    return decisionVertex != null && graph.containsEdge(demandVertex, decisionVertex);
+  }
+
   public TimeSlotVertex getTimeSlotVertex(final int timeSlot) {
     return timeSlotVertices[timeSlot];
   }
 
-  /** Returns list of time slot vertices in ascending Id order */
+  /** Returns list of time slot vertices in ascending Id order; omitted time slots are skipped. */
   public List<TimeSlotVertex> getTimeSlotVertices() {
-    return Arrays.asList(timeSlotVertices);
+    return Arrays.stream(timeSlotVertices).filter(Objects::nonNull).collect(Collectors.toList());
   }
 
   public SuperSink getSuperSink() {
@@ -153,8 +272,235 @@ public class Problem {
     return resGraph;
   }
 
+  /**
+   * Creates the schedule producing the given type in each time slot. Items of the same type are
+   * produced in the order of their due dates, which is optimal with respect to inventory cost.
+   *
+   * @param slotTypes Produced type of each time slot; idle time slots are indicated by -1
+   * @throws IllegalArgumentException if the given types do not form a feasible schedule of this
+   *     problem, e.g., if an item is produced after its due date or the demand is not met
+   */
+  public Schedule createSchedule(final int[] slotTypes) {
+    if (slotTypes.length != input.getNumTimeSlots()) {
+      throw new IllegalArgumentException(
+          "Expected " + input.getNumTimeSlots() + " time slots but got " + slotTypes.length);
+    }
+    final int numTypes = input.getNumTypes();
+    final int[] next = new int[numTypes + 1]; // next unproduced demand vertex of each type
+    for (final DemandVertex demandVertex : demandVertices) {
+      ++next[demandVertex.getType() + 1];
+    }
+    for (int type = 0; type < numTypes; ++type) {
+      next[type + 1] += next[type];
+    }
+    final int[] end = Arrays.copyOfRange(next, 1, numTypes + 1);
+    final Int2ObjectMap<DemandVertex> slot2Demand = new Int2ObjectOpenHashMap<>();
+    for (int slot = 0; slot < slotTypes.length; ++slot) {
+      final int type = slotTypes[slot];
+      if (type == -1) {
+        continue;
+      }
+      if (type < 0 || type >= numTypes) {
+        throw new IllegalArgumentException("Unknown type " + type + " in time slot " + slot);
+      }
+      if (next[type] == end[type]) {
+        throw new IllegalArgumentException(
+            "Surplus item of type " + type + " in time slot " + slot);
+      }
+      final DemandVertex demandVertex = demandVertices.get(next[type]++);
+      if (!canProduce(demandVertex, slot)) {
+        throw new IllegalArgumentException(
+            "Item of type "
+                + type
+                + " due in time slot "
+                + demandVertex.getTimeSlot()
+                + " cannot be produced in time slot "
+                + slot);
+      }
+      slot2Demand.put(slot, demandVertex);
+    }
+    for (int type = 0; type < numTypes; ++type) {
+      if (next[type] != end[type]) {
+        throw new IllegalArgumentException(
+            (end[type] - next[type]) + " items of type " + type + " are not produced");
+      }
+    }
+    return new Schedule(input, slot2Demand);
+  }
+
+  /**
+   * Adds an item of the given type due in the given time slot, e.g., a newly arrived order, and
+   * inserts it into the given schedule such that a search may continue from the returned schedule.
+   * The item is inserted via a shortest augmenting path, i.e., as few produced items as possible
+   * are moved to other time slots.
+   *
+   * <p>The given schedule needs to be a schedule of this problem; schedules computed before the
+   * modification must not be used afterwards. This problem must not be modified while searching.
+   *
+   * @param schedule Current schedule
+   * @param type Type of the new item
+   * @param dueDate Time slot in which the new item is due
+   * @return Schedule containing the new item
+   * @throws IllegalArgumentException if the item cannot be produced in time even when moving other
+   *     items; the problem is left unchanged in this case
+   */
+  public Schedule addDemand(final Schedule schedule, final int type, final int dueDate) {
+    if (type < 0 || type >= input.getNumTypes()) {
+      throw new IllegalArgumentException("Unknown type " + type);
+    }
+    if (dueDate < 0 || dueDate >= input.getNumTimeSlots()) {
+      throw new IllegalArgumentException("Due date " + dueDate + " is outside of time horizon");
+    }
+    final int firstId = idSupplier.id;
+    final var demandVertex = new DemandVertex(idSupplier.get(), type, dueDate);
+    final IntList addedSlots = compressIdle ? retainSlots(dueDate) : IntLists.EMPTY_LIST;
+    final List<DefaultEdge> addedEdges = new ArrayList<>();
+    graph.addVertex(demandVertex);
+    int earliestSlot = getEarliestSlot(dueDate);
+    addEdges(demandVertex, earliestSlot, addedEdges);
+    final Int2ObjectSortedMap<DemandVertex> production =
+        new Int2ObjectRBTreeMap<>(schedule.getSlot2Demand());
+    boolean augmented = augment(production, demandVertex);
+    if (!augmented && earliestSlot > 0) { // widen the time window of the new item
+      earliestSlot = 0;
+      addEdges(demandVertex, earliestSlot, addedEdges);
+      augmented = augment(production, demandVertex);
+    }
+    if (!augmented) { // roll back
+      graph.removeVertex(demandVertex);
+      graph.removeAllEdges(addedEdges);
+      releaseSlots(addedSlots);
+      idSupplier.id = firstId;
+      throw new IllegalArgumentException(
+          "Item of type " + type + " due in time slot " + dueDate + " cannot be produced in time");
+    }
+    // keep demand vertices ordered by type and due date
+    int index = demandVertices.size();
+    while (index > 0 && compare(demandVertices.get(index - 1), demandVertex) > 0) {
+      --index;
+    }
+    demandVertices.add(index, demandVertex);
+    windowStarts.put(demandVertex, earliestSlot);
+    return new Schedule(input, production);
+  }
+
+  /**
+   * Removes the given item, e.g., a cancelled order, and returns the given schedule without it,
+   * i.e., its time slot becomes idle. Decision and time slot vertices (and their edges) are kept.
+   *
+   * @param schedule Current schedule; see {@link #addDemand(Schedule, int, int)}
+   * @param demandVertex Demand vertex of the item to remove
+   * @return Schedule without the removed item
+   * @throws IllegalArgumentException if the demand vertex does not belong to this problem
+   */
+  public Schedule removeDemand(final Schedule schedule, final DemandVertex demandVertex) {
+    if (!graph.containsVertex(demandVertex)) {
+      throw new IllegalArgumentException("Unknown demand vertex " + demandVertex);
+    }
+    graph.removeVertex(demandVertex);
+    demandVertices.remove(demandVertex);
+    windowStarts.remove(demandVertex);
+    final Int2ObjectMap<DemandVertex> production =
+        new Int2ObjectOpenHashMap<>(schedule.getSlot2Demand());
+    production.int2ObjectEntrySet().removeIf(entry -> entry.getValue().equals(demandVertex));
+    return new Schedule(input, production);
+  }
+
+  private static int compare(final DemandVertex first, final DemandVertex second) {
+    final int byType = Integer.compare(first.getType(), second.getType());
+    return byType != 0 ? byType : Integer.compare(first.getTimeSlot(), second.getTimeSlot());
+  }
+
+  /**
+   * Assigns the given demand vertex a time slot by a breadth-first search for a free time slot:
+   * occupied time slots are released by moving their items to another time slot.
+   *
+   * @return False if there is no augmenting path
+   */
+  private boolean augment(
+      final Int2ObjectSortedMap<DemandVertex> production, final DemandVertex newDemandVertex) {
+    final Int2ObjectMap<DemandVertex> mover = new Int2ObjectOpenHashMap<>(); // slot -> new item
+    final Map<DemandVertex, Integer> origin = new HashMap<>(); // moved item -> its old slot
+    final Deque<DemandVertex> queue = new ArrayDeque<>();
+    queue.add(newDemandVertex);
+    while (!queue.isEmpty()) {
+      final DemandVertex demandVertex = queue.poll();
+      final List<Vertex> successors = Graphs.successorListOf(graph, demandVertex);
+      // time slots close to the due date are preferred as they cause less inventory cost
+      for (int i = successors.size() - 1; i >= 0; --i) {
+        final int slot = ((DecisionVertex) successors.get(i)).getTimeSlot();
+        if (mover.containsKey(slot)) {
+          continue;
+        }
+        mover.put(slot, demandVertex);
+        final DemandVertex occupant = production.get(slot);
+        if (occupant == null) {
+          for (int free = slot; ; ) {
+            final DemandVertex moved = mover.get(free);
+            production.put(free, moved);
+            if (moved == newDemandVertex) {
+              return true;
+            }
+            free = origin.get(moved);
+          }
+        }
+        if (!origin.containsKey(occupant)) {
+          origin.put(occupant, slot);
+          queue.add(occupant);
+        }
+      }
+    }
+    return false;
+  }
+
   /** Computes a schedule with minimal inventory cost. */
   public Schedule computeOptimalInventoryCostSchedule() {
+    final InitialScheduleEvent event = new InitialScheduleEvent();
+    event.begin();
+    final Schedule schedule =
+        computeMinCostSchedule(
+            (demandVertex, decisionVertex) ->
+                (double) input.getInventoryCost()
+                    * (demandVertex.getTimeSlot() - decisionVertex.getTimeSlot()));
+    commit(event, "optimal inventory cost", schedule);
+    return schedule;
+  }
+
+  /**
+   * Computes the feasible schedule which deviates least from the given (possibly infeasible)
+   * production plan, e.g., from a slightly adjusted plan of a previous day. The number of time
+   * slots in which a different type than planned is produced is minimised; ties are broken by
+   * minimal inventory cost. If the plan is feasible, the corresponding schedule is returned.
+   *
+   * @param slotTypes Planned type of each time slot; -1 indicates an idle time slot. Types of
+   *     time slots beyond the time horizon are ignored and missing time slots are considered idle.
+   */
+  public Schedule repairSchedule(final int[] slotTypes) {
+    final InitialScheduleEvent event = new InitialScheduleEvent();
+    event.begin();
+    // each deviation costs more than the inventory cost of all items together; hence, the
+    // deviation is minimised lexicographically before the inventory cost
+    final double deviationPenalty =
+        (double) input.getInventoryCost() * input.getNumTimeSlots() * demandVertices.size() + 1.;
+    final Schedule schedule =
+        computeMinCostSchedule(
+            (demandVertex, decisionVertex) -> {
+              final int slot = decisionVertex.getTimeSlot();
+              final boolean planned =
+                  slot < slotTypes.length && slotTypes[slot] == decisionVertex.getType();
+              return (planned ? 0. : deviationPenalty)
+                  + (double) input.getInventoryCost() * (demandVertex.getTimeSlot() - slot);
+            });
+    commit(event, "repaired", schedule);
+    return schedule;
+  }
+
+  /**
+   * Computes a schedule via a minimum cost flow; merely the edges between demand and decision
+   * vertices are weighted by the given cost function.
+   */
+  private Schedule computeMinCostSchedule(
+      final ToDoubleBiFunction<DemandVertex, DecisionVertex> cost) {
     final Function<DefaultEdge, Double> edgeWeights =
         edge -> {
           final boolean sourceIsDemandVertex =
@@ -162,10 +508,9 @@ public class Problem {
           final boolean targetIsDecisionVertex =
               graph.getEdgeTarget(edge).getVertexType() == Type.DECISION_VERTEX;
           if (sourceIsDemandVertex && targetIsDecisionVertex) {
-            final DemandVertex source = (DemandVertex) graph.getEdgeSource(edge);
-            final DecisionVertex target = (DecisionVertex) graph.getEdgeTarget(edge);
-            return (double) input.getInventoryCost()
-                * (source.getTimeSlot() - target.getTimeSlot());
+            return cost.applyAsDouble(
+                (DemandVertex) graph.getEdgeSource(edge),
+                (DecisionVertex) graph.getEdgeTarget(edge));
           }
           return 1.;
         };
@@ -174,7 +519,7 @@ public class Problem {
     for (final DemandVertex demandVertex : demandVertices) {
       supplies.put(demandVertex, 1);
     }
-    supplies.put(superSink, -demandVertices.length);
+    supplies.put(superSink, -demandVertices.size());
     final Function<DefaultEdge, Integer> upperArcCapacities = e -> 1;
     final MinimumCostFlowProblem<Vertex, DefaultEdge> minCostProb =
         new MinimumCostFlowProblem.MinimumCostFlowProblemImpl<>(
@@ -187,12 +532,23 @@ public class Problem {
             .filter(edge -> minCostFlow.getFlow(edge) > 0.)
             .map(edge -> Pair.of(graph.getEdgeSource(edge), graph.getEdgeTarget(edge)))
             .collect(Collectors.toUnmodifiableList());
-    assert usedEdges.size() == 3 * demandVertices.length;
+    assert usedEdges.size() == 3 * demandVertices.size();
     return new Schedule(input, usedEdges);
   }
 
+  private static void commit(
+      final InitialScheduleEvent event, final String kind, final Schedule schedule) {
+    if (event.shouldCommit()) {
+      event.kind = kind;
+      event.cost = schedule.getCost();
+      event.commit();
+    }
+  }
+
   /** Computes a random schedule based on a maximum flow computation. */
   public Schedule computeRandomSchedule() {
+    final InitialScheduleEvent event = new InitialScheduleEvent();
+    event.begin();
     final int originalNumberOfEdges = graph.edgeSet().size();
     final int originalNumberOfVertices = graph.vertexSet().size();
     // add super source and connect it to demand vertices
@@ -216,40 +572,41 @@ public class Problem {
     assert graph.edgeSet().size() == originalNumberOfEdges;
     assert graph.vertexSet().size() == originalNumberOfVertices;
 
-    if (maxFlow.getValue() != demandVertices.length) {
+    if (maxFlow.getValue() != demandVertices.size()) {
       throw new OptimisationException(
           "Computed max flow value: "
               + maxFlow.getValue()
               + "; Expected: "
-              + demandVertices.length);
+              + demandVertices.size());
     }
     final Collection<Pair<Vertex, Vertex>> usedEdges =
         graph.edgeSet().stream()
             .filter(edge -> maxFlow.getFlow(edge) > 0.)
             .map(edge -> Pair.of(graph.getEdgeSource(edge), graph.getEdgeTarget(edge)))
             .collect(Collectors.toUnmodifiableList());
-    assert usedEdges.size() == 3 * demandVertices.length;
-    return new Schedule(input, usedEdges);
+    assert usedEdges.size() == 3 * demandVertices.size();
+    final Schedule schedule = new Schedule(input, usedEdges);
+    commit(event, "random", schedule);
+    return schedule;
   }
 
   private void addDemandVertices() {
-    int counter = 0;
     for (int type = 0; type < input.getNumTypes(); ++type) {
-      final var demand = input.getDemand(type);
-      for (int slot = 0; slot < input.getNumTimeSlots(); ++slot) {
-        if (demand.get(slot) == 1) {
-          final var demandVertex = new DemandVertex(idSupplier.get(), type, slot);
-          demandVertices[counter++] = demandVertex;
-          graph.addVertex(demandVertex);
-        }
+      for (final int slot : input.getDueDates(type)) {
+        final var demandVertex = new DemandVertex(idSupplier.get(), type, slot);
+        demandVertices.add(demandVertex);
+        graph.addVertex(demandVertex);
       }
     }
-    LOGGER.debug("Number of added demand vertices: {}", counter);
+    LOGGER.debug("Number of added demand vertices: {}", demandVertices.size());
   }
 
   private void addDecisionVertices() {
     for (int type = 0; type < input.getNumTypes(); ++type) {
       for (int slot = 0; slot < input.getNumTimeSlots(); ++slot) {
+        if (!retainedSlots[slot]) {
+          continue;
+        }
         final var decisionVertex = new DecisionVertex(idSupplier.get(), type, slot);
         decisionVertices.put(Pair.of(type, slot), decisionVertex);
         graph.addVertex(decisionVertex);
@@ -260,6 +617,9 @@ public class Problem {
 
   private void addTimeSlotVertices() {
     for (int slot = 0; slot < input.getNumTimeSlots(); ++slot) {
+      if (!retainedSlots[slot]) {
+        continue;
+      }
       final var timeSlotVertex = new TimeSlotVertex(idSupplier.get(), slot);
       timeSlotVertices[slot] = timeSlotVertex;
       graph.addVertex(timeSlotVertex);
@@ -269,19 +629,182 @@ public class Problem {
 
   private void addVertices() {
     addDemandVertices();
+    retainedSlots = computeRetainedSlots(-1);
     addDecisionVertices();
     addTimeSlotVertices();
   }
 
   private void addEdgesFromDemandVerticesToDecisionVertices() {
-    for (final DemandVertex demandVertex : demandVertices) {
+    final int[] earliestSlots = computeEarliestSlots();
+    for (int i = 0; i < demandVertices.size(); ++i) {
+      final DemandVertex demandVertex = demandVertices.get(i);
       final int type = demandVertex.getType();
       final int timeSlot = demandVertex.getTimeSlot();
-      IntStream.rangeClosed(0, timeSlot)
+      windowStarts.put(demandVertex, earliestSlots[i]);
+      IntStream.rangeClosed(earliestSlots[i], timeSlot)
+          .filter(slot -> retainedSlots[slot])
           .forEach(slot -> graph.addEdge(demandVertex, decisionVertices.get(Pair.of(type, slot))));
     }
   }
 
+  private int getEarliestSlot(final int dueDate) {
+    return maxEarliness == UNBOUNDED_EARLINESS ? 0 : Math.max(0, dueDate - maxEarliness);
+  }
+
+  /**
+   * Computes the earliest production time slot of each demand vertex with respect to the maximum
+   * earliness. The time windows are checked via scheduling backwards in time: each time slot is
+   * given to the item whose window begins latest among the items due at or after it, which yields
+   * a feasible schedule whenever there is one. An item whose window begins after the time slot
+   * given to it cannot be scheduled within its window; its window is widened to this time slot.
+   */
+  private int[] computeEarliestSlots() {
+    final int[] earliestSlots = new int[demandVertices.size()];
+    if (maxEarliness == UNBOUNDED_EARLINESS) {
+      return earliestSlots;
+    }
+    final List<List<Integer>> dueItems = new ArrayList<>(input.getNumTimeSlots());
+    for (int slot = 0; slot < input.getNumTimeSlots(); ++slot) {
+      dueItems.add(new ArrayList<>());
+    }
+    for (int i = 0; i < demandVertices.size(); ++i) {
+      earliestSlots[i] = getEarliestSlot(demandVertices.get(i).getTimeSlot());
+      dueItems.get(demandVertices.get(i).getTimeSlot()).add(i);
+    }
+    final PriorityQueue<Integer> available =
+        new PriorityQueue<>(Comparator.comparingInt((Integer i) -> earliestSlots[i]).reversed());
+    int numWidened = 0;
+    for (int slot = input.getNumTimeSlots() - 1; slot >= 0; --slot) {
+      available.addAll(dueItems.get(slot));
+      if (available.isEmpty() || !retainedSlots[slot]) {
+        continue;
+      }
+      final int item = available.poll();
+      if (earliestSlots[item] > slot) {
+        earliestSlots[item] = slot;
+        ++numWidened;
+      }
+    }
+    if (numWidened > 0) {
+      LOGGER.info(
+          "Time windows of {} items are widened to respect maximum earliness {}",
+          numWidened,
+          maxEarliness);
+    }
+    return earliestSlots;
+  }
+
+  // Adds the edges of a demand vertex added after construction starting at the given time slot
+  // including the edges from its decision vertices to time slot vertices and to the super sink
+  // that do not exist yet. The latter edges are collected in the given list.
+  private void addEdges(
+      final DemandVertex demandVertex, final int earliestSlot, final List<DefaultEdge> addedEdges) {
+    for (int slot = earliestSlot; slot <= demandVertex.getTimeSlot(); ++slot) {
+      final DecisionVertex decisionVertex =
+          decisionVertices.get(Pair.of(demandVertex.getType(), slot));
+      if (decisionVertex == null) {
+        continue; // omitted time slot
+      }
+      graph.addEdge(demandVertex, decisionVertex);
+      final DefaultEdge edge = graph.addEdge(decisionVertex, timeSlotVertices[slot]);
+      if (edge != null) {
+        addedEdges.add(edge);
+        final DefaultEdge sinkEdge = graph.addEdge(timeSlotVertices[slot], superSink);
+        if (sinkEdge != null) { // null if already existing
+          addedEdges.add(sinkEdge);
+        }
+      }
+    }
+  }
+
+  /**
+   * Determines the time slots retained by the compression of idle periods; see {@link
+   * #Problem(Input, int, boolean)}. All time slots are retained if idle periods are not compressed.
+   *
+   * @param additionalDueDate Due date of an item which is not yet a demand vertex; -1 if none
+   */
+  private boolean[] computeRetainedSlots(final int additionalDueDate) {
+    final int numTimeSlots = input.getNumTimeSlots();
+    final boolean[] retained = new boolean[numTimeSlots];
+    if (!compressIdle) {
+      Arrays.fill(retained, true);
+      return retained;
+    }
+    final int[] numDueAtOrAfter = new int[numTimeSlots + 1];
+    for (final DemandVertex demandVertex : demandVertices) {
+      ++numDueAtOrAfter[demandVertex.getTimeSlot()];
+    }
+    if (additionalDueDate >= 0) {
+      ++numDueAtOrAfter[additionalDueDate];
+    }
+    int nextDueDate = -1;
+    for (int slot = numTimeSlots - 1; slot >= 0; --slot) {
+      if (numDueAtOrAfter[slot] > 0) {
+        nextDueDate = slot;
+      }
+      numDueAtOrAfter[slot] += numDueAtOrAfter[slot + 1];
+      retained[slot] = nextDueDate >= 0 && nextDueDate - slot < numDueAtOrAfter[nextDueDate];
+    }
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          "Number of retained time slots: {}",
+          IntStream.range(0, numTimeSlots).filter(slot -> retained[slot]).count());
+    }
+    return retained;
+  }
+
+  /**
+   * Adds the vertices and edges of the time slots which need to be retained additionally due to
+   * an item of the given due date added after construction. Existing items are connected to the
+   * decision vertices of these time slots with respect to their (possibly widened) time windows.
+   * Time slots retained before stay retained, e.g., after removing items, as their vertices may
+   * be used by the current schedule.
+   *
+   * @return Additionally retained time slots
+   */
+  private IntList retainSlots(final int dueDate) {
+    final boolean[] retained = computeRetainedSlots(dueDate);
+    final IntList addedSlots = new IntArrayList();
+    for (int slot = 0; slot < retained.length; ++slot) {
+      if (!retained[slot] || retainedSlots[slot]) {
+        continue;
+      }
+      retainedSlots[slot] = true;
+      addedSlots.add(slot);
+      final var timeSlotVertex = new TimeSlotVertex(idSupplier.get(), slot);
+      timeSlotVertices[slot] = timeSlotVertex;
+      graph.addVertex(timeSlotVertex);
+      for (int type = 0; type < input.getNumTypes(); ++type) {
+        final var decisionVertex = new DecisionVertex(idSupplier.get(), type, slot);
+        decisionVertices.put(Pair.of(type, slot), decisionVertex);
+        graph.addVertex(decisionVertex);
+      }
+      for (final DemandVertex demandVertex : demandVertices) {
+        if (windowStarts.get(demandVertex) <= slot && slot <= demandVertex.getTimeSlot()) {
+          final DecisionVertex decisionVertex =
+              decisionVertices.get(Pair.of(demandVertex.getType(), slot));
+          graph.addEdge(demandVertex, decisionVertex);
+          if (graph.addEdge(decisionVertex, timeSlotVertex) != null) {
+            graph.addEdge(timeSlotVertex, superSink); // null if already existing
+          }
+        }
+      }
+    }
+    return addedSlots;
+  }
+
+  // Omits the given time slots again, i.e., removes their vertices (and edges).
+  private void releaseSlots(final IntList slots) {
+    for (final int slot : slots) {
+      graph.removeVertex(timeSlotVertices[slot]);
+      timeSlotVertices[slot] = null;
+      for (int type = 0; type < input.getNumTypes(); ++type) {
+        graph.removeVertex(decisionVertices.remove(Pair.of(type, slot)));
+      }
+      retainedSlots[slot] = false;
+    }
+  }
+
   // Adds edges between decision vertices and time slot vertices. Only decision vertices with
   // positive incoming edge degree are considered.
   private void addEdgesFromDecisionVerticesToTimeSlotVertices() {
@@ -294,7 +817,7 @@ public class Problem {
   // incoming edge degree are considered.
   private void addEdgesFromTimeSlotVerticesToSuperSink() {
     Arrays.stream(timeSlotVertices)
-        .filter(vertex -> graph.inDegreeOf(vertex) > 0)
+        .filter(vertex -> vertex != null && graph.inDegreeOf(vertex) > 0)
         .forEach(vertex -> graph.addEdge(vertex, superSink));
   }
 
@@ -0,0 +1,31 @@
+package de.asbestian.lotsizing.graph;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering the construction of the problem graph.
+ *
+ * @author Sebastian Schenker
+ */
+@Name("de.asbestian.lotsizing.ProblemConstruction")
+@Label("Problem Construction")
+@Category({"Lot Sizing", "Problem"})
+@Description("Construction of the problem graph from the input")
+class ProblemConstructionEvent extends Event {
+
+  @Label("Time Slots")
+  int numTimeSlots;
+
+  @Label("Types")
+  int numTypes;
+
+  @Label("Vertices")
+  int numVertices;
+
+  @Label("Edges")
+  int numEdges;
+}
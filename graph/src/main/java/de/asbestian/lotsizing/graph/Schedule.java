@@ -9,11 +9,10 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
 import it.unimi.dsi.fastutil.ints.Int2ObjectRBTreeMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectSortedMap;
-import it.unimi.dsi.fastutil.ints.IntArrayList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.IntStream;
 import org.jgrapht.alg.util.Pair;
 
 /** @author Sebastian Schenker */
@@ -42,6 +41,16 @@ public class Schedule {
     this.inventoryCost = costs.getSecond();
   }
 
+  /**
+   * Constructor.
+   *
+   * @param input Problem input
+   * @param slot2Demand Maps each production time slot to the corresponding demand vertex
+   */
+  public Schedule(final Input input, final Int2ObjectMap<DemandVertex> slot2Demand) {
+    this(input, input.getNumTimeSlots(), new Int2ObjectRBTreeMap<>(slot2Demand));
+  }
+
   private Schedule(
       final Input input, final int length, final Int2ObjectSortedMap<DemandVertex> production) {
     this.length = length;
@@ -87,6 +96,37 @@ public class Schedule {
     return Int2ObjectMaps.unmodifiable(production);
   }
 
+  /** Returns the number of time slots in the entire schedule. */
+  public int getLength() {
+    return length;
+  }
+
+  /** Returns the produced item type of each time slot; idle time slots are indicated by -1. */
+  public int[] getSlotTypes() {
+    final int[] types = new int[length];
+    Arrays.fill(types, -1);
+    for (final var entry : production.int2ObjectEntrySet()) {
+      types[entry.getIntKey()] = entry.getValue().getType();
+    }
+    return types;
+  }
+
+  /** Returns the number of time slots in which the given schedule produces a different type. */
+  public int distance(final Schedule other) {
+    if (other.length != length) {
+      throw new IllegalArgumentException("Schedules differ in length.");
+    }
+    final int[] types = getSlotTypes();
+    final int[] otherTypes = other.getSlotTypes();
+    int distance = 0;
+    for (int slot = 0; slot < length; ++slot) {
+      if (types[slot] != otherTypes[slot]) {
+        ++distance;
+      }
+    }
+    return distance;
+  }
+
   public List<DemandVertex> getNonIdleProduction() {
     return new ArrayList<>(production.values());
   }
@@ -103,6 +143,31 @@ public class Schedule {
     return getChangeOverCost() + getInventoryCost();
   }
 
+  /**
+   * Computes the cost contribution of each produced item. The contributions are given in ascending
+   * time slot order, i.e., in the order of {@link #getNonIdleProduction()}. The contribution of an
+   * item consists of its inventory cost and half of the change over cost to its predecessor and
+   * successor, respectively. Hence, the contributions sum up to the overall cost.
+   */
+  public double[] getCostContributions(final Input input) {
+    final double[] contributions = new double[production.size()];
+    final var iter = production.int2ObjectEntrySet().iterator();
+    DemandVertex previous = null;
+    for (int i = 0; iter.hasNext(); ++i) {
+      final var entry = iter.next();
+      final DemandVertex current = entry.getValue();
+      contributions[i] += (current.getTimeSlot() - entry.getIntKey()) * input.getInventoryCost();
+      if (previous != null) {
+        final double halfChangeOverCost =
+            0.5 * input.getChangeOverCost(previous.getType(), current.getType());
+        contributions[i - 1] += halfChangeOverCost;
+        contributions[i] += halfChangeOverCost;
+      }
+      previous = current;
+    }
+    return contributions;
+  }
+
   /** Computes a new schedule based on given parameters. */
   public Schedule compute(final Cycle cycle, final Input input) {
     final Int2ObjectSortedMap<DemandVertex> prod = new Int2ObjectRBTreeMap<>(this.production);
@@ -131,13 +196,9 @@ public class Schedule {
     return production.hashCode() + 31 * length;
   }
 
+  /** Returns the produced type of each time slot, e.g., [1, 0, -1, 1]; idle slots are -1. */
   @Override
   public String toString() {
-    final List<Integer> schedule =
-        IntStream.generate(() -> -1)
-            .limit(length)
-            .collect(IntArrayList::new, IntArrayList::add, IntArrayList::addAll);
-    production.forEach((k, v) -> schedule.set(k, v.getType()));
-    return schedule.toString();
+    return Arrays.toString(getSlotTypes());
   }
 }
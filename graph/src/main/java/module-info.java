@@ -10,4 +10,5 @@ module graph {
   requires it.unimi.dsi.fastutil;
   requires javax.inject;
   requires dagger;
+  requires jdk.jfr;
 }
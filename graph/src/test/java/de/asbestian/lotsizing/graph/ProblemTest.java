@@ -1,6 +1,8 @@
 package de.asbestian.lotsizing.graph;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import de.asbestian.lotsizing.graph.vertex.DecisionVertex;
 import de.asbestian.lotsizing.graph.vertex.DemandVertex;
@@ -143,4 +145,228 @@ class ProblemTest {
     assertEquals(3, resGraph.outDegreeOf(superSink));
     assertEquals(0, resGraph.inDegreeOf(superSink));
   }
+
+  @Test
+  void createSchedule() {
+    final Input input = new FileInput("src/test/resources/Instance-4timeslots_2types.txt");
+    final Problem problem = new Problem(input);
+    final Schedule expected = problem.computeOptimalInventoryCostSchedule();
+
+    final Schedule schedule = problem.createSchedule(expected.getSlotTypes());
+
+    assertEquals(expected, schedule);
+    assertEquals(expected.getCost(), schedule.getCost());
+  }
+
+  @Test
+  void createSchedule_infeasible() {
+    final Input input = new FileInput("src/test/resources/Instance-3timeslots_3types.txt");
+    final Problem problem = new Problem(input);
+
+    assertThrows(IllegalArgumentException.class, () -> problem.createSchedule(new int[] {1, 0}));
+    assertThrows(
+        IllegalArgumentException.class, () -> problem.createSchedule(new int[] {0, 1, 2}));
+    assertThrows(
+        IllegalArgumentException.class, () -> problem.createSchedule(new int[] {1, -1, 2}));
+    assertThrows(
+        IllegalArgumentException.class, () -> problem.createSchedule(new int[] {1, 0, 3}));
+  }
+
+  @Test
+  void repairSchedule_feasiblePlanIsKept() {
+    final Input input = new FileInput("src/test/resources/Instance-4timeslots_2types.txt");
+    final Problem problem = new Problem(input);
+    final int[] plan = problem.computeRandomSchedule().getSlotTypes();
+
+    final Schedule schedule = problem.repairSchedule(plan);
+
+    assertArrayEquals(plan, schedule.getSlotTypes());
+  }
+
+  @Test
+  void repairSchedule_infeasiblePlan() {
+    final Input input = new FileInput("src/test/resources/Instance-3timeslots_3types.txt");
+    final Problem problem = new Problem(input);
+
+    assertEquals("[1, 0, 2]", problem.repairSchedule(new int[] {0, 1, 2}).toString());
+    assertEquals("[1, 0, 2]", problem.repairSchedule(new int[] {1, -1}).toString());
+    assertEquals("[1, 0, 2]", problem.repairSchedule(new int[] {7, 7, 7, 7}).toString());
+  }
+
+  @Test
+  void repairSchedule_minimalDeviation() {
+    final Input input = new FileInput("src/test/resources/Instance-4timeslots_2types.txt");
+    final Problem problem = new Problem(input);
+
+    // type 1 is due in time slot 0 and type 0 in time slot 1; the last item of type 1 is produced
+    // in time slot 2 as planned instead of in time slot 3 with less inventory cost
+    final Schedule schedule = problem.repairSchedule(new int[] {0, 1, 1, 0});
+
+    assertEquals("[1, 0, 1, -1]", schedule.toString());
+  }
+
+  @Test
+  void addDemand() {
+    final Input input = new FileInput("src/test/resources/Instance-4timeslots_2types.txt");
+    final Problem problem = new Problem(input);
+    final Schedule schedule = problem.computeOptimalInventoryCostSchedule();
+    assertEquals("[1, 0, -1, 1]", schedule.toString());
+
+    final Schedule extended = problem.addDemand(schedule, 0, 3);
+
+    assertEquals("[1, 0, 0, 1]", extended.toString());
+    assertEquals(4, problem.getDemandVertices().size());
+    assertEquals(3 * 4, problem.getUsedGraphEdges(extended).size());
+    assertEquals(extended, problem.createSchedule(extended.getSlotTypes()));
+    // time slots 0 and 1 are occupied by items due in these time slots
+    assertThrows(IllegalArgumentException.class, () -> problem.addDemand(extended, 0, 1));
+    assertEquals(4, problem.getDemandVertices().size());
+  }
+
+  @Test
+  void addDemand_movesItems() {
+    final Input input = new FileInput("src/test/resources/Instance-4timeslots_2types.txt");
+    final Problem problem = new Problem(input);
+    final Schedule schedule = problem.createSchedule(new int[] {1, 0, 1, -1});
+
+    // the new item is due in time slot 2 which is occupied by an item that can be moved
+    final Schedule extended = problem.addDemand(schedule, 0, 2);
+
+    assertEquals("[1, 0, 0, 1]", extended.toString());
+  }
+
+  @Test
+  void removeDemand() {
+    final Input input = new FileInput("src/test/resources/Instance-4timeslots_2types.txt");
+    final Problem problem = new Problem(input);
+    final Schedule schedule = problem.computeOptimalInventoryCostSchedule();
+    final DemandVertex first = problem.getDemandVertices().get(1); // type 1 due in time slot 0
+
+    final Schedule reduced = problem.removeDemand(schedule, first);
+
+    assertEquals("[-1, 0, -1, 1]", reduced.toString());
+    assertEquals(2, problem.getDemandVertices().size());
+    assertThrows(IllegalArgumentException.class, () -> problem.removeDemand(reduced, first));
+    assertEquals("[0, 0, -1, 1]", problem.addDemand(reduced, 0, 1).toString());
+  }
+
+  @Test
+  void maxEarliness_edgesOmitted() {
+    final Input input = new FileInput("src/test/resources/Instance-4timeslots_2types.txt");
+
+    final Problem problem = new Problem(input, 0);
+
+    assertEquals(9, problem.getNumberOfEdges());
+    assertEquals("[1, 0, -1, 1]", problem.computeOptimalInventoryCostSchedule().toString());
+    assertThrows(
+        IllegalArgumentException.class, () -> problem.createSchedule(new int[] {1, 0, 1, -1}));
+  }
+
+  @Test
+  void maxEarliness_infeasibleWindowsWidened() {
+    final Input input =
+        new FileInput("src/test/resources/Instance-3timeslots_2types_sameDueDate.txt");
+
+    final Problem problem = new Problem(input, 0);
+    final Schedule schedule = problem.computeOptimalInventoryCostSchedule();
+
+    assertEquals(1, schedule.getInventoryCost());
+    assertEquals(-1, schedule.getSlotTypes()[0]);
+  }
+
+  @Test
+  void maxEarliness_derivedFromCosts() {
+    final Input input = new FileInput("src/test/resources/Instance-4timeslots_2types.txt");
+
+    final Problem problem = new Problem(input, Problem.DERIVED_EARLINESS);
+
+    // twice the greatest change over cost (4) divided by the inventory cost (2)
+    assertEquals(4, problem.getMaxEarliness());
+    assertThrows(IllegalArgumentException.class, () -> new Problem(input, -2));
+  }
+
+  @Test
+  void addDemand_maxEarlinessWidened() {
+    final Input input = new FileInput("src/test/resources/Instance-4timeslots_2types.txt");
+    final Problem problem = new Problem(input, 0);
+    final Schedule schedule = problem.computeOptimalInventoryCostSchedule();
+
+    // time slot 3 is occupied by an item which cannot be moved due to the maximum earliness
+    final Schedule extended = problem.addDemand(schedule, 0, 3);
+
+    assertEquals("[1, 0, 0, 1]", extended.toString());
+  }
+
+  @Test
+  void compressIdle_idleTimeSlotOmitted() {
+    final Input input = new FileInput("src/test/resources/Instance-4timeslots_2types.txt");
+    final Problem expected = new Problem(input);
+
+    // time slot 2 is omitted: merely the item due in time slot 3 may be produced in it
+    final Problem problem = new Problem(input, Problem.UNBOUNDED_EARLINESS, true);
+
+    assertEquals(3, problem.getTimeSlotVertices().size());
+    assertEquals(6, problem.getDecisionVertices().size());
+    assertEquals(
+        expected.computeOptimalInventoryCostSchedule(),
+        problem.computeOptimalInventoryCostSchedule());
+    assertThrows(
+        IllegalArgumentException.class, () -> problem.createSchedule(new int[] {1, 0, 1, -1}));
+  }
+
+  @Test
+  void addDemand_compressIdle() {
+    final Input input = new FileInput("src/test/resources/Instance-4timeslots_2types.txt");
+    final Problem problem = new Problem(input, Problem.UNBOUNDED_EARLINESS, true);
+    final Schedule schedule = problem.computeOptimalInventoryCostSchedule();
+
+    // the new item requires time slot 2 which is retained afterwards
+    final Schedule extended = problem.addDemand(schedule, 0, 3);
+
+    assertEquals("[1, 0, 0, 1]", extended.toString());
+    assertEquals(4, problem.getTimeSlotVertices().size());
+  }
+
+  @Test
+  void removeAndAddDemand_compressIdle() {
+    final Input input = new FileInput("src/test/resources/Instance-4timeslots_2types.txt");
+    final Problem problem = new Problem(input, Problem.UNBOUNDED_EARLINESS, true);
+    final Schedule schedule = problem.computeOptimalInventoryCostSchedule();
+    final DemandVertex last = problem.getDemandVertices().get(2); // type 1 due in time slot 3
+
+    // time slot 3 stays retained although no item is due in it for a while
+    final Schedule reduced = problem.removeDemand(schedule, last);
+    final Schedule first = problem.addDemand(reduced, 0, 2);
+    final Schedule second = problem.addDemand(first, 1, 3);
+
+    final long numTimeSlotVertices =
+        problem.getResidualGraph(second).vertexSet().stream()
+            .filter(vertex -> vertex instanceof TimeSlotVertex)
+            .count();
+    assertEquals(4, numTimeSlotVertices);
+    assertEquals(4, problem.getTimeSlotVertices().size());
+    assertEquals("[1, 0, 0, 1]", second.toString());
+    assertEquals(second, problem.createSchedule(new int[] {1, 0, 0, 1}));
+  }
+
+  @Test
+  void addDemand_failureLeavesProblemUnchanged() {
+    final Input input = new FileInput("src/test/resources/Instance-4timeslots_2types.txt");
+    final Problem problem = new Problem(input, 0);
+    final Schedule schedule = problem.computeOptimalInventoryCostSchedule();
+    final int numEdges = problem.getNumberOfEdges();
+
+    // time slot 0 is occupied by an item which must not be produced earlier or later
+    assertThrows(IllegalArgumentException.class, () -> problem.addDemand(schedule, 0, 0));
+
+    assertEquals(numEdges, problem.getNumberOfEdges());
+    assertEquals(3, problem.getDemandVertices().size());
+    final Problem expected = new Problem(input, 0);
+    expected.addDemand(expected.computeOptimalInventoryCostSchedule(), 0, 2);
+    final Schedule extended = problem.addDemand(schedule, 0, 2);
+    assertEquals("[1, 0, 0, 1]", extended.toString());
+    assertEquals(expected.getNumberOfEdges(), problem.getNumberOfEdges());
+    assertEquals(
+        expected.getDemandVertices().get(1).getId(), problem.getDemandVertices().get(1).getId());
+  }
 }
@@ -1,5 +1,6 @@
 package de.asbestian.lotsizing.graph;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import de.asbestian.lotsizing.graph.vertex.DecisionVertex;
@@ -96,6 +97,23 @@ class ScheduleTest {
     assertEquals(expectedInventoryCost + expectedChangerOverCost, schedule.getCost());
   }
 
+  @Test
+  void getCostContributions() {
+    final String path =
+        "src/test/resources/Instance-4timeslots_2types.txt"; // instance has two feasible solutions
+    assert Files.exists(Paths.get(path));
+    final Input input = new FileInput(path);
+    final Problem problem = new Problem(input);
+    final Schedule schedule = problem.computeRandomSchedule();
+    assertEquals("[1, 0, 1, -1]", schedule.toString());
+    final double[] expectedContributions = {4. / 2, 4. / 2 + 3. / 2, 3. / 2 + 2};
+
+    final double[] contributions = schedule.getCostContributions(input);
+
+    assertArrayEquals(expectedContributions, contributions);
+    assertEquals(schedule.getCost(), Arrays.stream(contributions).sum());
+  }
+
   @Test
   void equals() {
     final String path =
@@ -0,0 +1,105 @@
+package de.asbestian.lotsizing.input;
+
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Input held in memory, e.g., a generated one. The demand is given by the due dates of each type.
+ *
+ * @author Sebastian Schenker
+ */
+class ArrayInput implements Input {
+
+  private final int numTimeSlots;
+  private final int numTypes;
+  private final int inventoryCost;
+  private final int[][] dueDates;
+  private final int[] changeOverCost; // row-major: predecessor type x successor type
+  private final DemandIndex demandIndex;
+
+  /**
+   * Constructor.
+   *
+   * @param numTimeSlots Number of time slots
+   * @param inventoryCost Inventory cost per item and time slot
+   * @param dueDates Ascending due dates of each type
+   * @param changeOverCost Change over costs in row-major order
+   */
+  ArrayInput(
+      final int numTimeSlots,
+      final int inventoryCost,
+      final int[][] dueDates,
+      final int[] changeOverCost) {
+    this.numTimeSlots = numTimeSlots;
+    this.numTypes = dueDates.length;
+    this.inventoryCost = inventoryCost;
+    this.dueDates = dueDates;
+    this.changeOverCost = changeOverCost;
+    this.demandIndex = new DemandIndex(numTimeSlots, dueDates);
+  }
+
+  @Override
+  public int getNumTimeSlots() {
+    return numTimeSlots;
+  }
+
+  @Override
+  public int getNumTypes() {
+    return numTypes;
+  }
+
+  @Override
+  public int getInventoryCost() {
+    return inventoryCost;
+  }
+
+  @Override
+  public int getOverallDemandPerType(final int type) {
+    return demandIndex.getDueDates(type).size();
+  }
+
+  @Override
+  public int getNumProducedItems() {
+    return demandIndex.getItems().size();
+  }
+
+  @Override
+  public List<Integer> getDemand(final int type) {
+    return new AbstractList<>() {
+      @Override
+      public Integer get(final int slot) {
+        return getDemand(type, slot);
+      }
+
+      @Override
+      public int size() {
+        return numTimeSlots;
+      }
+    };
+  }
+
+  @Override
+  public int getDemand(final int type, final int slot) {
+    if (slot < 0 || slot >= numTimeSlots) {
+      throw new IndexOutOfBoundsException("Time slot " + slot);
+    }
+    return Arrays.binarySearch(dueDates[type], slot) >= 0 ? 1 : 0;
+  }
+
+  @Override
+  public IntList getDueDates(final int type) {
+    return demandIndex.getDueDates(type);
+  }
+
+  @Override
+  public List<Item> getItems() {
+    return demandIndex.getItems();
+  }
+
+  @Override
+  public int getChangeOverCost(final int predType, final int succType) {
+    return changeOverCost[predType * numTypes + succType];
+  }
+}
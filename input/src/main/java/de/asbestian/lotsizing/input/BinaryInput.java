@@ -0,0 +1,306 @@
+package de.asbestian.lotsizing.input;
+
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.OptionalInt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Input given in the compact binary format. All values are stored little-endian:
+ *
+ * <pre>
+ *   bytes  0-3   magic "LSIB"
+ *   bytes  4-7   format version (currently 1)
+ *   bytes  8-11  flags (bit 0: known optimal cost is given, bit 1: known cost bounds are given)
+ *   bytes 12-15  number of time slots
+ *   bytes 16-19  number of types
+ *   bytes 20-23  inventory cost
+ *   bytes 24-27  known optimal cost or lower bound on it (0 if not given)
+ *   bytes 28-31  known upper bound on the optimal cost (0 if not given)
+ *   demand       one row of ceil(time slots / 64) longs per type; bit (slot % 64) of long
+ *                (slot / 64) is set iff an item of the type is due in the time slot
+ *   changeover   number of types x number of types ints in row-major order, i.e., the change over
+ *                cost from predecessor to successor type
+ * </pre>
+ *
+ * The demand and the change over costs are read directly from the underlying (usually
+ * memory-mapped) buffer; merely the overall demand per type and the due date index are computed
+ * when loading.
+ *
+ * @author Sebastian Schenker
+ */
+public class BinaryInput implements Input {
+
+  static final int VERSION = 1;
+  static final byte[] MAGIC = {'L', 'S', 'I', 'B'};
+  private static final Logger LOGGER = LoggerFactory.getLogger(Input.class);
+  private static final int HEADER_SIZE = 32;
+  private static final int FLAG_OPTIMAL_COST = 1;
+  private static final int FLAG_BOUNDS = 2;
+
+  private final ByteBuffer buffer;
+  private final int numTimeSlots;
+  private final int numTypes;
+  private final int inventoryCost;
+  private final OptionalInt lowerBound;
+  private final OptionalInt upperBound;
+  private final int wordsPerRow;
+  private final int changeOverOffset;
+  private final int[] overallDemandPerType;
+  private final int numProducedItems;
+  private final DemandIndex demandIndex;
+
+  /**
+   * Constructor.
+   *
+   * @param buffer Buffer containing an instance in binary format starting at its current position
+   * @param source Name of the buffer's source used in error messages
+   */
+  public BinaryInput(final ByteBuffer buffer, final String source) {
+    this.buffer = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+    if (!isBinary(this.buffer)) {
+      throw new InputException("Not a binary instance: " + source);
+    }
+    if (this.buffer.remaining() < HEADER_SIZE) {
+      throw new InputException("Incomplete header in " + source);
+    }
+    final int version = this.buffer.getInt(4);
+    if (version != VERSION) {
+      throw new InputException("Unsupported format version " + version + " of " + source);
+    }
+    final int flags = this.buffer.getInt(8);
+    numTimeSlots = this.buffer.getInt(12);
+    LOGGER.info("Number of time slots: {}", numTimeSlots);
+    numTypes = this.buffer.getInt(16);
+    LOGGER.info("Number of types: {}", numTypes);
+    if (numTimeSlots < 0 || numTypes < 0) {
+      throw new InputException("Negative number of time slots or types in " + source);
+    }
+    inventoryCost = this.buffer.getInt(20);
+    LOGGER.info("Inventory cost: {}", inventoryCost);
+    if ((flags & FLAG_OPTIMAL_COST) != 0) {
+      lowerBound = OptionalInt.of(this.buffer.getInt(24));
+      upperBound = lowerBound;
+    } else if ((flags & FLAG_BOUNDS) != 0) {
+      lowerBound = OptionalInt.of(this.buffer.getInt(24));
+      upperBound = OptionalInt.of(this.buffer.getInt(28));
+    } else {
+      lowerBound = OptionalInt.empty();
+      upperBound = OptionalInt.empty();
+    }
+    wordsPerRow = getWordsPerRow(numTimeSlots);
+    final long size = getSize(numTimeSlots, numTypes);
+    if (this.buffer.remaining() != size) {
+      throw new InputException(
+          String.format(
+              "Expected %d bytes but found %d in %s", size, this.buffer.remaining(), source));
+    }
+    changeOverOffset = HEADER_SIZE + Long.BYTES * wordsPerRow * numTypes;
+    overallDemandPerType = new int[numTypes];
+    final int[][] dueDates = new int[numTypes][];
+    int numItems = 0;
+    for (int type = 0; type < numTypes; ++type) {
+      for (int word = 0; word < wordsPerRow; ++word) {
+        overallDemandPerType[type] += Long.bitCount(getWord(type, word));
+      }
+      if ((numTimeSlots & 63) != 0 && getWord(type, wordsPerRow - 1) >>> numTimeSlots != 0) {
+        throw new InputException("Demand of type " + type + " exceeds time horizon in " + source);
+      }
+      dueDates[type] = new int[overallDemandPerType[type]];
+      int index = 0;
+      for (int word = 0; word < wordsPerRow; ++word) {
+        for (long bits = getWord(type, word); bits != 0; bits &= bits - 1) {
+          dueDates[type][index++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+        }
+      }
+      numItems += overallDemandPerType[type];
+    }
+    numProducedItems = numItems;
+    demandIndex = new DemandIndex(numTimeSlots, dueDates);
+    if (getOptimalCost().isPresent()) {
+      LOGGER.info("Optimal cost: {}", getOptimalCost().getAsInt());
+    } else if (lowerBound.isPresent()) {
+      LOGGER.info("Cost bounds: [{}, {}]", lowerBound.getAsInt(), upperBound.getAsInt());
+    }
+  }
+
+  /**
+   * Reads the binary instance from the given file via memory-mapping.
+   *
+   * @param file the path to the input file
+   */
+  public static BinaryInput read(final Path file) {
+    return new BinaryInput(Inputs.map(file), file.toString());
+  }
+
+  /** Returns true if the remaining content of the given buffer starts with the binary magic. */
+  static boolean isBinary(final ByteBuffer buffer) {
+    if (buffer.remaining() < MAGIC.length) {
+      return false;
+    }
+    for (int i = 0; i < MAGIC.length; ++i) {
+      if (buffer.get(buffer.position() + i) != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Writes the given input in binary format to the given file. */
+  public static void write(final Input input, final Path file) throws IOException {
+    final int numTimeSlots = input.getNumTimeSlots();
+    final int numTypes = input.getNumTypes();
+    final long size = getSize(numTimeSlots, numTypes);
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Instance too large for binary format: " + size);
+    }
+    final ByteBuffer out = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+    final OptionalInt optimalCost = input.getOptimalCost();
+    final boolean hasBounds =
+        optimalCost.isEmpty()
+            && input.getLowerBound().isPresent()
+            && input.getUpperBound().isPresent();
+    out.put(MAGIC)
+        .putInt(VERSION)
+        .putInt(optimalCost.isPresent() ? FLAG_OPTIMAL_COST : hasBounds ? FLAG_BOUNDS : 0)
+        .putInt(numTimeSlots)
+        .putInt(numTypes)
+        .putInt(input.getInventoryCost())
+        .putInt(hasBounds ? input.getLowerBound().getAsInt() : optimalCost.orElse(0))
+        .putInt(hasBounds ? input.getUpperBound().getAsInt() : 0);
+    final int wordsPerRow = getWordsPerRow(numTimeSlots);
+    for (int type = 0; type < numTypes; ++type) {
+      final long[] words = new long[wordsPerRow];
+      for (int slot = 0; slot < numTimeSlots; ++slot) {
+        if (input.getDemand(type, slot) == 1) {
+          words[slot >>> 6] |= 1L << (slot & 63);
+        }
+      }
+      for (final long word : words) {
+        out.putLong(word);
+      }
+    }
+    for (int pred = 0; pred < numTypes; ++pred) {
+      for (int succ = 0; succ < numTypes; ++succ) {
+        out.putInt(input.getChangeOverCost(pred, succ));
+      }
+    }
+    out.flip();
+    try (final FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (out.hasRemaining()) {
+        channel.write(out);
+      }
+    }
+  }
+
+  private static int getWordsPerRow(final int numTimeSlots) {
+    return (numTimeSlots + 63) >>> 6;
+  }
+
+  private static long getSize(final int numTimeSlots, final int numTypes) {
+    return HEADER_SIZE
+        + (long) Long.BYTES * getWordsPerRow(numTimeSlots) * numTypes
+        + (long) Integer.BYTES * numTypes * numTypes;
+  }
+
+  private long getWord(final int type, final int word) {
+    return buffer.getLong(HEADER_SIZE + Long.BYTES * (type * wordsPerRow + word));
+  }
+
+  @Override
+  public int getNumTimeSlots() {
+    return numTimeSlots;
+  }
+
+  @Override
+  public int getNumTypes() {
+    return numTypes;
+  }
+
+  @Override
+  public int getInventoryCost() {
+    return inventoryCost;
+  }
+
+  @Override
+  public int getOverallDemandPerType(final int type) {
+    return overallDemandPerType[type];
+  }
+
+  @Override
+  public int getNumProducedItems() {
+    return numProducedItems;
+  }
+
+  @Override
+  public List<Integer> getDemand(final int type) {
+    return new AbstractList<>() {
+      @Override
+      public Integer get(final int slot) {
+        return getDemand(type, slot);
+      }
+
+      @Override
+      public int size() {
+        return numTimeSlots;
+      }
+    };
+  }
+
+  @Override
+  public int getDemand(final int type, final int slot) {
+    if (type < 0 || type >= numTypes) {
+      throw new IndexOutOfBoundsException("Type " + type);
+    }
+    if (slot < 0 || slot >= numTimeSlots) {
+      throw new IndexOutOfBoundsException("Time slot " + slot);
+    }
+    return (int) (getWord(type, slot >>> 6) >>> (slot & 63)) & 1;
+  }
+
+  @Override
+  public IntList getDueDates(final int type) {
+    return demandIndex.getDueDates(type);
+  }
+
+  @Override
+  public List<Item> getItems() {
+    return demandIndex.getItems();
+  }
+
+  @Override
+  public int getChangeOverCost(final int predType, final int succType) {
+    if (predType < 0 || predType >= numTypes || succType < 0 || succType >= numTypes) {
+      throw new IndexOutOfBoundsException("Types " + predType + ", " + succType);
+    }
+    return buffer.getInt(changeOverOffset + Integer.BYTES * (predType * numTypes + succType));
+  }
+
+  @Override
+  public OptionalInt getOptimalCost() {
+    return lowerBound.equals(upperBound) ? lowerBound : OptionalInt.empty();
+  }
+
+  @Override
+  public OptionalInt getLowerBound() {
+    return lowerBound;
+  }
+
+  @Override
+  public OptionalInt getUpperBound() {
+    return upperBound;
+  }
+}
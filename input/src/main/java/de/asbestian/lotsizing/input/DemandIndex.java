@@ -0,0 +1,71 @@
+package de.asbestian.lotsizing.input;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntLists;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index of the demand which is built once when loading an input: the sorted due dates of each type
+ * and all items ordered by due date. Its size is linear in the number of items (and time slots).
+ *
+ * @author Sebastian Schenker
+ */
+class DemandIndex {
+
+  private final IntList[] dueDates;
+  private final List<Item> items;
+
+  /**
+   * Constructor.
+   *
+   * @param numTimeSlots Number of time slots
+   * @param dueDates Ascending due dates of each type; taken over without copying
+   */
+  DemandIndex(final int numTimeSlots, final int[][] dueDates) {
+    this.dueDates = new IntList[dueDates.length];
+    // counting sort by due date; ties are ordered by type as types are considered in order
+    final int[] start = new int[numTimeSlots + 1];
+    for (int type = 0; type < dueDates.length; ++type) {
+      this.dueDates[type] = IntLists.unmodifiable(IntArrayList.wrap(dueDates[type]));
+      for (final int dueDate : dueDates[type]) {
+        ++start[dueDate + 1];
+      }
+    }
+    for (int slot = 0; slot < numTimeSlots; ++slot) {
+      start[slot + 1] += start[slot];
+    }
+    final Item[] sorted = new Item[start[numTimeSlots]];
+    for (int type = 0; type < dueDates.length; ++type) {
+      for (final int dueDate : dueDates[type]) {
+        sorted[start[dueDate]++] = new Item(type, dueDate);
+      }
+    }
+    this.items = List.of(sorted);
+  }
+
+  /** Creates the index of the given input by inspecting each time slot of each type. */
+  static DemandIndex of(final Input input) {
+    final int[][] dueDates = new int[input.getNumTypes()][];
+    for (int type = 0; type < dueDates.length; ++type) {
+      final int[] typeDueDates = new int[input.getNumTimeSlots()];
+      int numDueDates = 0;
+      for (int slot = 0; slot < input.getNumTimeSlots(); ++slot) {
+        if (input.getDemand(type, slot) == 1) {
+          typeDueDates[numDueDates++] = slot;
+        }
+      }
+      dueDates[type] = Arrays.copyOf(typeDueDates, numDueDates);
+    }
+    return new DemandIndex(input.getNumTimeSlots(), dueDates);
+  }
+
+  IntList getDueDates(final int type) {
+    return dueDates[type];
+  }
+
+  List<Item> getItems() {
+    return items;
+  }
+}
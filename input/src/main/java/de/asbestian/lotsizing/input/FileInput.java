@@ -1,13 +1,19 @@
 package de.asbestian.lotsizing.input;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.BitSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.OptionalInt;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
@@ -24,20 +30,33 @@ import org.slf4j.LoggerFactory;
  *   2  // inventory cost
  *   0 5  // changeover cost from first type to second type
  *   3 0  // changeover cost from second type to first type
+ *   13  // optional: known optimal cost or known lower and upper bound on it, e.g., 12 14
  * </pre>
  *
+ * If neither the optimal cost nor bounds on it are given in the file, the optimal cost is taken
+ * from a file name containing {@code optcost_<cost>}.
+ *
+ * <p>The file is memory-mapped (or streamed, see {@link Inputs}) and tokenised directly into
+ * primitive arrays: the demand of each type is kept as bit set (and indexed by due date) and the
+ * change over costs as flat row-major array.
+ *
  * @author Sebastian Schenker
  */
 @Singleton
 public class FileInput implements Input {
   private static final Logger LOGGER = LoggerFactory.getLogger(Input.class);
+  private static final Pattern OPT_COST_FILE_NAME = Pattern.compile("optcost_(\\d+)");
 
   private final int numTimeSlots;
   private final int numTypes;
   private final int inventoryCost;
-  private final ArrayList<ArrayList<Integer>> demand;
-  private final ArrayList<ArrayList<Integer>> changeover_cost;
-  private final ArrayList<Integer> overallDemandPerType;
+  private final BitSet[] demand;
+  private final int[] changeOverCost; // row-major: predecessor type x successor type
+  private final int[] overallDemandPerType;
+  private final int numProducedItems;
+  private final DemandIndex demandIndex;
+  private final OptionalInt lowerBound;
+  private final OptionalInt upperBound;
 
   /**
    * Constructor
@@ -46,50 +65,108 @@ public class FileInput implements Input {
    */
   @Inject
   public FileInput(final String file) {
-    demand = new ArrayList<>();
-    changeover_cost = new ArrayList<>();
-    final ArrayDeque<String> input = new ArrayDeque<>();
-    try (final BufferedReader bf = new BufferedReader(new FileReader(file))) {
-      bf.lines().filter(line -> !line.isBlank()).forEachOrdered(input::addLast);
-    } catch (final Exception e) {
-      e.printStackTrace();
-    }
-    numTimeSlots = readSingleValueLine(input.removeFirst());
+    this(new IntTokenizer(Inputs.map(Paths.get(file)), file), file);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param tokenizer Tokenizer providing an instance in text format
+   * @param file Name of the tokenised source; used in error messages and for the optimal cost
+   */
+  FileInput(final IntTokenizer tokenizer, final String file) {
+    numTimeSlots = tokenizer.nextInt();
     LOGGER.info("Number of time slots: {}", numTimeSlots);
-    numTypes = readSingleValueLine(input.removeFirst());
+    numTypes = tokenizer.nextInt();
     LOGGER.info("Number of types: {}", numTypes);
+    if (numTimeSlots < 0 || numTypes < 0) {
+      throw new InputException("Negative number of time slots or types in " + file);
+    }
+    demand = new BitSet[numTypes];
+    overallDemandPerType = new int[numTypes];
+    int numItems = 0;
     for (int type = 0; type < numTypes; ++type) {
-      final ArrayList<Integer> type_demand = readMultipleValueLine(input.removeFirst());
-      assert type_demand.size() == numTimeSlots;
-      demand.add(type_demand);
+      demand[type] = new BitSet(numTimeSlots);
+      for (int slot = 0; slot < numTimeSlots; ++slot) {
+        final int value = tokenizer.nextInt();
+        if (value == 1) {
+          demand[type].set(slot);
+        } else if (value != 0) {
+          throw new InputException(
+              String.format(
+                  "Demand of type %d in time slot %d is not 0/1 in %s", type, slot, file));
+        }
+      }
+      overallDemandPerType[type] = demand[type].cardinality();
+      numItems += overallDemandPerType[type];
     }
-    inventoryCost = readSingleValueLine(input.removeFirst());
-    LOGGER.info("Inventory cost: {}", inventoryCost);
+    numProducedItems = numItems;
+    final int[][] dueDates = new int[numTypes][];
     for (int type = 0; type < numTypes; ++type) {
-      final ArrayList<Integer> cost = readMultipleValueLine(input.removeFirst());
-      assert cost.size() == numTypes;
-      changeover_cost.add(cost);
+      dueDates[type] = demand[type].stream().toArray();
+    }
+    demandIndex = new DemandIndex(numTimeSlots, dueDates);
+    inventoryCost = tokenizer.nextInt();
+    LOGGER.info("Inventory cost: {}", inventoryCost);
+    changeOverCost = new int[numTypes * numTypes];
+    for (int i = 0; i < changeOverCost.length; ++i) {
+      changeOverCost[i] = tokenizer.nextInt();
+    }
+    LOGGER.info("Overall demand per type: {}", Arrays.toString(overallDemandPerType));
+    lowerBound =
+        tokenizer.hasNext()
+            ? OptionalInt.of(tokenizer.nextInt())
+            : readOptimalCostFromFileName(file);
+    upperBound = tokenizer.hasNext() ? OptionalInt.of(tokenizer.nextInt()) : lowerBound;
+    if (lowerBound.isPresent() && lowerBound.getAsInt() > upperBound.getAsInt()) {
+      throw new InputException("Lower bound exceeds upper bound in " + file);
+    }
+    if (getOptimalCost().isPresent()) {
+      LOGGER.info("Optimal cost: {}", getOptimalCost().getAsInt());
+    } else if (lowerBound.isPresent()) {
+      LOGGER.info("Cost bounds: [{}, {}]", lowerBound.getAsInt(), upperBound.getAsInt());
+    }
+    if (tokenizer.hasNext()) {
+      LOGGER.warn("Ignoring trailing content of {}", file);
     }
-    overallDemandPerType = computeNumProducedTypeItems();
-    LOGGER.info("Overall demand per type: {}", overallDemandPerType);
-  }
-
-  private ArrayList<Integer> computeNumProducedTypeItems() {
-    return demand.stream()
-        .mapToInt(a -> a.stream().mapToInt(i -> i).sum())
-        .boxed()
-        .collect(Collectors.toCollection(ArrayList::new));
   }
 
-  private static int readSingleValueLine(final String line) {
-    return Integer.parseInt(line);
+  /** Writes the given input in text format to the given file. */
+  public static void write(final Input input, final Path file) throws IOException {
+    try (final BufferedWriter writer = Files.newBufferedWriter(file)) {
+      writer.write(input.getNumTimeSlots() + "\n");
+      writer.write(input.getNumTypes() + "\n");
+      final StringBuilder row = new StringBuilder(2 * input.getNumTimeSlots());
+      for (int type = 0; type < input.getNumTypes(); ++type) {
+        row.setLength(0);
+        for (int slot = 0; slot < input.getNumTimeSlots(); ++slot) {
+          row.append(slot == 0 ? "" : " ").append(input.getDemand(type, slot));
+        }
+        writer.write(row.append('\n').toString());
+      }
+      writer.write(input.getInventoryCost() + "\n");
+      for (int pred = 0; pred < input.getNumTypes(); ++pred) {
+        row.setLength(0);
+        for (int succ = 0; succ < input.getNumTypes(); ++succ) {
+          row.append(succ == 0 ? "" : " ").append(input.getChangeOverCost(pred, succ));
+        }
+        writer.write(row.append('\n').toString());
+      }
+      if (input.getOptimalCost().isPresent()) {
+        writer.write(input.getOptimalCost().getAsInt() + "\n");
+      } else if (input.getLowerBound().isPresent() && input.getUpperBound().isPresent()) {
+        writer.write(
+            input.getLowerBound().getAsInt() + " " + input.getUpperBound().getAsInt() + "\n");
+      }
+    }
   }
 
-  private static ArrayList<Integer> readMultipleValueLine(final String line) {
-    final String[] values = line.split(" ");
-    return Arrays.stream(values)
-        .map(Integer::valueOf)
-        .collect(Collectors.toCollection(ArrayList::new));
+  private static OptionalInt readOptimalCostFromFileName(final String file) {
+    final String fileName = file.substring(file.lastIndexOf(File.separatorChar) + 1);
+    final Matcher matcher = OPT_COST_FILE_NAME.matcher(fileName);
+    return matcher.find()
+        ? OptionalInt.of(Integer.parseInt(matcher.group(1)))
+        : OptionalInt.empty();
   }
 
   @Override
@@ -109,21 +186,64 @@ public class FileInput implements Input {
 
   @Override
   public int getOverallDemandPerType(final int type) {
-    return overallDemandPerType.get(type);
+    return overallDemandPerType[type];
   }
 
   @Override
   public int getNumProducedItems() {
-    return overallDemandPerType.stream().mapToInt(i -> i).sum();
+    return numProducedItems;
   }
 
   @Override
   public List<Integer> getDemand(final int type) {
-    return Collections.unmodifiableList(demand.get(type));
+    return new AbstractList<>() {
+      @Override
+      public Integer get(final int slot) {
+        return getDemand(type, slot);
+      }
+
+      @Override
+      public int size() {
+        return numTimeSlots;
+      }
+    };
+  }
+
+  @Override
+  public int getDemand(final int type, final int slot) {
+    if (slot < 0 || slot >= numTimeSlots) {
+      throw new IndexOutOfBoundsException("Time slot " + slot);
+    }
+    return demand[type].get(slot) ? 1 : 0;
+  }
+
+  @Override
+  public IntList getDueDates(final int type) {
+    return demandIndex.getDueDates(type);
+  }
+
+  @Override
+  public List<Item> getItems() {
+    return demandIndex.getItems();
   }
 
   @Override
   public int getChangeOverCost(final int predType, final int succType) {
-    return changeover_cost.get(predType).get(succType);
+    return changeOverCost[predType * numTypes + succType];
+  }
+
+  @Override
+  public OptionalInt getOptimalCost() {
+    return lowerBound.equals(upperBound) ? lowerBound : OptionalInt.empty();
+  }
+
+  @Override
+  public OptionalInt getLowerBound() {
+    return lowerBound;
+  }
+
+  @Override
+  public OptionalInt getUpperBound() {
+    return upperBound;
   }
 }
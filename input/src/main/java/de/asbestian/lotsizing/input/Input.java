@@ -1,6 +1,9 @@
 package de.asbestian.lotsizing.input;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import java.util.List;
+import java.util.OptionalInt;
 
 /** @author Sebastian Schenker */
 public interface Input {
@@ -17,6 +20,48 @@ public interface Input {
 
   List<Integer> getDemand(final int type);
 
+  /** Returns 1 if an item of the given type is due in the given time slot; 0 otherwise. */
+  default int getDemand(final int type, final int slot) {
+    return getDemand(type).get(slot);
+  }
+
+  /**
+   * Returns the time slots in which an item of the given type is due in ascending order. The
+   * default implementation inspects each time slot; implementations should provide an index.
+   */
+  default IntList getDueDates(final int type) {
+    final IntList dueDates = new IntArrayList(getOverallDemandPerType(type));
+    for (int slot = 0; slot < getNumTimeSlots(); ++slot) {
+      if (getDemand(type, slot) == 1) {
+        dueDates.add(slot);
+      }
+    }
+    return dueDates;
+  }
+
+  /**
+   * Returns all items ordered by due date; items with the same due date are ordered by type. The
+   * default implementation inspects each time slot; implementations should provide an index.
+   */
+  default List<Item> getItems() {
+    return DemandIndex.of(this).getItems();
+  }
+
   /** Returns the change over cost from predType to succType; */
   int getChangeOverCost(final int predType, final int succType);
+
+  /** Returns the known optimal cost of the instance, if available. */
+  default OptionalInt getOptimalCost() {
+    return OptionalInt.empty();
+  }
+
+  /** Returns a known lower bound on the optimal cost of the instance, if available. */
+  default OptionalInt getLowerBound() {
+    return getOptimalCost();
+  }
+
+  /** Returns a known upper bound on the optimal cost of the instance, if available. */
+  default OptionalInt getUpperBound() {
+    return getOptimalCost();
+  }
 }
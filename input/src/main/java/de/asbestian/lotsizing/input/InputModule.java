@@ -1,6 +1,5 @@
 package de.asbestian.lotsizing.input;
 
-import dagger.Binds;
 import dagger.Module;
 import dagger.Provides;
 import javax.inject.Singleton;
@@ -8,12 +7,9 @@ import javax.inject.Singleton;
 /** @author Sebastian Schenker */
 @Module
 public abstract class InputModule {
-  @Binds
-  @Singleton
-  abstract Input getInput(FileInput fileInput);
-
   @Provides
-  static FileInput getFileInput(String file) {
-    return new FileInput(file);
+  @Singleton
+  static Input getInput(String file) {
+    return Inputs.read(file);
   }
 }
@@ -0,0 +1,201 @@
+package de.asbestian.lotsizing.input;
+
+import com.github.luben.zstd.ZstdInputStream;
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads instances whose format is recognised by their content. Uncompressed files are
+ * memory-mapped and either given in text or in binary format. Files compressed via gzip or zstd as
+ * well as the standard input (given as {@value #STDIN}) are decompressed and tokenised while being
+ * read, i.e., the text is never held in memory as a whole.
+ *
+ * @author Sebastian Schenker
+ */
+public final class Inputs {
+
+  /** File name denoting the standard input. */
+  public static final String STDIN = "-";
+
+  private static final int STREAM_BUFFER_SIZE = 1 << 16;
+  private static final byte[] GZIP_MAGIC = {0x1f, (byte) 0x8b};
+  private static final byte[] ZSTD_MAGIC = {0x28, (byte) 0xb5, 0x2f, (byte) 0xfd};
+
+  private Inputs() {}
+
+  /**
+   * Reads the instance contained in the given file.
+   *
+   * @param file the path to the input file or {@value #STDIN} for the standard input
+   */
+  public static Input read(final String file) {
+    if (STDIN.equals(file)) {
+      // the standard input is not closed as it is not owned by us
+      return read(
+          new FilterInputStream(System.in) {
+            @Override
+            public void close() {}
+          },
+          "<stdin>");
+    }
+    final Path path = Paths.get(file);
+    if (isCompressed(path)) {
+      try {
+        return read(Files.newInputStream(path), file);
+      } catch (final IOException e) {
+        throw new InputException("Cannot read " + file + ": " + e.getMessage());
+      }
+    }
+    final ByteBuffer buffer = map(path);
+    return BinaryInput.isBinary(buffer)
+        ? new BinaryInput(buffer, file)
+        : new FileInput(new IntTokenizer(buffer, file), file);
+  }
+
+  /**
+   * Reads the instance contained in the given (possibly compressed) stream which is closed
+   * afterwards.
+   *
+   * @param in Stream containing the instance
+   * @param source Name of the stream's source; used in error messages and for the optimal cost
+   */
+  public static Input read(final InputStream in, final String source) {
+    try (final InputStream stream = decompress(new BufferedInputStream(in, STREAM_BUFFER_SIZE))) {
+      final BufferedInputStream buffered = new BufferedInputStream(stream, STREAM_BUFFER_SIZE);
+      final byte[] header = peek(buffered, BinaryInput.MAGIC.length);
+      if (BinaryInput.isBinary(ByteBuffer.wrap(header))) {
+        // the binary format is accessed randomly and compact anyway
+        return new BinaryInput(ByteBuffer.wrap(buffered.readAllBytes()), source);
+      }
+      return new FileInput(new IntTokenizer(Channels.newChannel(buffered), source), source);
+    } catch (final IOException e) {
+      throw new InputException("Cannot read " + source + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Checks whether all items of the given input can be produced in time, i.e., whether for each
+   * time slot the number of items due up to this time slot does not exceed the number of time
+   * slots up to it.
+   */
+  public static boolean isFeasible(final Input input) {
+    final List<Item> items = input.getItems(); // ordered by due date
+    for (int i = 0; i < items.size(); ++i) {
+      if (items.get(i).getDueDate() < i) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Computes a fingerprint of the given input, i.e., the hexadecimal SHA-256 hash of its content.
+   * The fingerprint is independent of the format and the source of the input; in particular, the
+   * known optimal cost is not considered.
+   */
+  public static String fingerprint(final Input input) {
+    final MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e); // mandatory algorithm
+    }
+    final int numTypes = input.getNumTypes();
+    final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * Math.max(3, numTypes));
+    buffer.putInt(input.getNumTimeSlots()).putInt(numTypes).putInt(input.getInventoryCost());
+    update(digest, buffer);
+    for (int type = 0; type < numTypes; ++type) {
+      final var dueDates = input.getDueDates(type);
+      buffer.putInt(dueDates.size());
+      update(digest, buffer);
+      for (int i = 0; i < dueDates.size(); ++i) {
+        buffer.putInt(dueDates.getInt(i));
+        if (!buffer.hasRemaining()) {
+          update(digest, buffer);
+        }
+      }
+      update(digest, buffer);
+    }
+    for (int pred = 0; pred < numTypes; ++pred) {
+      for (int succ = 0; succ < numTypes; ++succ) {
+        buffer.putInt(input.getChangeOverCost(pred, succ));
+      }
+      update(digest, buffer);
+    }
+    final StringBuilder hex = new StringBuilder();
+    for (final byte b : digest.digest()) {
+      hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+    }
+    return hex.toString();
+  }
+
+  private static void update(final MessageDigest digest, final ByteBuffer buffer) {
+    buffer.flip();
+    digest.update(buffer);
+    buffer.clear();
+  }
+
+  /** Maps the given file read-only into memory. */
+  static ByteBuffer map(final Path file) {
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return channel.map(MapMode.READ_ONLY, 0, channel.size());
+    } catch (final IOException e) {
+      throw new InputException("Cannot read " + file + ": " + e.getMessage());
+    }
+  }
+
+  private static boolean isCompressed(final Path file) {
+    try (final InputStream in = Files.newInputStream(file)) {
+      final byte[] header = in.readNBytes(ZSTD_MAGIC.length);
+      return startsWith(header, GZIP_MAGIC) || startsWith(header, ZSTD_MAGIC);
+    } catch (final IOException e) {
+      throw new InputException("Cannot read " + file + ": " + e.getMessage());
+    }
+  }
+
+  /** Wraps the given stream into a decompressing one if it starts with a gzip or zstd header. */
+  private static InputStream decompress(final BufferedInputStream in) throws IOException {
+    final byte[] header = peek(in, ZSTD_MAGIC.length);
+    if (startsWith(header, GZIP_MAGIC)) {
+      return new GZIPInputStream(in, STREAM_BUFFER_SIZE);
+    }
+    if (startsWith(header, ZSTD_MAGIC)) {
+      return new ZstdInputStream(in);
+    }
+    return in;
+  }
+
+  /** Returns (at most) the given number of leading bytes without consuming them. */
+  private static byte[] peek(final BufferedInputStream in, final int numBytes) throws IOException {
+    in.mark(numBytes);
+    final byte[] header = in.readNBytes(numBytes);
+    in.reset();
+    return header;
+  }
+
+  private static boolean startsWith(final byte[] bytes, final byte[] prefix) {
+    if (bytes.length < prefix.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; ++i) {
+      if (bytes[i] != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,289 @@
+package de.asbestian.lotsizing.input;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Seeded generator of synthetic instances, e.g., for scaling tests. The same parameters always
+ * yield the same instance.
+ *
+ * <p>Each generated instance is feasible by construction: first, distinct production time slots
+ * are drawn (their number is given by the demand density) and a type is assigned to each of them.
+ * Then, each item is given a due date at or after its production time slot. With probability
+ * given by the clustering, the due date is the next multiple of the cluster interval (think of
+ * regular shipping dates); otherwise, it is the production time slot plus a small random delay.
+ * Due dates of the same type are moved forward where necessary to keep them distinct.
+ *
+ * @author Sebastian Schenker
+ */
+public class InstanceGenerator {
+
+  /** Structure of the generated change over costs. */
+  public enum ChangeOverStructure {
+    /** Independent uniformly distributed costs. */
+    RANDOM,
+    /** Symmetric costs satisfying the triangle inequality, i.e., distances of random points. */
+    TRIANGULAR,
+    /** Types are partitioned into families; changing over within a family is cheap. */
+    FAMILY
+  }
+
+  private static final int MAX_DELAY = 5;
+  private final int numTimeSlots;
+  private final int numTypes;
+  private final double density;
+  private final double clustering;
+  private final int clusterInterval;
+  private final int inventoryCost;
+  private final ChangeOverStructure changeOverStructure;
+  private final int numFamilies;
+  private final int minChangeOverCost;
+  private final int maxChangeOverCost;
+  private final long seed;
+
+  private InstanceGenerator(final Builder builder) {
+    this.numTimeSlots = builder.numTimeSlots;
+    this.numTypes = builder.numTypes;
+    this.density = builder.density;
+    this.clustering = builder.clustering;
+    this.clusterInterval = builder.clusterInterval;
+    this.inventoryCost = builder.inventoryCost;
+    this.changeOverStructure = builder.changeOverStructure;
+    this.numFamilies =
+        builder.numFamilies > 0
+            ? Math.min(builder.numFamilies, numTypes)
+            : Math.max(1, (int) Math.round(Math.sqrt(numTypes)));
+    this.minChangeOverCost = builder.minChangeOverCost;
+    this.maxChangeOverCost = builder.maxChangeOverCost;
+    this.seed = builder.seed;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Generates the instance. */
+  public Input generate() {
+    final Random random = new Random(seed);
+    final int[][] dueDates = generateDueDates(random);
+    final int[] changeOverCost = generateChangeOverCost(random);
+    return new ArrayInput(numTimeSlots, inventoryCost, dueDates, changeOverCost);
+  }
+
+  private int[][] generateDueDates(final Random random) {
+    final int numItems = Math.min(numTimeSlots, (int) Math.round(density * numTimeSlots));
+    // partial Fisher-Yates shuffle yields distinct production time slots
+    final int[] slots = new int[numTimeSlots];
+    Arrays.setAll(slots, slot -> slot);
+    for (int i = 0; i < numItems; ++i) {
+      final int j = i + random.nextInt(numTimeSlots - i);
+      final int slot = slots[j];
+      slots[j] = slots[i];
+      slots[i] = slot;
+    }
+    final int[] production = Arrays.copyOf(slots, numItems);
+    Arrays.sort(production);
+    // each type obtains at least one item (if possible); the others are assigned randomly
+    final int[] types = new int[numItems];
+    for (int i = 0; i < numItems; ++i) {
+      types[i] = i < numTypes ? i : random.nextInt(numTypes);
+    }
+    for (int i = numItems - 1; i > 0; --i) {
+      final int j = random.nextInt(i + 1);
+      final int type = types[j];
+      types[j] = types[i];
+      types[i] = type;
+    }
+    final int[] desired = new int[numItems];
+    for (int i = 0; i < numItems; ++i) {
+      final int slot = production[i];
+      final int dueDate =
+          random.nextDouble() < clustering
+              ? (slot / clusterInterval + 1) * clusterInterval - 1
+              : slot + random.nextInt(MAX_DELAY + 1);
+      desired[i] = Math.min(dueDate, numTimeSlots - 1);
+    }
+    // moving backwards, due dates are bounded by the next due date of the same type; as production
+    // time slots are distinct, each due date remains at or after its production time slot
+    final int[] numDueDates = new int[numTypes];
+    final int[] nextDueDate = new int[numTypes];
+    Arrays.fill(nextDueDate, numTimeSlots);
+    for (int i = numItems - 1; i >= 0; --i) {
+      final int type = types[i];
+      desired[i] = Math.min(desired[i], nextDueDate[type] - 1);
+      nextDueDate[type] = desired[i];
+      ++numDueDates[type];
+    }
+    final int[][] dueDates = new int[numTypes][];
+    for (int type = 0; type < numTypes; ++type) {
+      dueDates[type] = new int[numDueDates[type]];
+      numDueDates[type] = 0;
+    }
+    for (int i = 0; i < numItems; ++i) { // due dates of each type ascend with production slots
+      dueDates[types[i]][numDueDates[types[i]]++] = desired[i];
+    }
+    return dueDates;
+  }
+
+  private int[] generateChangeOverCost(final Random random) {
+    final int[] costs = new int[numTypes * numTypes];
+    final int range = maxChangeOverCost - minChangeOverCost;
+    switch (changeOverStructure) {
+      case RANDOM:
+        for (int pred = 0; pred < numTypes; ++pred) {
+          for (int succ = 0; succ < numTypes; ++succ) {
+            if (pred != succ) {
+              costs[pred * numTypes + succ] = minChangeOverCost + random.nextInt(range + 1);
+            }
+          }
+        }
+        break;
+      case TRIANGULAR:
+        {
+          // Manhattan distances are integral metrics; adding a constant keeps the triangle
+          // inequality since c(a,b) + c(b,c) = 2 min + d(a,b) + d(b,c) >= min + d(a,c)
+          final int[] x = new int[numTypes];
+          final int[] y = new int[numTypes];
+          for (int type = 0; type < numTypes; ++type) {
+            x[type] = random.nextInt(range / 2 + 1);
+            y[type] = random.nextInt(range / 2 + 1);
+          }
+          for (int pred = 0; pred < numTypes; ++pred) {
+            for (int succ = 0; succ < numTypes; ++succ) {
+              if (pred != succ) {
+                costs[pred * numTypes + succ] =
+                    minChangeOverCost + Math.abs(x[pred] - x[succ]) + Math.abs(y[pred] - y[succ]);
+              }
+            }
+          }
+          break;
+        }
+      case FAMILY:
+        {
+          final int[] family = new int[numTypes];
+          for (int type = 0; type < numTypes; ++type) {
+            family[type] = random.nextInt(numFamilies);
+          }
+          final int intraFamilyRange = range / 10;
+          final int interFamilyMin = minChangeOverCost + range / 2;
+          for (int pred = 0; pred < numTypes; ++pred) {
+            for (int succ = 0; succ < numTypes; ++succ) {
+              if (pred != succ) {
+                costs[pred * numTypes + succ] =
+                    family[pred] == family[succ]
+                        ? minChangeOverCost + random.nextInt(intraFamilyRange + 1)
+                        : interFamilyMin + random.nextInt(maxChangeOverCost - interFamilyMin + 1);
+              }
+            }
+          }
+          break;
+        }
+      default:
+        throw new IllegalStateException("Unknown change over structure " + changeOverStructure);
+    }
+    return costs;
+  }
+
+  public static class Builder {
+
+    private int numTimeSlots = 100;
+    private int numTypes = 10;
+    private double density = 0.9;
+    private double clustering = 0.;
+    private int clusterInterval = 10;
+    private int inventoryCost = 10;
+    private ChangeOverStructure changeOverStructure = ChangeOverStructure.RANDOM;
+    private int numFamilies = 0;
+    private int minChangeOverCost = 100;
+    private int maxChangeOverCost = 200;
+    private long seed = 1;
+
+    private Builder() {}
+
+    public Builder numTimeSlots(final int numTimeSlots) {
+      if (numTimeSlots < 1) {
+        throw new IllegalArgumentException(
+            "Number of time slots must be positive: " + numTimeSlots);
+      }
+      this.numTimeSlots = numTimeSlots;
+      return this;
+    }
+
+    public Builder numTypes(final int numTypes) {
+      if (numTypes < 1) {
+        throw new IllegalArgumentException("Number of types must be positive: " + numTypes);
+      }
+      this.numTypes = numTypes;
+      return this;
+    }
+
+    /** Sets the number of items relative to the number of time slots; in (0, 1]. */
+    public Builder density(final double density) {
+      if (density <= 0 || density > 1) {
+        throw new IllegalArgumentException("Density must be in (0, 1]: " + density);
+      }
+      this.density = density;
+      return this;
+    }
+
+    /** Sets the probability of an item to be due at the next cluster time slot; in [0, 1]. */
+    public Builder clustering(final double clustering) {
+      if (clustering < 0 || clustering > 1) {
+        throw new IllegalArgumentException("Clustering must be in [0, 1]: " + clustering);
+      }
+      this.clustering = clustering;
+      return this;
+    }
+
+    /** Sets the distance between consecutive cluster time slots. */
+    public Builder clusterInterval(final int clusterInterval) {
+      if (clusterInterval < 1) {
+        throw new IllegalArgumentException("Cluster interval must be positive: " + clusterInterval);
+      }
+      this.clusterInterval = clusterInterval;
+      return this;
+    }
+
+    public Builder inventoryCost(final int inventoryCost) {
+      if (inventoryCost < 0) {
+        throw new IllegalArgumentException("Inventory cost must be non-negative: " + inventoryCost);
+      }
+      this.inventoryCost = inventoryCost;
+      return this;
+    }
+
+    public Builder changeOverStructure(final ChangeOverStructure changeOverStructure) {
+      this.changeOverStructure = changeOverStructure;
+      return this;
+    }
+
+    /** Sets the number of families of the family-based structure; zero means about sqrt(types). */
+    public Builder numFamilies(final int numFamilies) {
+      if (numFamilies < 0) {
+        throw new IllegalArgumentException(
+            "Number of families must be non-negative: " + numFamilies);
+      }
+      this.numFamilies = numFamilies;
+      return this;
+    }
+
+    /** Sets the range of the change over costs between distinct types. */
+    public Builder changeOverCost(final int min, final int max) {
+      if (min < 0 || max < min) {
+        throw new IllegalArgumentException("Invalid change over cost range: " + min + ", " + max);
+      }
+      this.minChangeOverCost = min;
+      this.maxChangeOverCost = max;
+      return this;
+    }
+
+    public Builder seed(final long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    public InstanceGenerator build() {
+      return new InstanceGenerator(this);
+    }
+  }
+}
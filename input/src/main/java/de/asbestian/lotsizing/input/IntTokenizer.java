@@ -0,0 +1,128 @@
+package de.asbestian.lotsizing.input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Splits ASCII content into whitespace-separated integers without creating intermediate strings.
+ * The content is either given entirely as (memory-mapped) byte buffer or streamed from a channel
+ * through a fixed-size buffer.
+ *
+ * @author Sebastian Schenker
+ */
+class IntTokenizer {
+
+  private static final int STREAM_BUFFER_SIZE = 1 << 16;
+  private final ByteBuffer buffer;
+  private final ReadableByteChannel channel; // null if buffer holds the entire content
+  private final String source;
+  private long bufferOffset; // number of bytes preceding the buffer content
+
+  /**
+   * Constructor.
+   *
+   * @param buffer Buffer whose remaining bytes are tokenised
+   * @param source Name of the tokenised source used in error messages
+   */
+  IntTokenizer(final ByteBuffer buffer, final String source) {
+    this.buffer = buffer;
+    this.channel = null;
+    this.source = source;
+    this.bufferOffset = -buffer.position();
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param channel Channel whose content is tokenised while being read
+   * @param source Name of the tokenised source used in error messages
+   */
+  IntTokenizer(final ReadableByteChannel channel, final String source) {
+    this.buffer = ByteBuffer.allocate(STREAM_BUFFER_SIZE).flip();
+    this.channel = channel;
+    this.source = source;
+    this.bufferOffset = 0;
+  }
+
+  /** Returns true if there is a further token. */
+  boolean hasNext() {
+    skipWhitespace();
+    return peek() >= 0;
+  }
+
+  /** Returns the next token as integer. */
+  int nextInt() {
+    skipWhitespace();
+    if (peek() < 0) {
+      throw new InputException("Unexpected end of " + source);
+    }
+    final boolean negative = peek() == '-';
+    if (negative) {
+      buffer.get();
+    }
+    long value = 0;
+    int numDigits = 0;
+    int b;
+    while ((b = peek()) >= 0 && !isWhitespace(b)) {
+      if (b < '0' || b > '9') {
+        throw new InputException(
+            String.format(
+                "Unexpected character '%c' at byte %d of %s", (char) b, getOffset(), source));
+      }
+      value = 10 * value + (b - '0');
+      if (value > (long) Integer.MAX_VALUE + 1) {
+        throw new InputException("Integer overflow at byte " + getOffset() + " of " + source);
+      }
+      buffer.get();
+      ++numDigits;
+    }
+    if (numDigits == 0 || (!negative && value > Integer.MAX_VALUE)) {
+      throw new InputException("Invalid integer before byte " + getOffset() + " of " + source);
+    }
+    return (int) (negative ? -value : value);
+  }
+
+  /** Returns the next byte without consuming it; -1 at the end of the content. */
+  private int peek() {
+    if (!buffer.hasRemaining() && !fill()) {
+      return -1;
+    }
+    return buffer.get(buffer.position()) & 0xff;
+  }
+
+  /** Refills the (entirely consumed) buffer from the channel; returns false at end of stream. */
+  private boolean fill() {
+    if (channel == null) {
+      return false;
+    }
+    bufferOffset += buffer.position();
+    buffer.clear();
+    try {
+      int numRead;
+      do {
+        numRead = channel.read(buffer);
+      } while (numRead == 0);
+      return numRead > 0;
+    } catch (final IOException e) {
+      throw new InputException("Cannot read " + source + ": " + e.getMessage());
+    } finally {
+      buffer.flip();
+    }
+  }
+
+  private long getOffset() {
+    return bufferOffset + buffer.position();
+  }
+
+  private void skipWhitespace() {
+    int b;
+    while ((b = peek()) >= 0 && isWhitespace(b)) {
+      buffer.get();
+    }
+  }
+
+  private static boolean isWhitespace(final int b) {
+    return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f';
+  }
+}
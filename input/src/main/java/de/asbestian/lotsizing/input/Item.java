@@ -0,0 +1,47 @@
+package de.asbestian.lotsizing.input;
+
+/**
+ * An item which needs to be produced, i.e., a single demand of a type in a time slot.
+ *
+ * @author Sebastian Schenker
+ */
+public final class Item {
+
+  private final int type;
+  private final int dueDate; // the time slot before item needs to be produced
+
+  public Item(final int type, final int dueDate) {
+    this.type = type;
+    this.dueDate = dueDate;
+  }
+
+  public int getType() {
+    return type;
+  }
+
+  public int getDueDate() {
+    return dueDate;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof Item)) {
+      return false;
+    }
+    final Item other = (Item) obj;
+    return type == other.type && dueDate == other.dueDate;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * type + dueDate;
+  }
+
+  @Override
+  public String toString() {
+    return "Item(" + type + ", " + dueDate + ")";
+  }
+}
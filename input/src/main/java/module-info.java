@@ -4,6 +4,8 @@ module input {
   opens de.asbestian.lotsizing.input;
 
   requires org.slf4j;
+  requires transitive it.unimi.dsi.fastutil;
   requires javax.inject;
   requires dagger;
+  requires com.github.luben.zstd_jni;
 }
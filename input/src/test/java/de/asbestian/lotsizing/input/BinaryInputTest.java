@@ -0,0 +1,87 @@
+package de.asbestian.lotsizing.input;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** @author Sebastian Schenker */
+class BinaryInputTest {
+
+  @TempDir Path dir;
+
+  private void assertSameInput(final Input expected, final Input actual) {
+    assertEquals(expected.getNumTimeSlots(), actual.getNumTimeSlots());
+    assertEquals(expected.getNumTypes(), actual.getNumTypes());
+    assertEquals(expected.getInventoryCost(), actual.getInventoryCost());
+    assertEquals(expected.getNumProducedItems(), actual.getNumProducedItems());
+    assertEquals(expected.getOptimalCost(), actual.getOptimalCost());
+    assertEquals(expected.getLowerBound(), actual.getLowerBound());
+    assertEquals(expected.getUpperBound(), actual.getUpperBound());
+    assertIterableEquals(expected.getItems(), actual.getItems());
+    for (int type = 0; type < expected.getNumTypes(); ++type) {
+      assertEquals(expected.getOverallDemandPerType(type), actual.getOverallDemandPerType(type));
+      assertIterableEquals(expected.getDemand(type), actual.getDemand(type));
+      assertIterableEquals(expected.getDueDates(type), actual.getDueDates(type));
+      for (int succ = 0; succ < expected.getNumTypes(); ++succ) {
+        assertEquals(
+            expected.getChangeOverCost(type, succ), actual.getChangeOverCost(type, succ));
+      }
+    }
+  }
+
+  @Test
+  void writeAndRead() throws IOException {
+    for (final String name :
+        new String[] {
+          "Instance-5timeslots_2types.txt",
+          "Instance-5timeslots_2types.psp",
+          "Instance-5timeslots_2types-bounds.psp"
+        }) {
+      final Input text = new FileInput("src/test/resources/" + name);
+      final Path file = dir.resolve(name + ".lsib");
+      BinaryInput.write(text, file);
+      assertSameInput(text, BinaryInput.read(file));
+      assertTrue(Inputs.read(file.toString()) instanceof BinaryInput);
+    }
+  }
+
+  @Test
+  void longHorizon() throws IOException {
+    final Path textFile = dir.resolve("long.txt");
+    final StringBuilder content = new StringBuilder("130\n2\n");
+    for (int type = 0; type < 2; ++type) {
+      for (int slot = 0; slot < 130; ++slot) {
+        content.append(slot % (type + 3) == 0 ? "1 " : "0 ");
+      }
+      content.append('\n');
+    }
+    content.append("7\n0 11\n13 0\n");
+    Files.writeString(textFile, content);
+    final Input text = Inputs.read(textFile.toString());
+    final Path file = dir.resolve("long.lsib");
+    BinaryInput.write(text, file);
+    assertSameInput(text, Inputs.read(file.toString()));
+  }
+
+  @Test
+  void invalidInput() throws IOException {
+    final Path file = dir.resolve("instance.lsib");
+    BinaryInput.write(new FileInput("src/test/resources/Instance-5timeslots_2types.txt"), file);
+    final byte[] content = Files.readAllBytes(file);
+    assertThrows(
+        InputException.class, () -> new BinaryInput(ByteBuffer.wrap(content, 0, 40), "cut"));
+    content[4] = 2; // unknown version
+    assertThrows(InputException.class, () -> new BinaryInput(ByteBuffer.wrap(content), "v2"));
+    assertThrows(
+        InputException.class,
+        () -> BinaryInput.read(Path.of("src/test/resources/Instance-5timeslots_2types.txt")));
+  }
+}
@@ -2,13 +2,19 @@ package de.asbestian.lotsizing.input;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.OptionalInt;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /** @author Sebastian Schenker */
 class FileInputTest {
@@ -57,5 +63,64 @@ class FileInputTest {
 
     assertIterableEquals(expectedDemandType0, input.getDemand(0));
     assertIterableEquals(expectedDemandType1, input.getDemand(1));
+    assertEquals(0, input.getDemand(0, 0));
+    assertEquals(1, input.getDemand(0, 1));
+    assertEquals(1, input.getDemand(1, 0));
+    assertEquals(1, input.getDemand(1, 4));
+  }
+
+  @Test
+  void getDueDates() {
+    assertIterableEquals(List.of(1, 4), input.getDueDates(0));
+    assertIterableEquals(List.of(0, 4), input.getDueDates(1));
+    assertIterableEquals(
+        List.of(new Item(1, 0), new Item(0, 1), new Item(0, 4), new Item(1, 4)),
+        input.getItems());
+  }
+
+  @Test
+  void invalidInput() {
+    assertThrows(InputException.class, () -> new FileInput("src/test/resources/missing.txt"));
+    assertThrows(
+        InputException.class,
+        () -> new FileInput("src/test/resources/Instance-invalid_demand.txt"));
+  }
+
+  @Test
+  void getOptimalCost() {
+    assertTrue(input.getOptimalCost().isEmpty());
+    assertEquals(
+        OptionalInt.of(8),
+        new FileInput("src/test/resources/Instance-5timeslots_2types.psp").getOptimalCost());
+    assertEquals(
+        OptionalInt.of(8),
+        new FileInput("src/test/resources/Instance-5timeslots_2types-optcost_8.txt")
+            .getOptimalCost());
+  }
+
+  @Test
+  void getBounds() {
+    assertTrue(input.getLowerBound().isEmpty());
+    assertTrue(input.getUpperBound().isEmpty());
+    final Input optimal = new FileInput("src/test/resources/Instance-5timeslots_2types.psp");
+    assertEquals(OptionalInt.of(8), optimal.getLowerBound());
+    assertEquals(OptionalInt.of(8), optimal.getUpperBound());
+    final Input bounded =
+        new FileInput("src/test/resources/Instance-5timeslots_2types-bounds.psp");
+    assertTrue(bounded.getOptimalCost().isEmpty());
+    assertEquals(OptionalInt.of(7), bounded.getLowerBound());
+    assertEquals(OptionalInt.of(9), bounded.getUpperBound());
+  }
+
+  @Test
+  void writeBounds(@TempDir final Path dir) throws IOException {
+    final Input bounded =
+        new FileInput("src/test/resources/Instance-5timeslots_2types-bounds.psp");
+    final Path file = dir.resolve("bounds.txt");
+    FileInput.write(bounded, file);
+    final Input read = new FileInput(file.toString());
+    assertTrue(read.getOptimalCost().isEmpty());
+    assertEquals(OptionalInt.of(7), read.getLowerBound());
+    assertEquals(OptionalInt.of(9), read.getUpperBound());
   }
 }
@@ -0,0 +1,113 @@
+package de.asbestian.lotsizing.input;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** @author Sebastian Schenker */
+class InputsTest {
+
+  private static final String INSTANCE = "src/test/resources/Instance-5timeslots_2types.psp";
+
+  @TempDir Path dir;
+
+  private static void assertSameInput(final Input expected, final Input actual) {
+    assertEquals(expected.getNumTimeSlots(), actual.getNumTimeSlots());
+    assertEquals(expected.getNumTypes(), actual.getNumTypes());
+    assertEquals(expected.getInventoryCost(), actual.getInventoryCost());
+    assertEquals(expected.getNumProducedItems(), actual.getNumProducedItems());
+    assertEquals(expected.getOptimalCost(), actual.getOptimalCost());
+    assertIterableEquals(expected.getItems(), actual.getItems());
+    for (int type = 0; type < expected.getNumTypes(); ++type) {
+      assertIterableEquals(expected.getDemand(type), actual.getDemand(type));
+      assertIterableEquals(expected.getDueDates(type), actual.getDueDates(type));
+      for (int succ = 0; succ < expected.getNumTypes(); ++succ) {
+        assertEquals(
+            expected.getChangeOverCost(type, succ), actual.getChangeOverCost(type, succ));
+      }
+    }
+  }
+
+  private Path compress(final Path file, final boolean gzip) throws IOException {
+    final Path target = dir.resolve(file.getFileName() + (gzip ? ".gz" : ".zst"));
+    try (final OutputStream out =
+        gzip
+            ? new GZIPOutputStream(Files.newOutputStream(target))
+            : new ZstdOutputStream(Files.newOutputStream(target))) {
+      Files.copy(file, out);
+    }
+    return target;
+  }
+
+  @Test
+  void readCompressed() throws IOException {
+    final Input expected = new FileInput(INSTANCE);
+    final Path binary = dir.resolve("instance.lsib");
+    BinaryInput.write(expected, binary);
+    for (final Path file : new Path[] {Path.of(INSTANCE), binary}) {
+      assertSameInput(expected, Inputs.read(compress(file, true).toString()));
+      assertSameInput(expected, Inputs.read(compress(file, false).toString()));
+    }
+  }
+
+  @Test
+  void readStream() throws IOException {
+    final Input expected = new FileInput(INSTANCE);
+    final byte[] content = Files.readAllBytes(Path.of(INSTANCE));
+    final Input actual = Inputs.read(new ByteArrayInputStream(content), "stream");
+    assertTrue(actual instanceof FileInput);
+    assertSameInput(expected, actual);
+  }
+
+  @Test
+  void readLargeStream() throws IOException {
+    // exceeds the stream buffer such that tokens cross buffer boundaries
+    final int numTimeSlots = 20_000;
+    final StringBuilder content = new StringBuilder(numTimeSlots + "\n2\n");
+    for (int type = 0; type < 2; ++type) {
+      for (int slot = 0; slot < numTimeSlots; ++slot) {
+        content.append(slot % 100 == 99 - type ? "1  " : "0\t ");
+      }
+      content.append('\n');
+    }
+    content.append("123456\n0 1234567\n7654321 0\n");
+    final Path file = dir.resolve("large.txt");
+    Files.writeString(file, content);
+    final Input expected = new FileInput(file.toString());
+    assertEquals(1234567, expected.getChangeOverCost(0, 1));
+    assertSameInput(expected, Inputs.read(compress(file, true).toString()));
+    assertSameInput(expected, Inputs.read(Files.newInputStream(file), "large"));
+  }
+
+  @Test
+  void invalidStream() {
+    final byte[] content = "5\n2\n0 1 0 0".getBytes();
+    assertThrows(
+        InputException.class, () -> Inputs.read(new ByteArrayInputStream(content), "cut"));
+  }
+
+  @Test
+  void fingerprint() throws IOException {
+    final Input input = new FileInput(INSTANCE);
+    final Path binary = dir.resolve("instance.lsib");
+    BinaryInput.write(input, binary);
+    final String fingerprint = Inputs.fingerprint(input);
+    assertEquals(64, fingerprint.length());
+    assertEquals(fingerprint, Inputs.fingerprint(Inputs.read(binary.toString())));
+    final Path changed = dir.resolve("changed.psp");
+    Files.writeString(changed, Files.readString(Path.of(INSTANCE)).replace("0 5", "0 6"));
+    assertNotEquals(fingerprint, Inputs.fingerprint(new FileInput(changed.toString())));
+  }
+}
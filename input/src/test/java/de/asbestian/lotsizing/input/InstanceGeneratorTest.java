@@ -0,0 +1,91 @@
+package de.asbestian.lotsizing.input;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.asbestian.lotsizing.input.InstanceGenerator.ChangeOverStructure;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** @author Sebastian Schenker */
+class InstanceGeneratorTest {
+
+  @TempDir Path dir;
+
+  private static InstanceGenerator.Builder builder() {
+    return InstanceGenerator.builder()
+        .numTimeSlots(500)
+        .numTypes(20)
+        .density(0.95)
+        .clustering(0.5)
+        .clusterInterval(7);
+  }
+
+  @Test
+  void generateIsDeterministic() {
+    final Input first = builder().seed(3).build().generate();
+    final Input second = builder().seed(3).build().generate();
+    final Input other = builder().seed(4).build().generate();
+    assertIterableEquals(first.getItems(), second.getItems());
+    assertNotEquals(first.getItems(), other.getItems());
+  }
+
+  @Test
+  void generateFeasibleInstances() {
+    for (final ChangeOverStructure structure : ChangeOverStructure.values()) {
+      for (long seed = 0; seed < 5; ++seed) {
+        final Input input = builder().changeOverStructure(structure).seed(seed).build().generate();
+        assertEquals(500, input.getNumTimeSlots());
+        assertEquals(475, input.getNumProducedItems());
+        assertTrue(Inputs.isFeasible(input));
+        for (int type = 0; type < input.getNumTypes(); ++type) {
+          assertTrue(input.getOverallDemandPerType(type) > 0);
+          assertEquals(0, input.getChangeOverCost(type, type));
+          for (int succ = 0; succ < input.getNumTypes(); ++succ) {
+            final int cost = input.getChangeOverCost(type, succ);
+            assertTrue(type == succ || (100 <= cost && cost <= 200));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void triangularCostsSatisfyTriangleInequality() {
+    final Input input =
+        builder().changeOverStructure(ChangeOverStructure.TRIANGULAR).build().generate();
+    final int numTypes = input.getNumTypes();
+    for (int a = 0; a < numTypes; ++a) {
+      for (int b = 0; b < numTypes; ++b) {
+        for (int c = 0; c < numTypes; ++c) {
+          assertTrue(
+              input.getChangeOverCost(a, c)
+                  <= input.getChangeOverCost(a, b) + input.getChangeOverCost(b, c));
+        }
+      }
+    }
+  }
+
+  @Test
+  void writeAndReadBack() throws IOException {
+    final Input input = builder().build().generate();
+    final Path text = dir.resolve("generated.txt");
+    final Path binary = dir.resolve("generated.lsib");
+    FileInput.write(input, text);
+    BinaryInput.write(input, binary);
+    for (final Path file : new Path[] {text, binary}) {
+      final Input read = Inputs.read(file.toString());
+      assertIterableEquals(input.getItems(), read.getItems());
+      for (int type = 0; type < input.getNumTypes(); ++type) {
+        assertIterableEquals(input.getDemand(type), read.getDemand(type));
+        for (int succ = 0; succ < input.getNumTypes(); ++succ) {
+          assertEquals(input.getChangeOverCost(type, succ), read.getChangeOverCost(type, succ));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package de.asbestian.lotsizing.runner;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Solves many instances within one JVM on a bounded thread pool. A failing instance does not
+ * affect the others; its failure is part of the results.
+ *
+ * @author Sebastian Schenker
+ */
+class BatchRunner {
+
+  /** Solves a single instance. */
+  interface InstanceSolver {
+    InstanceResult solve(final String file) throws IOException;
+  }
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BatchRunner.class);
+  private final InstanceSolver solver;
+  private final int parallelism;
+
+  /**
+   * Constructor.
+   *
+   * @param solver Solves a single instance; is called concurrently
+   * @param parallelism Maximum number of concurrently solved instances
+   */
+  BatchRunner(final InstanceSolver solver, final int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+    }
+    this.solver = solver;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Lists the instance files given by the path: either all regular files of a directory (in
+   * lexicographic order) or the files listed in a manifest. Each non-empty line of a manifest
+   * which does not start with '#' denotes a file relative to the manifest's directory.
+   */
+  static List<String> listInstances(final Path path) throws IOException {
+    if (Files.isDirectory(path)) {
+      try (final Stream<Path> stream = Files.list(path)) {
+        return stream
+            .filter(Files::isRegularFile)
+            .sorted()
+            .map(Path::toString)
+            .collect(Collectors.toList());
+      }
+    }
+    final Path dir = path.toAbsolutePath().getParent();
+    try (final Stream<String> lines = Files.lines(path)) {
+      return lines
+          .map(String::strip)
+          .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+          .map(line -> dir.resolve(line).toString())
+          .collect(Collectors.toList());
+    }
+  }
+
+  /** Solves the given instances and returns their results in the given order. */
+  List<InstanceResult> solve(final List<String> files) {
+    final AtomicInteger threadCounter = new AtomicInteger();
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.min(parallelism, Math.max(1, files.size())),
+            runnable -> {
+              final Thread thread =
+                  new Thread(runnable, "batch-" + threadCounter.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    final List<Future<InstanceResult>> futures = new ArrayList<>(files.size());
+    for (final String file : files) {
+      futures.add(executor.submit(() -> solve(file)));
+    }
+    executor.shutdown();
+    final List<InstanceResult> results = new ArrayList<>(files.size());
+    try {
+      for (int i = 0; i < files.size(); ++i) {
+        try {
+          results.add(futures.get(i).get());
+        } catch (final ExecutionException e) {
+          results.add(InstanceResult.failed(files.get(i), String.valueOf(e.getCause())));
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      executor.shutdownNow();
+      for (int i = results.size(); i < files.size(); ++i) {
+        results.add(InstanceResult.failed(files.get(i), "interrupted"));
+      }
+    }
+    return results;
+  }
+
+  private InstanceResult solve(final String file) {
+    try {
+      final InstanceResult result = solver.solve(file);
+      LOGGER.info("{}: cost {}", file, result.getSchedule().getCost());
+      return result;
+    } catch (final IOException | RuntimeException e) {
+      LOGGER.warn("{} cannot be solved: {}", file, e.toString());
+      return InstanceResult.failed(file, e.toString());
+    }
+  }
+
+  /** Writes the given results as CSV file. */
+  static void write(final List<InstanceResult> results, final Path file) throws IOException {
+    try (final BufferedWriter writer = Files.newBufferedWriter(file)) {
+      writer.write(InstanceResult.CSV_HEADER);
+      writer.newLine();
+      for (final InstanceResult result : results) {
+        writer.write(result.toCsv());
+        writer.newLine();
+      }
+    }
+  }
+}
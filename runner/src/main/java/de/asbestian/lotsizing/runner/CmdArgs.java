@@ -18,10 +18,55 @@ class CmdArgs {
       defaultValue = "600")
   double timeLimit;
 
+  @Option(
+      names = {"--maxIterations"},
+      description = "Maximum number of search iterations. Zero means no limit.",
+      defaultValue = "0")
+  long maxIterations;
+
+  @Option(
+      names = {"--maxCycles"},
+      description = "Maximum number of evaluated cycles. Zero means no limit.",
+      defaultValue = "0")
+  long maxCycles;
+
+  @Option(
+      names = {"--targetCost"},
+      description = "Stop as soon as a schedule with at most the given cost is found.")
+  Double targetCost;
+
+  @Option(
+      names = {"-s", "--solver"},
+      description =
+          "Solver to use: lns (local search), enum (enumeration), relink (parallel local searches with path relinking) or rolling (rolling horizon decomposition). Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "lns")
+  String solverName;
+
+  @Option(
+      names = {"--threads"},
+      description =
+          "Number of threads used by parallel solvers. Zero means number of available processors, in batch mode divided by the number of concurrently solved instances. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "0")
+  int numThreads;
+
+  @Option(
+      names = {"--window"},
+      description =
+          "Number of time slots per window of the rolling horizon solver. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "50")
+  int windowSize;
+
+  @Option(
+      names = {"--overlap"},
+      description =
+          "Number of time slots shared by consecutive windows of the rolling horizon solver. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "10")
+  int windowOverlap;
+
   @Option(
       names = {"-e", "--enumerate"},
       description =
-          "Attempt full enumeration of the search space. (Note that given time limit applies.)",
+          "Attempt full enumeration of the search space; same as --solver=enum. (Note that given time limit applies.)",
       defaultValue = "false")
   boolean enumerate;
 
@@ -32,6 +77,21 @@ class CmdArgs {
       defaultValue = "4")
   int neighbourhoodSize;
 
+  @Option(
+      names = {"--maxEarliness"},
+      converter = MaxEarlinessConverter.class,
+      description =
+          "Maximum number of time slots an item is produced before its due date: a number, none or auto (derived from the costs; a lossy heuristic which may exclude optimal schedules). Smaller values shrink the graph considerably on long time horizons. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "none")
+  int maxEarliness;
+
+  @Option(
+      names = {"--compressIdle"},
+      description =
+          "Omit time slots of long idle periods which are not needed by some optimal schedule. Saves memory on instances with sparse demand.",
+      defaultValue = "false")
+  boolean compressIdle;
+
   @Option(
       names = {"-r", "--random"},
       description =
@@ -39,12 +99,104 @@ class CmdArgs {
       defaultValue = "false")
   boolean randomSchedule;
 
+  @Option(
+      names = {"--initSchedule"},
+      description =
+          "Initial schedule given as produced type of each time slot (-1 for idle time slots), e.g., \"[1, 0, -1, 2]\", or a file containing it. An infeasible schedule is repaired with minimal deviation.")
+  String initSchedule;
+
+  @Option(
+      names = {"-w", "--warmStart"},
+      description =
+          "Start from the best known schedule of the instance (if any) and record improved schedules in the solution store.",
+      defaultValue = "false")
+  boolean warmStart;
+
+  @Option(
+      names = {"--store"},
+      description =
+          "Directory of the solution store used by warm starts. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "${sys:user.home}/.lotsizing/solutions")
+  String storeDir;
+
   @Option(
       names = {"-g", "--greatestDescent"},
       description = "Use greatest descent improvement. Default is to first descent improvement.",
       defaultValue = "false")
   boolean greatestDescent;
 
-  @Parameters(paramLabel = "file", description = "The file containing the problem instance.")
+  @Option(
+      names = {"--seed"},
+      description = "Seed of the randomised solvers. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "1")
+  long seed;
+
+  @Option(
+      names = {"-p", "--progress"},
+      description = "Log every incumbent and the search progress in regular intervals.",
+      defaultValue = "false")
+  boolean progress;
+
+  @Option(
+      names = {"-m", "--metrics"},
+      description = "Write a JSON snapshot of the solver metrics to the given file at the end.")
+  String metricsFile;
+
+  @Option(
+      names = {"--trajectory"},
+      description =
+          "Write every incumbent (elapsed nanoseconds, iteration, costs) as CSV line to the given file.")
+  String trajectoryFile;
+
+  @Option(
+      names = {"--trajectorySchedules"},
+      description = "Add the schedule to each line of the trajectory file.",
+      defaultValue = "false")
+  boolean trajectorySchedules;
+
+  @Option(
+      names = {"--checkpoint"},
+      description =
+          "Periodically write the state of the search (lns or enum) to the given file such that it can be resumed.")
+  String checkpointFile;
+
+  @Option(
+      names = {"--checkpointInterval"},
+      description =
+          "Interval (in seconds) between consecutive checkpoints. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "60")
+  double checkpointInterval;
+
+  @Option(
+      names = {"--resume"},
+      description =
+          "Resume the search from the given checkpoint; the instance and the solver need to match. Termination criteria apply to the resumed search.")
+  String resumeFile;
+
+  @Option(
+      names = {"--batch"},
+      description =
+          "Solve all instances of the given directory or of the given manifest (one instance file per line, relative to the manifest) within one JVM.",
+      defaultValue = "false")
+  boolean batch;
+
+  @Option(
+      names = {"--parallel"},
+      description =
+          "Number of instances solved concurrently in batch mode. Zero means number of available processors. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "0")
+  int numParallelInstances;
+
+  @Option(
+      names = {"--results"},
+      description =
+          "CSV file the results of batch mode are written to. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "results.csv")
+  String resultsFile;
+
+  @Parameters(
+      paramLabel = "file",
+      description =
+          "The file containing the problem instance; may be gzip or zstd compressed. Use - to read from standard input. In batch mode, a directory or manifest.")
   String file;
 }
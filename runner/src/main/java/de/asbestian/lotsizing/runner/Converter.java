@@ -0,0 +1,70 @@
+package de.asbestian.lotsizing.runner;
+
+import de.asbestian.lotsizing.input.BinaryInput;
+import de.asbestian.lotsizing.input.Input;
+import de.asbestian.lotsizing.input.Inputs;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+/**
+ * Converts instance files into the compact binary format read by {@link BinaryInput}.
+ *
+ * @author Sebastian Schenker
+ */
+@Command(
+    name = "convert",
+    mixinStandardHelpOptions = true,
+    version = "1.0",
+    description = "Converts lot sizing instances into the binary instance format.")
+public class Converter implements Callable<Integer> {
+
+  static final String EXTENSION = ".lsib";
+
+  @Option(
+      names = {"-o", "--output"},
+      description =
+          "Directory of the converted files. Default is the directory of the respective instance.")
+  Path outputDir;
+
+  @Parameters(
+      paramLabel = "file",
+      arity = "1..*",
+      description = "Instance files; each is written to a file with extension " + EXTENSION + ".")
+  List<Path> files;
+
+  public static void main(String... args) {
+    final int exitCode = new CommandLine(new Converter()).execute(args);
+    System.exit(exitCode);
+  }
+
+  @Override
+  public Integer call() {
+    int exitCode = 0;
+    for (final Path file : files) {
+      final Path target = getTarget(file);
+      try {
+        final Input input = Inputs.read(file.toString());
+        BinaryInput.write(input, target);
+        System.out.println(file + " -> " + target);
+      } catch (final IOException | RuntimeException e) {
+        System.err.println("Cannot convert " + file + ": " + e.getMessage());
+        exitCode = 1;
+      }
+    }
+    return exitCode;
+  }
+
+  private Path getTarget(final Path file) {
+    final String name = file.getFileName().toString();
+    final int dot = name.lastIndexOf('.');
+    final String target = (dot > 0 ? name.substring(0, dot) : name) + EXTENSION;
+    final Path dir = outputDir != null ? outputDir : file.toAbsolutePath().getParent();
+    return dir.resolve(target);
+  }
+}
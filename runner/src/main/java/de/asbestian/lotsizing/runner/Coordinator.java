@@ -0,0 +1,331 @@
+package de.asbestian.lotsizing.runner;
+
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.input.Input;
+import de.asbestian.lotsizing.input.Inputs;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+/**
+ * Island model: launches several {@link IslandWorker} processes, each running its own search with
+ * different parameters, and exchanges the best schedules between them via loopback sockets (see
+ * {@link IslandProtocol}). Each island has its own heap and garbage collector; as islands only
+ * exchange schedules, they may later run on different hosts as well.
+ *
+ * <p>Island i uses the i-th solver and neighbourhood size of the given lists (cyclically) and the
+ * seed incremented by i. Island 0 starts from the optimal inventory cost schedule, all others from
+ * random schedules.
+ *
+ * @author Sebastian Schenker
+ */
+@Command(
+    name = "coordinator",
+    mixinStandardHelpOptions = true,
+    version = "1.0",
+    description = "Solves a lot sizing instance with several cooperating solver processes.")
+public class Coordinator implements Callable<Integer> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(Coordinator.class);
+  private static final long STARTUP_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+  private static final int ACCEPT_TIMEOUT_MILLIS = 1000;
+
+  @Option(
+      names = {"-i", "--islands"},
+      description = "Number of solver processes. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "4")
+  int numIslands;
+
+  @Option(
+      names = {"-t", "--timeLimit"},
+      description = "Time limit (in seconds) of computation. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "600")
+  double timeLimit;
+
+  @Option(
+      names = {"--exchangeInterval"},
+      description =
+          "Interval (in seconds) between consecutive exchanges of schedules. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "5")
+  double exchangeInterval;
+
+  @Option(
+      names = {"-s", "--solvers"},
+      split = ",",
+      description =
+          "Solvers assigned cyclically to the islands, e.g., lns,relink. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "lns")
+  List<String> solverNames;
+
+  @Option(
+      names = {"-n", "--neighbourhoods"},
+      split = ",",
+      description =
+          "Neighbourhood sizes assigned cyclically to the islands. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "3,4,5")
+  List<Integer> neighbourhoodSizes;
+
+  @Option(
+      names = {"-g", "--greatestDescent"},
+      description = "Use greatest descent improvement on all islands.",
+      defaultValue = "false")
+  boolean greatestDescent;
+
+  @Option(
+      names = {"--seed"},
+      description = "Seed of the first island. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "1")
+  long seed;
+
+  @Option(
+      names = {"--threads"},
+      description =
+          "Number of threads of parallel solvers per island. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "1")
+  int numThreads;
+
+  @Option(
+      names = {"--window"},
+      description =
+          "Number of time slots per window of rolling horizon solvers on all islands. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "50")
+  int windowSize;
+
+  @Option(
+      names = {"--overlap"},
+      description =
+          "Number of time slots shared by consecutive windows of rolling horizon solvers on all islands. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "10")
+  int windowOverlap;
+
+  @Option(
+      names = {"--maxEarliness"},
+      description =
+          "Maximum number of time slots an item is produced before its due date on all islands: a number, none or auto (derived from the costs; a lossy heuristic which may exclude optimal schedules). Default value is ${DEFAULT-VALUE}.",
+      defaultValue = MaxEarlinessConverter.NONE)
+  String maxEarliness;
+
+  @Option(
+      names = {"--compressIdle"},
+      description = "Omit time slots of long idle periods on all islands.",
+      defaultValue = "false")
+  boolean compressIdle;
+
+  @Option(
+      names = {"--jvmOptions"},
+      description = "Options of the island JVMs separated by spaces, e.g., \"-Xmx2g -XX:+UseZGC\".")
+  String jvmOptions;
+
+  @Parameters(paramLabel = "file", description = "The file containing the problem instance.")
+  String file;
+
+  private Problem problem;
+  private String fingerprint;
+  private Schedule bestSchedule;
+  private int bestIsland = -1;
+
+  public static void main(String... args) {
+    final int exitCode = new CommandLine(new Coordinator()).execute(args);
+    System.exit(exitCode);
+  }
+
+  @Override
+  public Integer call() throws InterruptedException {
+    if (numIslands < 1 || exchangeInterval <= 0) {
+      System.err.println("Number of islands and exchange interval must be positive.");
+      return 1;
+    }
+    final int earliness;
+    try {
+      earliness = MaxEarlinessConverter.parse(maxEarliness);
+    } catch (final IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      return 1;
+    }
+    if (!Files.exists(Paths.get(file))) {
+      System.err.println("Given file cannot be found.");
+      return 1;
+    }
+    final Input input = Inputs.read(file);
+    // islands reject schedules which are infeasible with respect to their problem
+    problem = new Problem(input, earliness, compressIdle);
+    fingerprint = Inputs.fingerprint(input);
+    bestSchedule = problem.computeOptimalInventoryCostSchedule();
+    final List<Process> islands = new ArrayList<>();
+    final ExecutorService handlers = Executors.newFixedThreadPool(numIslands);
+    final Thread shutdownHook = new Thread(() -> islands.forEach(Process::destroy));
+    Runtime.getRuntime().addShutdownHook(shutdownHook);
+    try (final ServerSocket server =
+        new ServerSocket(0, numIslands, InetAddress.getLoopbackAddress())) {
+      for (int id = 0; id < numIslands; ++id) {
+        islands.add(launch(id, server.getLocalPort()));
+      }
+      server.setSoTimeout(ACCEPT_TIMEOUT_MILLIS);
+      final long deadline = System.nanoTime() + STARTUP_TIMEOUT_NANOS;
+      int numConnected = 0;
+      while (numConnected < numIslands
+          && System.nanoTime() - deadline < 0
+          && islands.stream().anyMatch(Process::isAlive)) {
+        try {
+          final Socket socket = server.accept();
+          handlers.execute(() -> serve(socket));
+          ++numConnected;
+        } catch (final SocketTimeoutException e) {
+          // check whether islands are still alive
+        }
+      }
+      if (numConnected < numIslands) {
+        LOGGER.warn("Only {} of {} islands connected", numConnected, numIslands);
+      }
+    } catch (final IOException e) {
+      System.err.println("Islands cannot be started: " + e.getMessage());
+      islands.forEach(Process::destroy);
+      return 1;
+    } finally {
+      handlers.shutdown();
+    }
+    int numFailed = 0;
+    for (int id = 0; id < islands.size(); ++id) {
+      final int exitCode = islands.get(id).waitFor();
+      if (exitCode != 0) {
+        LOGGER.warn("Island {} exited with code {}", id, exitCode);
+        ++numFailed;
+      }
+    }
+    handlers.awaitTermination(ACCEPT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    Runtime.getRuntime().removeShutdownHook(shutdownHook);
+    final Schedule schedule = getBestSchedule();
+    LOGGER.info("Best found schedule: {}", schedule);
+    LOGGER.info(
+        "cost: {} (changeover cost = {}, inventory cost = {}), found by island {}",
+        schedule.getCost(),
+        schedule.getChangeOverCost(),
+        schedule.getInventoryCost(),
+        bestIsland);
+    return numFailed > 0 ? 1 : 0;
+  }
+
+  /** Launches the island of the given id which connects to the given port. */
+  private Process launch(final int id, final int port) throws IOException {
+    return new ProcessBuilder(islandCommand(id, port)).inheritIO().start();
+  }
+
+  /** Returns the command line of the island of the given id which connects to the given port. */
+  List<String> islandCommand(final int id, final int port) {
+    final List<String> command = new ArrayList<>();
+    command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+    if (jvmOptions != null && !jvmOptions.isBlank()) {
+      command.addAll(Arrays.asList(jvmOptions.trim().split("\\s+")));
+    }
+    command.addAll(List.of("-cp", System.getProperty("java.class.path")));
+    final String modulePath = System.getProperty("jdk.module.path");
+    if (modulePath != null) { // coordinator runs as module, e.g., in tests
+      command.addAll(
+          List.of(
+              "--module-path",
+              modulePath,
+              "--module",
+              IslandWorker.class.getModule().getName() + "/" + IslandWorker.class.getName()));
+    } else {
+      command.add(IslandWorker.class.getName());
+    }
+    command.addAll(
+        List.of(
+            "--coordinator=" + port,
+            "--id=" + id,
+            "--solver=" + solverNames.get(id % solverNames.size()),
+            "--neighbourhood=" + neighbourhoodSizes.get(id % neighbourhoodSizes.size()),
+            "--seed=" + (seed + id),
+            "--threads=" + numThreads,
+            "--window=" + windowSize,
+            "--overlap=" + windowOverlap,
+            "--maxEarliness=" + maxEarliness,
+            "--timeLimit=" + timeLimit,
+            "--exchangeInterval=" + exchangeInterval));
+    if (greatestDescent) {
+      command.add("--greatestDescent");
+    }
+    if (compressIdle) {
+      command.add("--compressIdle");
+    }
+    if (id > 0) {
+      command.add("--random");
+    }
+    command.add(file);
+    return command;
+  }
+
+  /** Serves the island connected via the given socket until it is done or disconnects. */
+  private void serve(final Socket socket) {
+    int id = -1;
+    try (socket;
+        final BufferedReader in =
+            new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        final PrintWriter out =
+            new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+      final String[] hello = IslandProtocol.split(in.readLine(), IslandProtocol.HELLO);
+      id = Integer.parseInt(hello[1]);
+      if (hello.length < 3 || !fingerprint.equals(hello[2])) {
+        out.println(IslandProtocol.ERROR + " Island solves a different instance");
+        return;
+      }
+      out.println(IslandProtocol.OK);
+      String line;
+      while ((line = in.readLine()) != null && !line.startsWith(IslandProtocol.DONE)) {
+        final Schedule schedule;
+        try {
+          schedule = problem.createSchedule(IslandProtocol.parseBest(line));
+        } catch (final IllegalArgumentException e) {
+          out.println(IslandProtocol.ERROR + " " + e.getMessage());
+          throw new IOException(e.getMessage());
+        }
+        out.println(IslandProtocol.best(offer(id, schedule)));
+      }
+      if (line != null) {
+        final String[] done = line.split(" ");
+        LOGGER.info("Island {} finished after {} iterations and {} cycles", id, done[1], done[2]);
+      } else {
+        LOGGER.warn("Island {} disconnected", id);
+      }
+    } catch (final IOException | RuntimeException e) {
+      LOGGER.warn("Island {} failed: {}", id, e.getMessage());
+    }
+  }
+
+  /** Offers the given schedule found by the given island and returns the globally best one. */
+  private synchronized Schedule offer(final int id, final Schedule schedule) {
+    if (schedule.getCost() < bestSchedule.getCost()) {
+      LOGGER.info("Island {} found schedule of cost {}", id, schedule.getCost());
+      bestSchedule = schedule;
+      bestIsland = id;
+    }
+    return bestSchedule;
+  }
+
+  synchronized Schedule getBestSchedule() {
+    return bestSchedule;
+  }
+}
@@ -0,0 +1,362 @@
+package de.asbestian.lotsizing.runner;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.asbestian.lotsizing.algorithm.Incumbent;
+import de.asbestian.lotsizing.algorithm.Progress;
+import de.asbestian.lotsizing.algorithm.Solver;
+import de.asbestian.lotsizing.algorithm.SolverListener;
+import de.asbestian.lotsizing.algorithm.Termination;
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.input.Input;
+import de.asbestian.lotsizing.input.Inputs;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Provider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Long-lived solver daemon which avoids the start-up of a JVM (and its cold JIT) per instance.
+ * Instances are posted via loopback HTTP and solved on a shared, bounded solver pool:
+ *
+ * <pre>
+ *   curl --data-binary @instance.txt 'http://127.0.0.1:8642/solve?solver=lns&amp;timeLimit=5'
+ * </pre>
+ *
+ * The request body contains the instance in any format understood by {@link Inputs}; the query
+ * parameters are described by {@link SolveRequest}. The instance is read and the solver is set up
+ * on the solver pool as well. The response is streamed as newline-delimited JSON: one {@code
+ * incumbent} line per improved schedule followed by a single {@code result} line containing the
+ * best found schedule (or an {@code error} line). If no other line is due for a second, a {@code
+ * progress} line is sent. Invalid requests are answered with status 400. If the client
+ * disconnects, the corresponding search is cancelled at the latest with the next line; a request
+ * waiting for the solver pool is only cancelled once it has started.
+ *
+ * @author Sebastian Schenker
+ */
+@Command(
+    name = "daemon",
+    mixinStandardHelpOptions = true,
+    version = "1.0",
+    description = "Runs a solver daemon accepting lot sizing instances via loopback HTTP.")
+public class Daemon implements Callable<Integer> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(Daemon.class);
+  private static final String END = "";
+  private static final long POLL_MILLIS = 100;
+  private static final long KEEP_ALIVE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  @Option(
+      names = {"-p", "--port"},
+      description = "Port the daemon listens on. Default is ${DEFAULT-VALUE}.")
+  int port = 8642;
+
+  @Option(
+      names = {"--host"},
+      description =
+          "Address the daemon binds to. Default is ${DEFAULT-VALUE}, i.e., only local clients are served.")
+  String host = "127.0.0.1";
+
+  @Option(
+      names = {"--poolSize"},
+      description =
+          "Number of instances solved concurrently; further requests wait. Default is the number of available processors.")
+  int poolSize = Runtime.getRuntime().availableProcessors();
+
+  @Option(
+      names = {"--defaultTimeLimit"},
+      description = "Time limit (in seconds) of requests not giving one. Default is ${DEFAULT-VALUE}.")
+  double defaultTimeLimit = 10;
+
+  @Option(
+      names = {"--maxTimeLimit"},
+      description = "Upper bound on the time limit (in seconds) of each request. Default is ${DEFAULT-VALUE}.")
+  double maxTimeLimit = 300;
+
+  private ExecutorService solverPool;
+  private final AtomicInteger numRequests = new AtomicInteger();
+
+  public static void main(String... args) {
+    final int exitCode = new CommandLine(new Daemon()).execute(args);
+    System.exit(exitCode);
+  }
+
+  @Override
+  public Integer call() throws InterruptedException {
+    if (poolSize < 1 || defaultTimeLimit < 0 || maxTimeLimit < 0) {
+      System.err.println("Pool size must be positive and time limits non-negative.");
+      return 1;
+    }
+    final HttpServer server;
+    try {
+      server = HttpServer.create(new InetSocketAddress(host, port), 0);
+    } catch (final IOException e) {
+      System.err.println("Cannot listen on " + host + ":" + port + ": " + e.getMessage());
+      return 1;
+    }
+    solverPool = Executors.newFixedThreadPool(poolSize, newThreadFactory("solver"));
+    server.setExecutor(Executors.newCachedThreadPool(newThreadFactory("request")));
+    server.createContext("/health", this::handleHealth);
+    server.createContext("/solve", this::handleSolve);
+    final CountDownLatch stopped = new CountDownLatch(1);
+    Runtime.getRuntime()
+        .addShutdownHook(
+            new Thread(
+                () -> {
+                  server.stop(0);
+                  solverPool.shutdownNow();
+                  stopped.countDown();
+                }));
+    server.start();
+    LOGGER.info(
+        "Listening on {}:{} with {} solver threads", host, server.getAddress().getPort(), poolSize);
+    stopped.await();
+    return 0;
+  }
+
+  private static ThreadFactory newThreadFactory(final String prefix) {
+    final AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      final Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private void handleHealth(final HttpExchange exchange) throws IOException {
+    try {
+      send(exchange, 200, "{\"status\":\"ok\"}\n");
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void handleSolve(final HttpExchange exchange) throws IOException {
+    try {
+      if (!"POST".equals(exchange.getRequestMethod())) {
+        exchange.getResponseHeaders().add("Allow", "POST");
+        send(exchange, 405, error("Instances need to be posted"));
+        return;
+      }
+      final int id = numRequests.incrementAndGet();
+      final SolveRequest request;
+      try {
+        request =
+            new SolveRequest(
+                exchange.getRequestURI().getRawQuery(), defaultTimeLimit, maxTimeLimit);
+      } catch (final RuntimeException e) {
+        send(exchange, 400, error(e.getMessage()));
+        return;
+      }
+      stream(exchange, id, request);
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /**
+   * Reads the instance of the request and creates the requested solver.
+   *
+   * @throws RuntimeException if the instance is invalid or infeasible or the solver is unknown
+   */
+  private static Setup setUp(
+      final HttpExchange exchange, final int id, final SolveRequest request) {
+    final Input input = Inputs.read(exchange.getRequestBody(), "request-" + id);
+    if (!Inputs.isFeasible(input)) {
+      throw new IllegalArgumentException("Instance is infeasible");
+    }
+    final DaemonComponent dagger =
+        DaggerDaemonComponent.builder()
+            .input(input)
+            .resGraphVertexSize(request.neighbourhoodSize)
+            .greatestDescent(request.greatestDescent)
+            .numThreads(request.numThreads)
+            .windowSize(request.windowSize)
+            .windowOverlap(request.windowOverlap)
+            .seed(request.seed)
+            .maxEarliness(request.maxEarliness)
+            .compressIdle(request.compressIdle)
+            .build();
+    final Provider<Solver> provider = dagger.solvers().get(request.solverName);
+    if (provider == null) {
+      throw new IllegalArgumentException("Unknown solver: " + request.solverName);
+    }
+    LOGGER.info(
+        "Request {}: {} time slots, {} types, solver {}",
+        id,
+        input.getNumTimeSlots(),
+        input.getNumTypes(),
+        request.solverName);
+    return new Setup(dagger, provider.get());
+  }
+
+  /**
+   * Solves the request on the solver pool and streams the events of the search to the client. The
+   * instance is read and the solver is created on the solver pool as well; if this fails, the
+   * request is answered with status 400.
+   */
+  private void stream(final HttpExchange exchange, final int id, final SolveRequest request)
+      throws IOException {
+    final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+    final SolverListener listener =
+        new SolverListener() {
+          @Override
+          public void onIncumbent(final Incumbent incumbent) {
+            if (request.streamIncumbents) {
+              events.add(
+                  String.format(
+                      "{\"event\":\"incumbent\",\"elapsedNanos\":%d,\"iteration\":%d,\"cost\":%s}",
+                      incumbent.getElapsedNanos(), incumbent.getIteration(), incumbent.getCost()));
+            }
+          }
+
+          @Override
+          public void onFinished(final Schedule bestSchedule, final Progress progress) {
+            events.add(END);
+          }
+        };
+    final Termination termination = request.createTermination();
+    final CompletableFuture<Void> started = new CompletableFuture<>();
+    final Future<Schedule> future =
+        solverPool.submit(
+            () -> {
+              final Setup setup;
+              try {
+                setup = setUp(exchange, id, request);
+              } catch (final RuntimeException e) {
+                started.completeExceptionally(e);
+                throw e;
+              }
+              setup.solver.addListener(listener);
+              started.complete(null);
+              final Problem problem = setup.dagger.problem();
+              final Schedule initSchedule =
+                  request.randomSchedule
+                      ? problem.computeRandomSchedule()
+                      : problem.computeOptimalInventoryCostSchedule();
+              return setup.solver.search(initSchedule, termination);
+            });
+    try {
+      started.get();
+    } catch (final ExecutionException e) {
+      send(exchange, 400, error(e.getCause().getMessage()));
+      return;
+    } catch (final InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      return;
+    }
+    exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+    exchange.sendResponseHeaders(200, 0);
+    final OutputStream out = exchange.getResponseBody();
+    try {
+      final long begin = System.nanoTime();
+      long lastWrite = begin;
+      while (true) {
+        final String event = events.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (END.equals(event)) {
+          break;
+        }
+        if (event != null) {
+          writeLine(out, event);
+          lastWrite = System.nanoTime();
+        } else if (future.isDone() && events.isEmpty()) {
+          break; // the search failed and thus finishes without event
+        } else if (System.nanoTime() - lastWrite >= KEEP_ALIVE_NANOS) {
+          // a write to a disconnected client fails; hence, the search is cancelled in time
+          writeLine(out, progress(System.nanoTime() - begin, termination));
+          lastWrite = System.nanoTime();
+        }
+      }
+      writeLine(out, result(future.get(), termination));
+    } catch (final IOException e) {
+      LOGGER.warn("Client disconnected; search is cancelled.");
+      termination.cancel();
+      future.cancel(false);
+    } catch (final ExecutionException e) {
+      writeLine(out, error(String.valueOf(e.getCause())));
+    } catch (final InterruptedException e) {
+      termination.cancel();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String progress(final long elapsedNanos, final Termination termination) {
+    return String.format(
+        "{\"event\":\"progress\",\"elapsedNanos\":%d,\"iterations\":%d}",
+        elapsedNanos, termination.getNumIterations());
+  }
+
+  private static String result(final Schedule schedule, final Termination termination) {
+    return String.format(
+        "{\"event\":\"result\",\"cost\":%s,\"changeOverCost\":%s,\"inventoryCost\":%s,"
+            + "\"elapsedNanos\":%d,\"iterations\":%d,\"cycles\":%d,\"schedule\":%s}",
+        schedule.getCost(),
+        schedule.getChangeOverCost(),
+        schedule.getInventoryCost(),
+        termination.getElapsedNanos(),
+        termination.getNumIterations(),
+        termination.getNumCycles(),
+        Arrays.toString(schedule.getSlotTypes()).replace(" ", ""));
+  }
+
+  private static String error(final String message) {
+    final StringBuilder builder = new StringBuilder("{\"event\":\"error\",\"message\":\"");
+    for (final char c : String.valueOf(message).toCharArray()) {
+      if (c == '"' || c == '\\') {
+        builder.append('\\').append(c);
+      } else if (c < 0x20) {
+        builder.append(String.format("\\u%04x", (int) c));
+      } else {
+        builder.append(c);
+      }
+    }
+    return builder.append("\"}").toString();
+  }
+
+  private static void writeLine(final OutputStream out, final String line) throws IOException {
+    out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+    out.flush();
+  }
+
+  private static void send(final HttpExchange exchange, final int status, final String body)
+      throws IOException {
+    final byte[] bytes =
+        (body.endsWith("\n") ? body : body + "\n").getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    exchange.getResponseBody().write(bytes);
+  }
+
+  /** Component and solver created for a request. */
+  private static class Setup {
+
+    private final DaemonComponent dagger;
+    private final Solver solver;
+
+    Setup(final DaemonComponent dagger, final Solver solver) {
+      this.dagger = dagger;
+      this.solver = solver;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package de.asbestian.lotsizing.runner;
+
+import dagger.BindsInstance;
+import dagger.Component;
+import de.asbestian.lotsizing.algorithm.EnumerationModule;
+import de.asbestian.lotsizing.algorithm.LocalSearchModule;
+import de.asbestian.lotsizing.algorithm.PathRelinkingModule;
+import de.asbestian.lotsizing.algorithm.RollingHorizonModule;
+import de.asbestian.lotsizing.algorithm.Solver;
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.input.Input;
+import java.util.Map;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+/**
+ * Component of a single daemon request. Unlike {@link RunnerComponent}, the input is not read
+ * from a file but given directly.
+ *
+ * @author Sebastian Schenker
+ */
+@Component(
+    modules = {
+      EnumerationModule.class,
+      LocalSearchModule.class,
+      PathRelinkingModule.class,
+      RollingHorizonModule.class
+    })
+@Singleton
+public abstract class DaemonComponent {
+  abstract Problem problem();
+
+  abstract Map<String, Provider<Solver>> solvers();
+
+  @Component.Builder
+  interface Builder {
+    @BindsInstance
+    Builder input(final Input input);
+
+    @BindsInstance
+    Builder resGraphVertexSize(final int size);
+
+    @BindsInstance
+    Builder greatestDescent(final boolean descent);
+
+    @BindsInstance
+    Builder numThreads(@Named("numThreads") final int numThreads);
+
+    @BindsInstance
+    Builder windowSize(@Named("windowSize") final int windowSize);
+
+    @BindsInstance
+    Builder windowOverlap(@Named("windowOverlap") final int windowOverlap);
+
+    @BindsInstance
+    Builder seed(@Named("seed") final long seed);
+
+    @BindsInstance
+    Builder maxEarliness(@Named("maxEarliness") final int maxEarliness);
+
+    @BindsInstance
+    Builder compressIdle(@Named("compressIdle") final boolean compressIdle);
+
+    DaemonComponent build();
+  }
+}
@@ -0,0 +1,148 @@
+package de.asbestian.lotsizing.runner;
+
+import de.asbestian.lotsizing.input.BinaryInput;
+import de.asbestian.lotsizing.input.FileInput;
+import de.asbestian.lotsizing.input.Input;
+import de.asbestian.lotsizing.input.InstanceGenerator;
+import de.asbestian.lotsizing.input.InstanceGenerator.ChangeOverStructure;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+/**
+ * Generates synthetic instances via {@link InstanceGenerator}.
+ *
+ * @author Sebastian Schenker
+ */
+@Command(
+    name = "generate",
+    mixinStandardHelpOptions = true,
+    version = "1.0",
+    description = "Generates a synthetic lot sizing instance.")
+public class Generator implements Callable<Integer> {
+
+  @Option(
+      names = {"-t", "--timeSlots"},
+      description = "Number of time slots. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "100")
+  int numTimeSlots;
+
+  @Option(
+      names = {"-k", "--types"},
+      description = "Number of types. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "10")
+  int numTypes;
+
+  @Option(
+      names = {"-d", "--density"},
+      description =
+          "Number of items relative to the number of time slots; in (0, 1]. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "0.9")
+  double density;
+
+  @Option(
+      names = {"-c", "--clustering"},
+      description =
+          "Probability of an item to be due at the next cluster time slot; in [0, 1]. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "0")
+  double clustering;
+
+  @Option(
+      names = {"--clusterInterval"},
+      description = "Distance between cluster time slots. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "10")
+  int clusterInterval;
+
+  @Option(
+      names = {"-i", "--inventoryCost"},
+      description = "Inventory cost per item and time slot. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "10")
+  int inventoryCost;
+
+  @Option(
+      names = {"--changeOver"},
+      description =
+          "Structure of the change over costs: ${COMPLETION-CANDIDATES}. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "RANDOM")
+  ChangeOverStructure changeOverStructure;
+
+  @Option(
+      names = {"--families"},
+      description =
+          "Number of type families of the FAMILY structure. Zero means about square root of types.",
+      defaultValue = "0")
+  int numFamilies;
+
+  @Option(
+      names = {"--minCost"},
+      description = "Minimum change over cost. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "100")
+  int minChangeOverCost;
+
+  @Option(
+      names = {"--maxCost"},
+      description = "Maximum change over cost. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "200")
+  int maxChangeOverCost;
+
+  @Option(
+      names = {"--seed"},
+      description = "Seed of the generator. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "1")
+  long seed;
+
+  @Option(
+      names = {"-b", "--binary"},
+      description = "Write the binary instance format instead of the text format.",
+      defaultValue = "false")
+  boolean binary;
+
+  @Parameters(paramLabel = "file", description = "The file the instance is written to.")
+  Path file;
+
+  public static void main(String... args) {
+    final int exitCode = new CommandLine(new Generator()).execute(args);
+    System.exit(exitCode);
+  }
+
+  @Override
+  public Integer call() {
+    final Input input;
+    try {
+      input =
+          InstanceGenerator.builder()
+              .numTimeSlots(numTimeSlots)
+              .numTypes(numTypes)
+              .density(density)
+              .clustering(clustering)
+              .clusterInterval(clusterInterval)
+              .inventoryCost(inventoryCost)
+              .changeOverStructure(changeOverStructure)
+              .numFamilies(numFamilies)
+              .changeOverCost(minChangeOverCost, maxChangeOverCost)
+              .seed(seed)
+              .build()
+              .generate();
+    } catch (final IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      return 1;
+    }
+    try {
+      if (binary) {
+        BinaryInput.write(input, file);
+      } else {
+        FileInput.write(input, file);
+      }
+    } catch (final IOException e) {
+      System.err.println("Instance cannot be written: " + e.getMessage());
+      return 1;
+    }
+    System.out.println(
+        "Generated " + input.getNumProducedItems() + " items in " + numTimeSlots + " time slots.");
+    return 0;
+  }
+}
@@ -0,0 +1,133 @@
+package de.asbestian.lotsizing.runner;
+
+import de.asbestian.lotsizing.graph.Schedule;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of solving a single instance: either the best found schedule together with the search
+ * statistics or the reason of the failure.
+ *
+ * @author Sebastian Schenker
+ */
+class InstanceResult {
+
+  static final String CSV_HEADER =
+      "file,status,cost,changeOverCost,inventoryCost,setupSeconds,searchSeconds,iterations,cycles,"
+          + "schedule";
+
+  private final String file;
+  private final Schedule schedule; // null if solving failed
+  private final long setupNanos;
+  private final long searchNanos;
+  private final long numIterations;
+  private final long numCycles;
+  private final String error;
+
+  private InstanceResult(
+      final String file,
+      final Schedule schedule,
+      final long setupNanos,
+      final long searchNanos,
+      final long numIterations,
+      final long numCycles,
+      final String error) {
+    this.file = file;
+    this.schedule = schedule;
+    this.setupNanos = setupNanos;
+    this.searchNanos = searchNanos;
+    this.numIterations = numIterations;
+    this.numCycles = numCycles;
+    this.error = error;
+  }
+
+  /**
+   * Creates the result of a successful run.
+   *
+   * @param file Instance file
+   * @param schedule Best found schedule
+   * @param setupNanos Time spent reading the input and computing the initial schedule
+   * @param searchNanos Time spent searching
+   * @param numIterations Number of search iterations
+   * @param numCycles Number of evaluated cycles
+   */
+  static InstanceResult solved(
+      final String file,
+      final Schedule schedule,
+      final long setupNanos,
+      final long searchNanos,
+      final long numIterations,
+      final long numCycles) {
+    return new InstanceResult(
+        file, schedule, setupNanos, searchNanos, numIterations, numCycles, null);
+  }
+
+  static InstanceResult failed(final String file, final String error) {
+    return new InstanceResult(file, null, 0, 0, 0, 0, error);
+  }
+
+  boolean isSolved() {
+    return schedule != null;
+  }
+
+  String getFile() {
+    return file;
+  }
+
+  /** Returns the best found schedule; null if solving failed. */
+  Schedule getSchedule() {
+    return schedule;
+  }
+
+  String getError() {
+    return error;
+  }
+
+  /**
+   * Returns the result as CSV line matching {@link #CSV_HEADER}. The schedule is given as
+   * space-separated item types per time slot (-1 for idle time slots); for failed runs the error
+   * message is given instead.
+   */
+  String toCsv() {
+    final StringBuilder line = new StringBuilder(quote(file)).append(',');
+    if (!isSolved()) {
+      return line.append("failed,,,,,,,,").append(quote(error)).toString();
+    }
+    line.append("solved,")
+        .append(schedule.getCost())
+        .append(',')
+        .append(schedule.getChangeOverCost())
+        .append(',')
+        .append(schedule.getInventoryCost())
+        .append(',')
+        .append(toSeconds(setupNanos))
+        .append(',')
+        .append(toSeconds(searchNanos))
+        .append(',')
+        .append(numIterations)
+        .append(',')
+        .append(numCycles)
+        .append(',');
+    final int[] types = schedule.getSlotTypes();
+    for (int slot = 0; slot < types.length; ++slot) {
+      if (slot > 0) {
+        line.append(' ');
+      }
+      line.append(types[slot]);
+    }
+    return line.toString();
+  }
+
+  private static double toSeconds(final long nanos) {
+    return (double) nanos / TimeUnit.SECONDS.toNanos(1);
+  }
+
+  private static String quote(final String value) {
+    if (value == null) {
+      return "";
+    }
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
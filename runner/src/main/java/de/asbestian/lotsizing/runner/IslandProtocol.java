@@ -0,0 +1,73 @@
+package de.asbestian.lotsizing.runner;
+
+import de.asbestian.lotsizing.graph.Schedule;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Line-based text protocol between the {@link Coordinator} and its {@link IslandWorker}s. Each
+ * island connects to the coordinator and sends
+ *
+ * <pre>
+ *   HELLO &lt;id&gt; &lt;fingerprint&gt;    answered by OK or ERROR &lt;message&gt;
+ *   BEST &lt;types&gt;               after each epoch; answered by BEST of the global best
+ *   DONE &lt;iterations&gt; &lt;cycles&gt;  before disconnecting
+ * </pre>
+ *
+ * Schedules are given as produced type of each time slot (-1 for idle time slots), separated by
+ * spaces. The receiver recomputes their cost; hence, costs are never transferred.
+ *
+ * @author Sebastian Schenker
+ */
+final class IslandProtocol {
+
+  static final String HELLO = "HELLO";
+  static final String OK = "OK";
+  static final String BEST = "BEST";
+  static final String DONE = "DONE";
+  static final String ERROR = "ERROR";
+
+  private IslandProtocol() {}
+
+  static String best(final Schedule schedule) {
+    final StringBuilder line = new StringBuilder(BEST);
+    for (final int type : schedule.getSlotTypes()) {
+      line.append(' ').append(type);
+    }
+    return line.toString();
+  }
+
+  /**
+   * Parses the slot types of the given BEST line.
+   *
+   * @throws IOException if the line is no BEST line
+   */
+  static int[] parseBest(final String line) throws IOException {
+    final String[] tokens = split(line, BEST);
+    try {
+      return Arrays.stream(tokens, 1, tokens.length).mapToInt(Integer::parseInt).toArray();
+    } catch (final NumberFormatException e) {
+      throw new IOException("Invalid type " + e.getMessage());
+    }
+  }
+
+  /**
+   * Splits the given line into its tokens.
+   *
+   * @throws IOException if the line is missing, an error or does not start with the expected
+   *     keyword
+   */
+  static String[] split(final String line, final String keyword) throws IOException {
+    if (line == null) {
+      throw new IOException("Connection closed");
+    }
+    final String[] tokens = line.trim().split(" ");
+    if (ERROR.equals(tokens[0])) {
+      throw new IOException(line.substring(ERROR.length()).trim());
+    }
+    if (!keyword.equals(tokens[0])) {
+      throw new IOException("Expected " + keyword + " but received " + tokens[0]);
+    }
+    return tokens;
+  }
+}
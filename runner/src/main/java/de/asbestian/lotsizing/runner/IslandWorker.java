@@ -0,0 +1,199 @@
+package de.asbestian.lotsizing.runner;
+
+import de.asbestian.lotsizing.algorithm.Solver;
+import de.asbestian.lotsizing.algorithm.Termination;
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.input.Inputs;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import javax.inject.Provider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+/**
+ * Island of the {@link Coordinator}, i.e., a solver process searching in epochs. After each epoch,
+ * the best found schedule is sent to the coordinator which answers with the globally best
+ * schedule. The next epoch starts from the better of both. An island stops at its time limit, if
+ * its search stops early without being given a better schedule, or if the coordinator is gone.
+ *
+ * @author Sebastian Schenker
+ */
+@Command(
+    name = "island",
+    mixinStandardHelpOptions = true,
+    version = "1.0",
+    description = "Runs an island of the coordinator; not meant to be started manually.")
+public class IslandWorker implements Callable<Integer> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(IslandWorker.class);
+
+  @Option(
+      names = {"--coordinator"},
+      description = "Loopback port of the coordinator.",
+      required = true)
+  int port;
+
+  @Option(
+      names = {"--id"},
+      description = "Number of the island.",
+      defaultValue = "0")
+  int id;
+
+  @Option(
+      names = {"-s", "--solver"},
+      description = "Solver to use. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "lns")
+  String solverName;
+
+  @Option(
+      names = {"-n", "--neighbourhood"},
+      description = "Size of initial demand vertex neighbourhood. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "4")
+  int neighbourhoodSize;
+
+  @Option(
+      names = {"-g", "--greatestDescent"},
+      description = "Use greatest descent improvement.",
+      defaultValue = "false")
+  boolean greatestDescent;
+
+  @Option(
+      names = {"-r", "--random"},
+      description = "Use random schedule as initial schedule.",
+      defaultValue = "false")
+  boolean randomSchedule;
+
+  @Option(
+      names = {"--seed"},
+      description = "Seed of the randomised solvers. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "1")
+  long seed;
+
+  @Option(
+      names = {"--threads"},
+      description = "Number of threads used by parallel solvers. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "1")
+  int numThreads;
+
+  @Option(
+      names = {"--window"},
+      description = "Time slots per window of rolling horizon. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "50")
+  int windowSize;
+
+  @Option(
+      names = {"--overlap"},
+      description = "Time slots shared by consecutive windows. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "10")
+  int windowOverlap;
+
+  @Option(
+      names = {"--maxEarliness"},
+      converter = MaxEarlinessConverter.class,
+      description = "Maximum earliness: a number, none or auto (lossy heuristic). Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "none")
+  int maxEarliness;
+
+  @Option(
+      names = {"--compressIdle"},
+      description = "Omit time slots of long idle periods.",
+      defaultValue = "false")
+  boolean compressIdle;
+
+  @Option(
+      names = {"-t", "--timeLimit"},
+      description = "Time limit (in seconds) of the island. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "60")
+  double timeLimit;
+
+  @Option(
+      names = {"--exchangeInterval"},
+      description = "Length (in seconds) of each epoch. Default value is ${DEFAULT-VALUE}.",
+      defaultValue = "5")
+  double exchangeInterval;
+
+  @Parameters(paramLabel = "file", description = "The file containing the problem instance.")
+  String file;
+
+  public static void main(String... args) {
+    final int exitCode = new CommandLine(new IslandWorker()).execute(args);
+    System.exit(exitCode);
+  }
+
+  @Override
+  public Integer call() {
+    final long deadline = System.nanoTime() + Math.round(timeLimit * 1e9);
+    final RunnerComponent dagger =
+        DaggerRunnerComponent.builder()
+            .fileName(file)
+            .resGraphVertexSize(neighbourhoodSize)
+            .greatestDescent(greatestDescent)
+            .numThreads(numThreads)
+            .windowSize(windowSize)
+            .windowOverlap(windowOverlap)
+            .seed(seed)
+            .maxEarliness(maxEarliness)
+            .compressIdle(compressIdle)
+            .build();
+    final Problem problem = dagger.problem();
+    final Provider<Solver> provider = dagger.solvers().get(solverName);
+    if (provider == null) {
+      System.err.println("Unknown solver: " + solverName);
+      return 1;
+    }
+    final Solver solver = provider.get();
+    try (final Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        final BufferedReader in =
+            new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        final PrintWriter out =
+            new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+      out.println(IslandProtocol.HELLO + " " + id + " " + Inputs.fingerprint(dagger.input()));
+      IslandProtocol.split(in.readLine(), IslandProtocol.OK);
+      Schedule schedule =
+          randomSchedule
+              ? problem.computeRandomSchedule()
+              : problem.computeOptimalInventoryCostSchedule();
+      long numIterations = 0;
+      long numCycles = 0;
+      while (true) {
+        final long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0) {
+          break;
+        }
+        final double epoch = Math.min(exchangeInterval, remainingNanos / 1e9);
+        final Termination termination = Termination.ofSeconds(epoch);
+        final Schedule found = solver.search(schedule, termination);
+        final boolean converged = !termination.isTimeLimitReached();
+        numIterations += termination.getNumIterations();
+        numCycles += termination.getNumCycles();
+        out.println(IslandProtocol.best(found));
+        final Schedule best = problem.createSchedule(IslandProtocol.parseBest(in.readLine()));
+        if (best.getCost() < found.getCost()) {
+          LOGGER.info("Island {} adopts schedule of cost {}", id, best.getCost());
+          schedule = best;
+        } else if (converged) {
+          break; // no island knows a better schedule
+        } else {
+          schedule = found;
+        }
+      }
+      out.println(IslandProtocol.DONE + " " + numIterations + " " + numCycles);
+    } catch (final IOException | IllegalArgumentException e) {
+      System.err.println("Island " + id + " failed: " + e.getMessage());
+      return 1;
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,46 @@
+package de.asbestian.lotsizing.runner;
+
+import de.asbestian.lotsizing.graph.Problem;
+import picocli.CommandLine.ITypeConverter;
+
+/**
+ * Converts a maximum earliness given as non-negative number of time slots, as {@value #NONE} (no
+ * limit) or as {@value #AUTO} (derived from the costs of the instance; a heuristic which may
+ * exclude optimal schedules).
+ *
+ * @author Sebastian Schenker
+ */
+class MaxEarlinessConverter implements ITypeConverter<Integer> {
+
+  static final String NONE = "none";
+  static final String AUTO = "auto";
+
+  @Override
+  public Integer convert(final String value) {
+    return parse(value);
+  }
+
+  /**
+   * Parses the given maximum earliness.
+   *
+   * @throws IllegalArgumentException if the value is invalid
+   */
+  static int parse(final String value) {
+    if (NONE.equals(value)) {
+      return Problem.UNBOUNDED_EARLINESS;
+    }
+    if (AUTO.equals(value)) {
+      return Problem.DERIVED_EARLINESS;
+    }
+    try {
+      final int maxEarliness = Integer.parseInt(value);
+      if (maxEarliness >= 0) {
+        return maxEarliness;
+      }
+    } catch (final NumberFormatException e) {
+      // handled below
+    }
+    throw new IllegalArgumentException(
+        "Invalid maximum earliness: " + value + " (expected a number, none or auto)");
+  }
+}
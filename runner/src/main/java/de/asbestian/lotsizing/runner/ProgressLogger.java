@@ -0,0 +1,37 @@
+package de.asbestian.lotsizing.runner;
+
+import de.asbestian.lotsizing.algorithm.Incumbent;
+import de.asbestian.lotsizing.algorithm.Progress;
+import de.asbestian.lotsizing.algorithm.SolverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs incumbents and search progress.
+ *
+ * @author Sebastian Schenker
+ */
+class ProgressLogger implements SolverListener {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ProgressLogger.class);
+
+  @Override
+  public void onIncumbent(final Incumbent incumbent) {
+    LOGGER.info(
+        "Incumbent after {} seconds (iteration {}): cost {}",
+        incumbent.getElapsedNanos() / 1e9,
+        incumbent.getIteration(),
+        incumbent.getCost());
+  }
+
+  @Override
+  public void onProgress(final Progress progress) {
+    LOGGER.info(
+        "Progress after {} seconds: {} iterations, {} cycles ({} cycles/second), best cost {}",
+        progress.getElapsedNanos() / 1e9,
+        progress.getNumIterations(),
+        progress.getNumCycles(),
+        Math.round(progress.getCyclesPerSecond()),
+        progress.getBestCost());
+  }
+}
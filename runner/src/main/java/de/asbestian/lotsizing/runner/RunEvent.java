@@ -0,0 +1,43 @@
+package de.asbestian.lotsizing.runner;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event covering an entire run of the runner.
+ *
+ * @author Sebastian Schenker
+ */
+@Name("de.asbestian.lotsizing.Run")
+@Label("Run")
+@Category("Lot Sizing")
+@Description("Solving a problem instance from reading the input until the best schedule is known")
+class RunEvent extends Event {
+
+  @Label("File")
+  String file;
+
+  @Label("Solver")
+  String solver;
+
+  @Label("Neighbourhood Size")
+  int neighbourhoodSize;
+
+  @Label("Time Limit")
+  @Timespan(Timespan.MILLISECONDS)
+  long timeLimit;
+
+  @Label("Iterations")
+  long numIterations;
+
+  @Label("Evaluated Cycles")
+  long numCycles;
+
+  @Label("Cost")
+  @Description("Cost of the best found schedule")
+  double cost;
+}
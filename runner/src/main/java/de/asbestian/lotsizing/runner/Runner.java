@@ -1,16 +1,30 @@
 package de.asbestian.lotsizing.runner;
 
+import de.asbestian.lotsizing.algorithm.Checkpoint;
+import de.asbestian.lotsizing.algorithm.Resumable;
+import de.asbestian.lotsizing.algorithm.RollingHorizon;
 import de.asbestian.lotsizing.algorithm.Solver;
+import de.asbestian.lotsizing.algorithm.Termination;
+import de.asbestian.lotsizing.algorithm.metrics.Metrics;
 import de.asbestian.lotsizing.graph.Cycle;
 import de.asbestian.lotsizing.graph.Problem;
 import de.asbestian.lotsizing.graph.Schedule;
 import de.asbestian.lotsizing.graph.vertex.Vertex;
+import de.asbestian.lotsizing.input.Input;
+import de.asbestian.lotsizing.input.Inputs;
 import de.asbestian.lotsizing.visualisation.Visualisation;
+import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
+import javax.inject.Provider;
 import org.jgrapht.Graph;
 import org.jgrapht.alg.util.Pair;
 import org.jgrapht.graph.DefaultEdge;
@@ -22,6 +36,9 @@ import picocli.CommandLine;
 public class Runner extends CmdArgs implements Callable<Integer> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(Runner.class);
+  private SolutionStore store;
+  private int[] initSlotTypes;
+  private int parallelism = 1; // number of concurrently solved instances
 
   public static void main(String... args) {
     final int exitCode = new CommandLine(new Runner()).execute(args);
@@ -30,36 +47,319 @@ public class Runner extends CmdArgs implements Callable<Integer> {
 
   @Override
   public Integer call() {
-    if (!Files.exists(Paths.get(file))) {
+    store = warmStart ? new SolutionStore(Paths.get(storeDir)) : null;
+    if (initSchedule != null) {
+      try {
+        initSlotTypes = parseSlotTypes(initSchedule);
+      } catch (final IOException | IllegalArgumentException e) {
+        System.err.println("Initial schedule cannot be read: " + e.getMessage());
+        return 1;
+      }
+    }
+    if (batch) {
+      return solveBatch();
+    }
+    if (!Inputs.STDIN.equals(file) && !Files.exists(Paths.get(file))) {
       System.err.println("Given file cannot be found.");
       return 1;
     }
+    logSettings();
+    Metrics.registerMBean();
+    final InstanceResult result;
+    try {
+      result = solve(file, trajectoryFile != null ? Paths.get(trajectoryFile) : null);
+    } catch (final IOException e) {
+      System.err.println("Search cannot be run: " + e.getMessage());
+      return 1;
+    } catch (final IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      return 1;
+    }
+    final Schedule schedule = result.getSchedule();
+    LOGGER.info("Best found schedule: {}", schedule);
+    LOGGER.info(
+        "cost: {} (changeover cost = {}, inventory cost = {})",
+        schedule.getCost(),
+        schedule.getChangeOverCost(),
+        schedule.getInventoryCost());
+    return writeMetrics();
+  }
+
+  /**
+   * Solves each instance of the given directory or manifest on a bounded thread pool and writes
+   * the consolidated results.
+   */
+  private int solveBatch() {
+    final List<String> files;
+    try {
+      files = BatchRunner.listInstances(Paths.get(file));
+    } catch (final IOException e) {
+      System.err.println("Instances cannot be listed: " + e.getMessage());
+      return 1;
+    }
+    if (trajectoryFile != null) {
+      LOGGER.warn("Trajectories are not written in batch mode.");
+    }
+    if (checkpointFile != null || resumeFile != null) {
+      LOGGER.warn("Checkpoints are not supported in batch mode.");
+    }
+    logSettings();
+    Metrics.registerMBean();
+    parallelism =
+        numParallelInstances > 0
+            ? numParallelInstances
+            : Runtime.getRuntime().availableProcessors();
+    final List<InstanceResult> results =
+        new BatchRunner(instance -> solve(instance, null), parallelism).solve(files);
+    try {
+      BatchRunner.write(results, Paths.get(resultsFile));
+    } catch (final IOException e) {
+      System.err.println("Results cannot be written: " + e.getMessage());
+      return 1;
+    }
+    final long numFailed = results.stream().filter(result -> !result.isSolved()).count();
+    LOGGER.info(
+        "Solved {} of {} instances; results written to {}",
+        results.size() - numFailed,
+        results.size(),
+        resultsFile);
+    final int exitCode = writeMetrics();
+    return numFailed > 0 ? 1 : exitCode;
+  }
+
+  private void logSettings() {
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Initial schedule: {}", randomSchedule ? "random" : "optimal inventory cost");
       LOGGER.debug("Neighbourhood size: {}", neighbourhoodSize);
       LOGGER.debug("Time limit: {} seconds", timeLimit);
     }
+  }
+
+  private int writeMetrics() {
+    if (metricsFile != null) {
+      try {
+        Files.writeString(Paths.get(metricsFile), Metrics.toJson());
+      } catch (final IOException e) {
+        System.err.println("Metrics cannot be written: " + e.getMessage());
+        return 1;
+      }
+    }
+    return 0;
+  }
 
+  /**
+   * Solves the instance contained in the given file. Each call uses its own {@link
+   * RunnerComponent}; hence, instances may be solved concurrently.
+   *
+   * @param instance File containing the instance
+   * @param trajectory File the trajectory is written to; null if no trajectory is written
+   * @return Result containing the best found schedule
+   * @throws IllegalArgumentException if the solver is unknown
+   */
+  InstanceResult solve(final String instance, final Path trajectory) throws IOException {
+    final RunEvent event = new RunEvent();
+    event.begin();
+    final long start = System.nanoTime();
     final RunnerComponent dagger =
         DaggerRunnerComponent.builder()
-            .fileName(file)
+            .fileName(instance)
             .resGraphVertexSize(neighbourhoodSize)
             .greatestDescent(greatestDescent)
+            .numThreads(
+                getNumThreads(
+                    numThreads, parallelism, Runtime.getRuntime().availableProcessors()))
+            .windowSize(windowSize)
+            .windowOverlap(windowOverlap)
+            .seed(seed)
+            .maxEarliness(maxEarliness)
+            .compressIdle(compressIdle)
             .build();
-    Problem problem = dagger.problem();
-    final Schedule initSchedule =
-        randomSchedule
-            ? problem.computeRandomSchedule()
-            : problem.computeOptimalInventoryCostSchedule();
-    Solver solver = enumerate ? dagger.solvers().get("enum") : dagger.solvers().get("lns");
-    final Schedule schedule = solver.search(initSchedule, timeLimit);
-    LOGGER.info("Best found schedule: {}", schedule);
-    LOGGER.info(
-        "cost: {} (changeover cost = {}, inventory cost = {})",
-        schedule.getCost(),
-        schedule.getChangeOverCost(),
-        schedule.getInventoryCost());
-    return 0;
+    final Provider<Solver> provider = dagger.solvers().get(enumerate ? "enum" : solverName);
+    if (provider == null) {
+      throw new IllegalArgumentException("Unknown solver: " + solverName);
+    }
+    final Solver solver = provider.get();
+    final Schedule initSchedule = computeInitSchedule(dagger, solver);
+    if (progress) {
+      solver.addListener(new ProgressLogger());
+    }
+    final Termination termination = createTermination();
+    final long setupNanos = System.nanoTime() - start;
+    final Checkpoint checkpoint = batch ? null : prepareCheckpoints(solver);
+    final Schedule schedule = search(solver, initSchedule, checkpoint, termination, trajectory);
+    if (store != null) {
+      updateStore(dagger.input(), schedule, instance);
+    }
+    if (event.shouldCommit()) {
+      event.file = instance;
+      event.solver = enumerate ? "enum" : solverName;
+      event.neighbourhoodSize = neighbourhoodSize;
+      event.timeLimit = Math.round(timeLimit * 1000);
+      event.numIterations = termination.getNumIterations();
+      event.numCycles = termination.getNumCycles();
+      event.cost = schedule.getCost();
+      event.commit();
+    }
+    return InstanceResult.solved(
+        instance,
+        schedule,
+        setupNanos,
+        termination.getElapsedNanos(),
+        termination.getNumIterations(),
+        termination.getNumCycles());
+  }
+
+  /**
+   * Returns the given number of threads of parallel solvers or, if zero, the available processors
+   * shared among the given number of concurrently solved instances (at least one thread).
+   */
+  static int getNumThreads(final int numThreads, final int parallelism, final int processors) {
+    return numThreads > 0 ? numThreads : Math.max(1, processors / parallelism);
+  }
+
+  /**
+   * Parses a schedule given as produced type of each time slot, e.g., "[1, 0, -1, 2]" as printed
+   * by {@link Schedule#toString()}, or the content of the file of the given name.
+   */
+  static int[] parseSlotTypes(final String schedule) throws IOException {
+    String content = schedule;
+    try {
+      final Path path = Paths.get(schedule);
+      if (Files.isRegularFile(path)) {
+        content = Files.readString(path);
+      }
+    } catch (final InvalidPathException e) {
+      // schedule is given directly
+    }
+    final String types = content.replaceAll("[\\[\\]]", " ").trim();
+    if (types.isEmpty()) {
+      return new int[0];
+    }
+    try {
+      return Arrays.stream(types.split("[,\\s]+")).mapToInt(Integer::parseInt).toArray();
+    } catch (final NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid type " + e.getMessage());
+    }
+  }
+
+  /**
+   * Returns the given initial schedule (repaired if necessary) or, in case of a warm start, the
+   * best known schedule if possible. The {@link Problem} of the entire time horizon is not built
+   * for the optimal inventory cost schedule of the rolling horizon solver.
+   */
+  private Schedule computeInitSchedule(final RunnerComponent dagger, final Solver solver) {
+    if (initSlotTypes == null
+        && store == null
+        && !randomSchedule
+        && maxEarliness == Problem.UNBOUNDED_EARLINESS
+        && solver instanceof RollingHorizon) {
+      return ((RollingHorizon) solver).computeOptimalInventoryCostSchedule();
+    }
+    final Problem problem = dagger.problem();
+    if (initSlotTypes != null) {
+      try {
+        return problem.createSchedule(initSlotTypes);
+      } catch (final IllegalArgumentException e) {
+        final Schedule repaired = problem.repairSchedule(initSlotTypes);
+        LOGGER.warn(
+            "Initial schedule is infeasible ({}); repaired schedule deviates in {} time slots",
+            e.getMessage(),
+            countDeviations(repaired.getSlotTypes(), initSlotTypes));
+        return repaired;
+      }
+    }
+    if (store != null) {
+      final Optional<Schedule> known = store.load(problem, dagger.input());
+      if (known.isPresent()) {
+        LOGGER.info("Warm start from stored schedule of cost {}", known.get().getCost());
+        return known.get();
+      }
+    }
+    return randomSchedule
+        ? problem.computeRandomSchedule()
+        : problem.computeOptimalInventoryCostSchedule();
+  }
+
+  private static int countDeviations(final int[] slotTypes, final int[] plannedTypes) {
+    int deviations = 0;
+    for (int slot = 0; slot < slotTypes.length; ++slot) {
+      if (slotTypes[slot] != (slot < plannedTypes.length ? plannedTypes[slot] : -1)) {
+        ++deviations;
+      }
+    }
+    return deviations;
+  }
+
+  private void updateStore(final Input input, final Schedule schedule, final String instance) {
+    try {
+      if (store.update(input, schedule)) {
+        LOGGER.info("Stored schedule of cost {} for {}", schedule.getCost(), instance);
+      }
+    } catch (final IOException e) {
+      LOGGER.warn("Schedule cannot be stored: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Enables checkpoints of the given solver if requested and reads the checkpoint to resume from.
+   *
+   * @return Checkpoint to resume from; null if the search is not resumed
+   * @throws IllegalArgumentException if the solver does not support checkpoints
+   */
+  private Checkpoint prepareCheckpoints(final Solver solver) throws IOException {
+    if (checkpointFile == null && resumeFile == null) {
+      return null;
+    }
+    if (!(solver instanceof Resumable)) {
+      throw new IllegalArgumentException(
+          "Solver " + (enumerate ? "enum" : solverName) + " does not support checkpoints");
+    }
+    if (checkpointFile != null) {
+      ((Resumable) solver)
+          .setCheckpoint(
+              Paths.get(checkpointFile), Duration.ofMillis(Math.round(checkpointInterval * 1000)));
+    }
+    return resumeFile != null ? Checkpoint.read(Paths.get(resumeFile)) : null;
+  }
+
+  private Schedule search(
+      final Solver solver,
+      final Schedule initSchedule,
+      final Checkpoint checkpoint,
+      final Termination termination,
+      final Path trajectory)
+      throws IOException {
+    if (trajectory == null) {
+      return search(solver, initSchedule, checkpoint, termination);
+    }
+    try (final TrajectoryWriter writer = new TrajectoryWriter(trajectory, trajectorySchedules)) {
+      solver.addListener(writer);
+      return search(solver, initSchedule, checkpoint, termination);
+    }
+  }
+
+  private static Schedule search(
+      final Solver solver,
+      final Schedule initSchedule,
+      final Checkpoint checkpoint,
+      final Termination termination) {
+    return checkpoint != null
+        ? ((Resumable) solver).resume(checkpoint, termination)
+        : solver.search(initSchedule, termination);
+  }
+
+  private Termination createTermination() {
+    final Termination.Builder builder = Termination.builder().timeLimit(timeLimit);
+    if (maxIterations > 0) {
+      builder.maxIterations(maxIterations);
+    }
+    if (maxCycles > 0) {
+      builder.maxCycles(maxCycles);
+    }
+    if (targetCost != null) {
+      builder.targetCost(targetCost);
+    }
+    return builder.build();
   }
 
   private Visualisation visualiseVertices(final Problem problem) {
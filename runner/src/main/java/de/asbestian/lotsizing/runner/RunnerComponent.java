@@ -4,19 +4,33 @@ import dagger.BindsInstance;
 import dagger.Component;
 import de.asbestian.lotsizing.algorithm.EnumerationModule;
 import de.asbestian.lotsizing.algorithm.LocalSearchModule;
+import de.asbestian.lotsizing.algorithm.PathRelinkingModule;
+import de.asbestian.lotsizing.algorithm.RollingHorizonModule;
 import de.asbestian.lotsizing.algorithm.Solver;
 import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.input.Input;
 import de.asbestian.lotsizing.input.InputModule;
 import java.util.Map;
+import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 
 /** @author Sebastian Schenker */
-@Component(modules = {InputModule.class, EnumerationModule.class, LocalSearchModule.class})
+@Component(
+    modules = {
+      InputModule.class,
+      EnumerationModule.class,
+      LocalSearchModule.class,
+      PathRelinkingModule.class,
+      RollingHorizonModule.class
+    })
 @Singleton
 public abstract class RunnerComponent {
+  abstract Input input();
+
   abstract Problem problem();
 
-  abstract Map<String, Solver> solvers();
+  abstract Map<String, Provider<Solver>> solvers();
 
   @Component.Builder
   interface Builder {
@@ -29,6 +43,24 @@ public abstract class RunnerComponent {
     @BindsInstance
     Builder greatestDescent(final boolean descent);
 
+    @BindsInstance
+    Builder numThreads(@Named("numThreads") final int numThreads);
+
+    @BindsInstance
+    Builder windowSize(@Named("windowSize") final int windowSize);
+
+    @BindsInstance
+    Builder windowOverlap(@Named("windowOverlap") final int windowOverlap);
+
+    @BindsInstance
+    Builder seed(@Named("seed") final long seed);
+
+    @BindsInstance
+    Builder maxEarliness(@Named("maxEarliness") final int maxEarliness);
+
+    @BindsInstance
+    Builder compressIdle(@Named("compressIdle") final boolean compressIdle);
+
     RunnerComponent build();
   }
 }
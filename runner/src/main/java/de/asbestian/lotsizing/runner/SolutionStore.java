@@ -0,0 +1,104 @@
+package de.asbestian.lotsizing.runner;
+
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.input.Input;
+import de.asbestian.lotsizing.input.Inputs;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On-disk store of the best known schedule of each instance. Instances are identified by their
+ * {@link Inputs#fingerprint(Input) fingerprint}; hence, renamed or converted instance files share
+ * their entry. Each entry is a text file named after the fingerprint whose first line contains
+ * the cost and whose second line contains the produced type of each time slot (-1 for idle time
+ * slots), separated by spaces. Entries are replaced atomically, i.e., concurrent readers never see
+ * partially written entries.
+ *
+ * @author Sebastian Schenker
+ */
+class SolutionStore {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SolutionStore.class);
+  private static final String EXTENSION = ".sol";
+  private final Path dir;
+
+  SolutionStore(final Path dir) {
+    this.dir = dir;
+  }
+
+  /**
+   * Returns the best known schedule of the given problem. Entries which are unreadable or do not
+   * form a feasible schedule of the problem are ignored.
+   */
+  Optional<Schedule> load(final Problem problem, final Input input) {
+    final Path file = getFile(input);
+    if (!Files.exists(file)) {
+      return Optional.empty();
+    }
+    try {
+      final List<String> lines = Files.readAllLines(file);
+      if (lines.size() < 2) {
+        throw new IllegalArgumentException("Incomplete entry");
+      }
+      final String types = lines.get(1).trim();
+      final int[] slotTypes =
+          types.isEmpty()
+              ? new int[0]
+              : Arrays.stream(types.split(" ")).mapToInt(Integer::parseInt).toArray();
+      return Optional.of(problem.createSchedule(slotTypes));
+    } catch (final IOException | IllegalArgumentException e) {
+      LOGGER.warn("Ignoring stored schedule {}: {}", file, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Stores the given schedule unless a schedule of at most the same cost is known already.
+   *
+   * @return True if the schedule was stored
+   */
+  synchronized boolean update(final Input input, final Schedule schedule) throws IOException {
+    final Path file = getFile(input);
+    final Optional<Double> knownCost = getKnownCost(file);
+    if (knownCost.isPresent() && knownCost.get() <= schedule.getCost()) {
+      return false;
+    }
+    Files.createDirectories(dir);
+    final StringBuilder content = new StringBuilder().append(schedule.getCost()).append('\n');
+    final int[] slotTypes = schedule.getSlotTypes();
+    for (int slot = 0; slot < slotTypes.length; ++slot) {
+      content.append(slot > 0 ? " " : "").append(slotTypes[slot]);
+    }
+    final Path temp = Files.createTempFile(dir, "entry", ".tmp");
+    try {
+      Files.writeString(temp, content.append('\n'));
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+    return true;
+  }
+
+  private Path getFile(final Input input) {
+    return dir.resolve(Inputs.fingerprint(input) + EXTENSION);
+  }
+
+  private static Optional<Double> getKnownCost(final Path file) {
+    if (!Files.exists(file)) {
+      return Optional.empty();
+    }
+    try (final var lines = Files.lines(file)) {
+      return lines.findFirst().map(Double::parseDouble);
+    } catch (final IOException | NumberFormatException e) {
+      return Optional.empty(); // corrupt entries are overwritten
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package de.asbestian.lotsizing.runner;
+
+import de.asbestian.lotsizing.algorithm.Termination;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parameters of a daemon request given as URL query, e.g., {@code
+ * ?solver=lns&timeLimit=5&seed=3}. Unknown parameters are rejected.
+ *
+ * @author Sebastian Schenker
+ */
+class SolveRequest {
+
+  private static final Set<String> PARAMETERS =
+      Set.of(
+          "solver",
+          "timeLimit",
+          "maxIterations",
+          "maxCycles",
+          "targetCost",
+          "neighbourhood",
+          "greatestDescent",
+          "random",
+          "seed",
+          "threads",
+          "window",
+          "overlap",
+          "maxEarliness",
+          "compressIdle",
+          "incumbents");
+
+  final String solverName;
+  final double timeLimit;
+  final long maxIterations;
+  final long maxCycles;
+  final double targetCost;
+  final int neighbourhoodSize;
+  final boolean greatestDescent;
+  final boolean randomSchedule;
+  final long seed;
+  final int numThreads;
+  final int windowSize;
+  final int windowOverlap;
+  final int maxEarliness;
+  final boolean compressIdle;
+  final boolean streamIncumbents;
+
+  /**
+   * Constructor.
+   *
+   * @param rawQuery Raw (i.e., URL encoded) query of request; may be null
+   * @param defaultTimeLimit Time limit (in seconds) if none is given
+   * @param maxTimeLimit Upper bound on the time limit (in seconds)
+   * @throws IllegalArgumentException if a parameter is unknown or invalid
+   */
+  SolveRequest(final String rawQuery, final double defaultTimeLimit, final double maxTimeLimit) {
+    final Map<String, String> params = parse(rawQuery);
+    solverName = params.getOrDefault("solver", "lns");
+    timeLimit = Math.min(getDouble(params, "timeLimit", defaultTimeLimit), maxTimeLimit);
+    maxIterations = getLong(params, "maxIterations", Long.MAX_VALUE);
+    maxCycles = getLong(params, "maxCycles", Long.MAX_VALUE);
+    targetCost = getDouble(params, "targetCost", Double.NEGATIVE_INFINITY);
+    neighbourhoodSize = (int) getLong(params, "neighbourhood", 4);
+    greatestDescent = Boolean.parseBoolean(params.getOrDefault("greatestDescent", "false"));
+    randomSchedule = Boolean.parseBoolean(params.getOrDefault("random", "false"));
+    seed = getLong(params, "seed", 1);
+    numThreads = (int) getLong(params, "threads", 1);
+    windowSize = (int) getLong(params, "window", 50);
+    windowOverlap = (int) getLong(params, "overlap", 10);
+    maxEarliness =
+        MaxEarlinessConverter.parse(
+            params.getOrDefault("maxEarliness", MaxEarlinessConverter.NONE));
+    compressIdle = Boolean.parseBoolean(params.getOrDefault("compressIdle", "false"));
+    streamIncumbents = Boolean.parseBoolean(params.getOrDefault("incumbents", "true"));
+    if (timeLimit < 0 || neighbourhoodSize < 1 || numThreads < 1) {
+      throw new IllegalArgumentException("Invalid time limit, neighbourhood or threads");
+    }
+  }
+
+  Termination createTermination() {
+    return Termination.builder()
+        .timeLimit(timeLimit)
+        .maxIterations(maxIterations)
+        .maxCycles(maxCycles)
+        .targetCost(targetCost)
+        .build();
+  }
+
+  private static Map<String, String> parse(final String rawQuery) {
+    final Map<String, String> params = new HashMap<>();
+    if (rawQuery == null || rawQuery.isEmpty()) {
+      return params;
+    }
+    for (final String pair : rawQuery.split("&")) {
+      final int separator = pair.indexOf('=');
+      final String key =
+          URLDecoder.decode(
+              separator < 0 ? pair : pair.substring(0, separator), StandardCharsets.UTF_8);
+      final String value =
+          separator < 0
+              ? "true"
+              : URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+      if (!PARAMETERS.contains(key)) {
+        throw new IllegalArgumentException("Unknown parameter: " + key);
+      }
+      params.put(key, value);
+    }
+    return params;
+  }
+
+  private static double getDouble(
+      final Map<String, String> params, final String key, final double defaultValue) {
+    final String value = params.get(key);
+    try {
+      return value == null ? defaultValue : Double.parseDouble(value);
+    } catch (final NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid value of " + key + ": " + value);
+    }
+  }
+
+  private static long getLong(
+      final Map<String, String> params, final String key, final long defaultValue) {
+    final String value = params.get(key);
+    try {
+      return value == null ? defaultValue : Long.parseLong(value);
+    } catch (final NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid value of " + key + ": " + value);
+    }
+  }
+}
@@ -0,0 +1,163 @@
+package de.asbestian.lotsizing.runner;
+
+import de.asbestian.lotsizing.algorithm.Incumbent;
+import de.asbestian.lotsizing.algorithm.Progress;
+import de.asbestian.lotsizing.algorithm.SolverListener;
+import de.asbestian.lotsizing.graph.Schedule;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes every incumbent of a search as CSV line to a file. Incumbents are handed over to a
+ * background writer thread via a bounded buffer; if the buffer is full, the incumbent is dropped
+ * (and counted) instead of blocking the caller. The columns are the elapsed time (in nanoseconds),
+ * the iteration, the cost, the changeover cost, the inventory cost and optionally the schedule,
+ * given as space-separated item types per time slot (-1 for idle time slots).
+ *
+ * @author Sebastian Schenker
+ */
+class TrajectoryWriter implements SolverListener, AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TrajectoryWriter.class);
+  private static final int BUFFER_CAPACITY = 1024;
+  private static final long FINISH_TIMEOUT_SECONDS = 10;
+  private static final long HAND_OFF_POLL_MILLIS = 100;
+  private static final Incumbent END = new Incumbent(null, 0, 0);
+  private final BlockingQueue<Incumbent> buffer;
+  private final BufferedWriter writer;
+  private final boolean writeSchedules;
+  private final Thread writerThread;
+  private final CountDownLatch finished;
+  private final AtomicLong numDropped;
+  private volatile IOException failure;
+
+  /**
+   * Constructor. Creates (or truncates) the given file and starts the writer thread.
+   *
+   * @param file File to write to
+   * @param writeSchedules Indicates whether each line contains the schedule
+   */
+  TrajectoryWriter(final Path file, final boolean writeSchedules) throws IOException {
+    this.buffer = new ArrayBlockingQueue<>(BUFFER_CAPACITY);
+    this.writer = Files.newBufferedWriter(file);
+    this.writeSchedules = writeSchedules;
+    this.finished = new CountDownLatch(1);
+    this.numDropped = new AtomicLong();
+    this.writer.write(
+        "elapsedNanos,iteration,cost,changeOverCost,inventoryCost"
+            + (writeSchedules ? ",schedule" : ""));
+    this.writer.newLine();
+    this.writerThread = new Thread(this::drain, "trajectory-writer");
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
+  }
+
+  @Override
+  public void onIncumbent(final Incumbent incumbent) {
+    if (!buffer.offer(incumbent)) {
+      numDropped.incrementAndGet();
+    }
+  }
+
+  @Override
+  public void onFinished(final Schedule bestSchedule, final Progress progress) {
+    finished.countDown();
+  }
+
+  /**
+   * Waits until the search has finished (at most {@value #FINISH_TIMEOUT_SECONDS} seconds) and all
+   * buffered incumbents are written; closes the file afterwards. Rethrows the exception which made
+   * the writer thread stop, if any.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      finished.await(FINISH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      // a failed writer thread no longer drains the buffer; never block on a full one
+      boolean handedOver = false;
+      while (!handedOver && writerThread.isAlive()) {
+        handedOver = buffer.offer(END, HAND_OFF_POLL_MILLIS, TimeUnit.MILLISECONDS);
+      }
+      writerThread.join();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      writerThread.interrupt();
+    } finally {
+      closeWriter();
+    }
+    if (numDropped.get() > 0) {
+      LOGGER.warn("Trajectory is incomplete: {} incumbents were dropped.", numDropped.get());
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private void closeWriter() throws IOException {
+    try {
+      writer.close();
+    } catch (final IOException e) {
+      if (failure == null) {
+        throw e;
+      }
+      failure.addSuppressed(e);
+    }
+  }
+
+  private void drain() {
+    final StringBuilder line = new StringBuilder();
+    try {
+      while (true) {
+        Incumbent incumbent = buffer.poll();
+        if (incumbent == null) {
+          writer.flush(); // buffer is empty; flush while waiting
+          incumbent = buffer.take();
+        }
+        if (incumbent == END) {
+          break;
+        }
+        line.setLength(0);
+        format(incumbent, line);
+        writer.append(line).append(System.lineSeparator());
+      }
+      writer.flush();
+    } catch (final IOException e) {
+      failure = e;
+      LOGGER.warn("Trajectory cannot be written.", e);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void format(final Incumbent incumbent, final StringBuilder line) {
+    final Schedule schedule = incumbent.getSchedule();
+    line.append(incumbent.getElapsedNanos())
+        .append(',')
+        .append(incumbent.getIteration())
+        .append(',')
+        .append(schedule.getCost())
+        .append(',')
+        .append(schedule.getChangeOverCost())
+        .append(',')
+        .append(schedule.getInventoryCost());
+    if (writeSchedules) {
+      line.append(',');
+      final int[] types = schedule.getSlotTypes();
+      for (int slot = 0; slot < types.length; ++slot) {
+        if (slot > 0) {
+          line.append(' ');
+        }
+        line.append(types[slot]);
+      }
+    }
+  }
+}
@@ -10,4 +10,6 @@ module runner {
   requires org.jgrapht.core;
   requires dagger;
   requires javax.inject;
+  requires jdk.jfr;
+  requires jdk.httpserver;
 }
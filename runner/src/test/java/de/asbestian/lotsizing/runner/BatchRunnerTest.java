@@ -0,0 +1,87 @@
+package de.asbestian.lotsizing.runner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.input.FileInput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** @author Sebastian Schenker */
+class BatchRunnerTest {
+
+  private static final String INSTANCE = "src/test/resources/Instance-4timeslots_2types.txt";
+
+  @TempDir Path dir;
+
+  private static InstanceResult solve(final String file) throws IOException {
+    if (file.startsWith("missing")) {
+      throw new IOException("Cannot read " + file);
+    }
+    if (file.startsWith("broken")) {
+      throw new IllegalStateException("Broken instance");
+    }
+    final Schedule schedule =
+        new Problem(new FileInput(INSTANCE)).computeOptimalInventoryCostSchedule();
+    return InstanceResult.solved(file, schedule, 1_000_000_000L, 500_000_000L, 3, 7);
+  }
+
+  @Test
+  void solve_failuresKeptInOrder() {
+    final BatchRunner batchRunner = new BatchRunner(BatchRunnerTest::solve, 2);
+    final List<String> files = List.of("a.txt", "missing.txt", "b.txt", "broken.txt");
+
+    final List<InstanceResult> results = batchRunner.solve(files);
+
+    assertEquals(files.size(), results.size());
+    for (int i = 0; i < files.size(); ++i) {
+      assertEquals(files.get(i), results.get(i).getFile());
+    }
+    assertTrue(results.get(0).isSolved());
+    assertFalse(results.get(1).isSolved());
+    assertEquals("java.io.IOException: Cannot read missing.txt", results.get(1).getError());
+    assertTrue(results.get(2).isSolved());
+    assertFalse(results.get(3).isSolved());
+  }
+
+  @Test
+  void write_oneCsvLinePerResult() throws IOException {
+    final List<InstanceResult> results =
+        List.of(solve("a.txt"), InstanceResult.failed("b,c.txt", "java.io.IOException: \"x\""));
+    final Path file = dir.resolve("results.csv");
+
+    BatchRunner.write(results, file);
+
+    assertEquals(
+        List.of(
+            InstanceResult.CSV_HEADER,
+            "a.txt,solved,7.0,7.0,0.0,1.0,0.5,3,7,1 0 -1 1",
+            "\"b,c.txt\",failed,,,,,,,,\"java.io.IOException: \"\"x\"\"\""),
+        Files.readAllLines(file));
+  }
+
+  @Test
+  void listInstances_directoryAndManifest() throws IOException {
+    Files.createFile(dir.resolve("b.txt"));
+    Files.createFile(dir.resolve("a.txt"));
+    Files.createDirectory(dir.resolve("sub"));
+    final Path manifest = dir.resolve("sub").resolve("manifest");
+    Files.write(manifest, List.of("# instances", "../b.txt", "", "  c.txt  "));
+
+    assertEquals(
+        List.of(dir.resolve("a.txt").toString(), dir.resolve("b.txt").toString()),
+        BatchRunner.listInstances(dir));
+    assertEquals(
+        List.of(
+            dir.resolve("sub").resolve("../b.txt").toString(),
+            dir.resolve("sub").resolve("c.txt").toString()),
+        BatchRunner.listInstances(manifest));
+  }
+}
@@ -0,0 +1,39 @@
+package de.asbestian.lotsizing.runner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.input.FileInput;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import picocli.CommandLine;
+
+/** @author Sebastian Schenker */
+class CoordinatorTest {
+
+  private static final String INSTANCE = "src/test/resources/Instance-4timeslots_2types.txt";
+
+  @Test
+  void call_twoIslandsShareProblemOptions() {
+    final Coordinator coordinator = new Coordinator();
+    final int exitCode =
+        assertTimeoutPreemptively(
+            Duration.ofSeconds(60),
+            () ->
+                new CommandLine(coordinator)
+                    .execute(
+                        "-i=2",
+                        "-t=1",
+                        "--exchangeInterval=0.2",
+                        "--maxEarliness=0",
+                        "--compressIdle",
+                        INSTANCE));
+
+    assertEquals(0, exitCode);
+    final Problem problem = new Problem(new FileInput(INSTANCE), 0, true);
+    final Schedule best = coordinator.getBestSchedule();
+    assertEquals(best, problem.createSchedule(best.getSlotTypes()));
+  }
+}
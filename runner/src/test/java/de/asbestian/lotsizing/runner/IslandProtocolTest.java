@@ -0,0 +1,67 @@
+package de.asbestian.lotsizing.runner;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.input.FileInput;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import picocli.CommandLine;
+
+/** @author Sebastian Schenker */
+class IslandProtocolTest {
+
+  @Test
+  void best_parsedToSameSchedule() throws IOException {
+    final Problem problem =
+        new Problem(new FileInput("src/test/resources/Instance-4timeslots_2types.txt"));
+    final Schedule schedule = problem.computeOptimalInventoryCostSchedule();
+
+    final String line = IslandProtocol.best(schedule);
+
+    assertEquals("BEST 1 0 -1 1", line);
+    assertArrayEquals(schedule.getSlotTypes(), IslandProtocol.parseBest(line));
+    assertEquals(schedule, problem.createSchedule(IslandProtocol.parseBest(line)));
+  }
+
+  @Test
+  void split_unexpectedLines() {
+    final IOException error =
+        assertThrows(
+            IOException.class,
+            () -> IslandProtocol.split("ERROR Unknown instance", IslandProtocol.OK));
+
+    assertEquals("Unknown instance", error.getMessage());
+    assertThrows(IOException.class, () -> IslandProtocol.split(null, IslandProtocol.OK));
+    assertThrows(IOException.class, () -> IslandProtocol.split("DONE 1 2", IslandProtocol.BEST));
+    assertThrows(IOException.class, () -> IslandProtocol.parseBest("BEST 1 x"));
+  }
+
+  @Test
+  void islandCommand_forwardsOptions() {
+    final Coordinator coordinator = new Coordinator();
+    new CommandLine(coordinator)
+        .parseArgs("-s", "lns,rolling", "--window=30", "--overlap=5", "--compressIdle", "a.txt");
+
+    final List<String> command = coordinator.islandCommand(1, 4711);
+    final int start = command.indexOf("--coordinator=4711");
+    final String[] args = command.subList(start, command.size()).toArray(new String[0]);
+    final IslandWorker worker = new IslandWorker();
+    new CommandLine(worker).parseArgs(args);
+
+    assertEquals(4711, worker.port);
+    assertEquals(1, worker.id);
+    assertEquals("rolling", worker.solverName);
+    assertEquals(30, worker.windowSize);
+    assertEquals(5, worker.windowOverlap);
+    assertEquals(Problem.UNBOUNDED_EARLINESS, worker.maxEarliness);
+    assertTrue(worker.compressIdle);
+    assertTrue(worker.randomSchedule);
+    assertEquals("a.txt", worker.file);
+  }
+}
@@ -0,0 +1,45 @@
+package de.asbestian.lotsizing.runner;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** @author Sebastian Schenker */
+class RunnerTest {
+
+  @TempDir Path dir;
+
+  @Test
+  void parseSlotTypes_givenDirectly() throws IOException {
+    assertArrayEquals(new int[] {1, 0, -1, 1}, Runner.parseSlotTypes("[1, 0, -1, 1]"));
+    assertArrayEquals(new int[] {1, 0, -1, 1}, Runner.parseSlotTypes("1 0 -1 1"));
+    assertArrayEquals(new int[0], Runner.parseSlotTypes("[]"));
+  }
+
+  @Test
+  void parseSlotTypes_givenAsFile() throws IOException {
+    final Path file = dir.resolve("schedule.txt");
+    Files.writeString(file, "[0, 0,\n 1, -1]\n");
+
+    assertArrayEquals(new int[] {0, 0, 1, -1}, Runner.parseSlotTypes(file.toString()));
+  }
+
+  @Test
+  void parseSlotTypes_invalidType() {
+    assertThrows(IllegalArgumentException.class, () -> Runner.parseSlotTypes("[1, a, 0]"));
+  }
+
+  @Test
+  void getNumThreads_sharesProcessorsAmongInstances() {
+    assertEquals(8, Runner.getNumThreads(0, 1, 8));
+    assertEquals(2, Runner.getNumThreads(0, 4, 8));
+    assertEquals(1, Runner.getNumThreads(0, 16, 8));
+    assertEquals(3, Runner.getNumThreads(3, 4, 8));
+  }
+}
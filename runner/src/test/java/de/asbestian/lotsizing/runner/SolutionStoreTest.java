@@ -0,0 +1,77 @@
+package de.asbestian.lotsizing.runner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.input.FileInput;
+import de.asbestian.lotsizing.input.Input;
+import de.asbestian.lotsizing.input.Inputs;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** @author Sebastian Schenker */
+class SolutionStoreTest {
+
+  @TempDir Path dir;
+  private Input input;
+  private Problem problem;
+  private SolutionStore store;
+
+  @BeforeEach
+  void setUp() {
+    input = new FileInput("src/test/resources/Instance-4timeslots_2types.txt");
+    problem = new Problem(input);
+    store = new SolutionStore(dir.resolve("store"));
+  }
+
+  @Test
+  void load_noEntry() {
+    assertEquals(Optional.empty(), store.load(problem, input));
+  }
+
+  @Test
+  void update_roundTrip() throws IOException {
+    final Schedule worse = problem.createSchedule(new int[] {1, 0, 1, -1});
+    final Schedule better = problem.computeOptimalInventoryCostSchedule();
+
+    assertTrue(store.update(input, worse));
+    assertEquals(Optional.of(worse), store.load(problem, input));
+    assertTrue(store.update(input, better));
+    assertFalse(store.update(input, worse));
+    assertFalse(store.update(input, better));
+
+    assertEquals(Optional.of(better), store.load(problem, input));
+    try (final var files = Files.list(dir.resolve("store"))) {
+      assertEquals(1, files.count()); // no temporary files left behind
+    }
+  }
+
+  @Test
+  void load_infeasibleScheduleIgnored() throws IOException {
+    // the item due in time slot 3 is produced one time slot early
+    assertTrue(store.update(input, problem.createSchedule(new int[] {1, 0, 1, -1})));
+
+    assertEquals(Optional.empty(), store.load(new Problem(input, 0), input));
+  }
+
+  @Test
+  void corruptEntry_ignoredAndOverwritten() throws IOException {
+    final Path file = dir.resolve("store").resolve(Inputs.fingerprint(input) + ".sol");
+    Files.createDirectories(file.getParent());
+    Files.write(file, List.of("cheap", "0 0 0 0"));
+    final Schedule schedule = problem.computeOptimalInventoryCostSchedule();
+
+    assertEquals(Optional.empty(), store.load(problem, input));
+    assertTrue(store.update(input, schedule));
+    assertEquals(Optional.of(schedule), store.load(problem, input));
+  }
+}
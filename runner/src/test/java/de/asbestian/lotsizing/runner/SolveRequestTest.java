@@ -0,0 +1,65 @@
+package de.asbestian.lotsizing.runner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.asbestian.lotsizing.graph.Problem;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/** @author Sebastian Schenker */
+class SolveRequestTest {
+
+  @Test
+  void noQuery_defaults() {
+    final SolveRequest request = new SolveRequest(null, 10, 60);
+
+    assertEquals("lns", request.solverName);
+    assertEquals(10., request.timeLimit);
+    assertEquals(Long.MAX_VALUE, request.maxIterations);
+    assertEquals(4, request.neighbourhoodSize);
+    assertEquals(Problem.UNBOUNDED_EARLINESS, request.maxEarliness);
+    assertFalse(request.compressIdle);
+    assertTrue(request.streamIncumbents);
+  }
+
+  @Test
+  void query_parsed() {
+    final SolveRequest request =
+        new SolveRequest(
+            "solver=relink&timeLimit=2.5&maxIterations=100&seed=3&greatestDescent"
+                + "&maxEarliness=auto&incumbents=false&targetCost=%2D1",
+            10,
+            60);
+
+    assertEquals("relink", request.solverName);
+    assertEquals(2.5, request.timeLimit);
+    assertEquals(100, request.maxIterations);
+    assertEquals(3, request.seed);
+    assertTrue(request.greatestDescent);
+    assertEquals(Problem.DERIVED_EARLINESS, request.maxEarliness);
+    assertFalse(request.streamIncumbents);
+    assertEquals(-1., request.targetCost);
+  }
+
+  @Test
+  void timeLimit_clampedToMaximum() {
+    assertEquals(60., new SolveRequest("timeLimit=3600", 10, 60).timeLimit);
+    assertEquals(60., new SolveRequest(null, 600, 60).timeLimit);
+    assertTrue(
+        new SolveRequest("timeLimit=3600", 10, 60).createTermination().getRemainingNanos()
+            <= TimeUnit.SECONDS.toNanos(60));
+  }
+
+  @Test
+  void invalidQuery_rejected() {
+    assertThrows(IllegalArgumentException.class, () -> new SolveRequest("foo=1", 10, 60));
+    assertThrows(IllegalArgumentException.class, () -> new SolveRequest("seed=x", 10, 60));
+    assertThrows(IllegalArgumentException.class, () -> new SolveRequest("timeLimit=-1", 10, 60));
+    assertThrows(IllegalArgumentException.class, () -> new SolveRequest("threads=0", 10, 60));
+    assertThrows(
+        IllegalArgumentException.class, () -> new SolveRequest("maxEarliness=-2", 10, 60));
+  }
+}
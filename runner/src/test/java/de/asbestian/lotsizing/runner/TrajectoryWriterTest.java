@@ -0,0 +1,79 @@
+package de.asbestian.lotsizing.runner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import de.asbestian.lotsizing.algorithm.Incumbent;
+import de.asbestian.lotsizing.graph.Problem;
+import de.asbestian.lotsizing.graph.Schedule;
+import de.asbestian.lotsizing.input.FileInput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** @author Sebastian Schenker */
+class TrajectoryWriterTest {
+
+  @TempDir Path dir;
+  private Schedule schedule;
+
+  @BeforeEach
+  void setUp() {
+    final Problem problem =
+        new Problem(new FileInput("src/test/resources/Instance-4timeslots_2types.txt"));
+    schedule = problem.computeOptimalInventoryCostSchedule();
+  }
+
+  @Test
+  void close_writesHeaderAndIncumbents() throws IOException {
+    final Path file = dir.resolve("trajectory.csv");
+    try (final TrajectoryWriter writer = new TrajectoryWriter(file, true)) {
+      writer.onIncumbent(new Incumbent(schedule, 10, 1));
+      writer.onIncumbent(new Incumbent(schedule, 20, 2));
+      writer.onFinished(schedule, null);
+    }
+
+    final List<String> lines = Files.readAllLines(file);
+    assertEquals(3, lines.size());
+    assertEquals(
+        "elapsedNanos,iteration,cost,changeOverCost,inventoryCost,schedule", lines.get(0));
+    final String[] values = lines.get(2).split(",");
+    assertEquals("20", values[0]);
+    assertEquals("2", values[1]);
+    assertEquals(String.valueOf(schedule.getCost()), values[2]);
+    assertEquals(schedule.getSlotTypes().length, values[5].split(" ").length);
+  }
+
+  @Test
+  void close_returnsAndRethrowsIfWriterFails() {
+    final Path full = Paths.get("/dev/full");
+    assumeTrue(Files.isWritable(full));
+    assertTimeoutPreemptively(
+        Duration.ofSeconds(10),
+        () -> {
+          final TrajectoryWriter writer = new TrajectoryWriter(full, true);
+          // the writer thread fails on flushing the header as it finds the buffer empty
+          while (isWriterThreadAlive()) {
+            Thread.sleep(10);
+          }
+          for (int i = 0; i < 4096; ++i) { // more than the buffer capacity
+            writer.onIncumbent(new Incumbent(schedule, i, i));
+          }
+          writer.onFinished(schedule, null);
+          assertThrows(IOException.class, writer::close);
+        });
+  }
+
+  private static boolean isWriterThreadAlive() {
+    return Thread.getAllStackTraces().keySet().stream()
+        .anyMatch(thread -> thread.getName().equals("trajectory-writer"));
+  }
+}